@@ -1,5 +1,6 @@
 package app.ecosynergy.api.config;
 
+import app.ecosynergy.api.services.notification.NotificationDispatchProperties;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
@@ -15,12 +16,14 @@ public class FirebaseConfig {
 
 
     @Bean
-    public FirebaseApp firebaseApp() throws IOException {
+    public FirebaseApp firebaseApp(NotificationDispatchProperties dispatchProperties) throws IOException {
         if (FirebaseApp.getApps().isEmpty()) {
             ClassPathResource serviceAccountResource = new ClassPathResource("firebase/serviceAccountKey.json");
 
             FirebaseOptions options = FirebaseOptions.builder()
                     .setCredentials(GoogleCredentials.fromStream(serviceAccountResource.getInputStream()))
+                    .setConnectTimeout((int) dispatchProperties.getConnectTimeout().toMillis())
+                    .setReadTimeout((int) dispatchProperties.getReadTimeout().toMillis())
                     .build();
 
             return FirebaseApp.initializeApp(options);
@@ -1,8 +1,13 @@
 package app.ecosynergy.api.config;
 
+import app.ecosynergy.api.security.BoundedPasswordEncoder;
+import app.ecosynergy.api.security.PasswordEncoders;
+import app.ecosynergy.api.security.PasswordHashingProperties;
 import app.ecosynergy.api.security.SecurityProperties;
 import app.ecosynergy.api.security.jwt.JwtTokenFilter;
 import app.ecosynergy.api.security.jwt.JwtTokenProvider;
+import app.ecosynergy.api.services.UserSnapshotCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,32 +16,21 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
-import java.util.HashMap;
-import java.util.Map;
-
 @EnableWebSecurity
 @Configuration
 public class SecurityConfig {
+    /**
+     * The one encoder used for hashing and verifying passwords, including by sign-in; see
+     * {@link PasswordEncoders} for the encodings and {@link BoundedPasswordEncoder} for where they run.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        Map<String, PasswordEncoder> encoders = new HashMap<>();
-
-        Pbkdf2PasswordEncoder pbkdf2PasswordEncoder = new Pbkdf2PasswordEncoder("", 8, 185000, Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
-
-        encoders.put("pbkdf2", pbkdf2PasswordEncoder);
-        DelegatingPasswordEncoder passwordEncoder =
-                new DelegatingPasswordEncoder("pbkdf2", encoders);
-
-        passwordEncoder.setDefaultPasswordEncoderForMatches(pbkdf2PasswordEncoder);
-
-        return passwordEncoder;
+    public PasswordEncoder passwordEncoder(SecurityProperties securityProperties, MeterRegistry meterRegistry) {
+        PasswordHashingProperties properties = securityProperties.getPasswordHashing();
+        return new BoundedPasswordEncoder(PasswordEncoders.create(properties), properties, meterRegistry);
     }
 
     @Bean
@@ -68,7 +62,7 @@ public class SecurityConfig {
                                         "/swagger-ui.html**",
                                         "/redirect/**"
                                 ).permitAll()
-                                .requestMatchers("/api/**")
+                                .requestMatchers("/api/**", "/auth/logout")
                                 .authenticated()
                                 .requestMatchers("/users")
                                 .denyAll()
@@ -79,7 +73,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public JwtTokenProvider jwtTokenProvider(UserDetailsService userDetailsService) {
-        return new JwtTokenProvider(userDetailsService);
+    public JwtTokenProvider jwtTokenProvider(UserSnapshotCache userSnapshotCache, SecurityProperties securityProperties) {
+        return new JwtTokenProvider(userSnapshotCache, securityProperties);
     }
 }
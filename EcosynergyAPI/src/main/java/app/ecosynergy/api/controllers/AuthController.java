@@ -63,7 +63,7 @@ public class AuthController {
             produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML},
             consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML}
     )
-    public ResponseEntity<?> signUp(@RequestBody UserVO data) throws MessagingException {
+    public ResponseEntity<?> signUp(@RequestBody UserVO data) {
         if (checkIfParamsIsNotNull(data))
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Invalid client request");
 
@@ -89,6 +89,14 @@ public class AuthController {
         }
     }
 
+    @Operation(summary = "Log out", description = "Revoke every access and refresh token of the current user", tags = {"Authentication Endpoint"})
+    @PostMapping(value = "/logout")
+    public ResponseEntity<Void> logout() {
+        service.logout();
+
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping(value = "/signup/send-confirmation-code")
     public ResponseEntity<String> sendConfirmationCode(@RequestParam String email, @RequestParam String name) throws MessagingException {
         String confirmationCode = ConfirmationCodeGenerator.generateCode();
@@ -1,7 +1,15 @@
 package app.ecosynergy.api.controllers;
 
+import app.ecosynergy.api.data.vo.v1.BatchItemResultVO;
+import app.ecosynergy.api.data.vo.v1.CursorPageVO;
+import app.ecosynergy.api.data.vo.v1.ReadingStatsVO;
 import app.ecosynergy.api.data.vo.v1.FireReadingVO;
+import app.ecosynergy.api.models.SensorType;
+import app.ecosynergy.api.models.StatsBucket;
 import app.ecosynergy.api.services.FireReadingService;
+import app.ecosynergy.api.services.ReadingStatsService;
+import app.ecosynergy.api.services.export.ExportFormat;
+import app.ecosynergy.api.services.export.ReadingExportService;
 import app.ecosynergy.api.util.MediaType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -10,13 +18,18 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
 
 @Tag(name = "Fire Readings Endpoint")
 @RestController
@@ -25,6 +38,12 @@ public class FireReadingController {
     @Autowired
     FireReadingService service;
 
+    @Autowired
+    ReadingExportService exportService;
+
+    @Autowired
+    ReadingStatsService statsService;
+
     @Operation(summary = "Find fire reading by ID", description = "Retrieve a fire reading by ID")
     @GetMapping(value = "/{id}",
             produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML}
@@ -74,14 +93,100 @@ public class FireReadingController {
         return ResponseEntity.ok(service.findByTeamHandle(teamHandle, pageable));
     }
 
+    @Operation(summary = "Get fire readings by cursor", description = "Retrieve fire readings ordered by timestamp, continuing from an opaque cursor and without counting the table")
+    @GetMapping(
+            value = "/cursor",
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML}
+    )
+    public ResponseEntity<CursorPageVO<FireReadingVO>> findAllByCursor(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction
+    ) {
+        Sort.Direction sortDirection = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        return ResponseEntity.ok(service.findAllByCursor(after, limit, sortDirection));
+    }
+
+    @Operation(summary = "Get fire readings by team handle and cursor", description = "Retrieve a team's fire readings ordered by timestamp, continuing from an opaque cursor and without counting the table")
+    @GetMapping(
+            value = "/team/{teamHandle}/cursor",
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML}
+    )
+    public ResponseEntity<CursorPageVO<FireReadingVO>> findByTeamHandleByCursor(
+            @PathVariable("teamHandle") String teamHandle,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction
+    ) {
+        Sort.Direction sortDirection = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        return ResponseEntity.ok(service.findByTeamHandleByCursor(teamHandle, after, limit, sortDirection));
+    }
+
+    @Operation(summary = "Get fire reading stats of a team", description = "Retrieve the number of fire events per bucket, with buckets aligned to the team's time zone")
+    @GetMapping(
+            value = "/team/{teamHandle}/stats",
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML}
+    )
+    public ResponseEntity<ReadingStatsVO> getStats(
+            @PathVariable("teamHandle") String teamHandle,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime to,
+            @RequestParam(value = "bucket", defaultValue = "1h") String bucket
+    ) {
+        return ResponseEntity.ok(statsService.getStats(SensorType.FIRE, teamHandle, from, to, StatsBucket.fromValue(bucket)));
+    }
+
+    @Operation(summary = "Export fire readings of a team", description = "Stream a team's fire readings as NDJSON or CSV, optionally limited to a time range")
+    @GetMapping(value = "/team/{teamHandle}/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable("teamHandle") String teamHandle,
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime to
+    ) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+
+        StreamingResponseBody body = exportService.export(SensorType.FIRE, teamHandle, exportFormat, from, to);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + teamHandle + "-fire-readings." + exportFormat.getExtension() + "\"")
+                .contentType(org.springframework.http.MediaType.parseMediaType(exportFormat.getMediaType()))
+                .body(body);
+    }
+
     @Operation(summary = "Create a new fire reading", description = "Create a new fire reading with the current data")
     @PostMapping(produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML},
             consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML}
     )
-    public FireReadingVO create(@RequestBody FireReadingVO reading
+    public ResponseEntity<FireReadingVO> create(@RequestBody FireReadingVO reading
     ) {
         reading.setTimestamp(ZonedDateTime.now().withZoneSameInstant(ZoneId.of("UTC")).truncatedTo(ChronoUnit.SECONDS));
 
-        return service.create(reading);
+        FireReadingVO vo = service.create(reading);
+
+        // Readings taken by the write-behind buffer are persisted later and have no id yet
+        return vo.getKey() == null ? ResponseEntity.accepted().body(vo) : ResponseEntity.ok(vo);
+    }
+
+    @Operation(summary = "Create fire readings in batch", description = "Create several fire readings, possibly for different teams, in a single request")
+    @PostMapping(value = "/batch",
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML},
+            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML}
+    )
+    public ResponseEntity<List<BatchItemResultVO>> createAll(@RequestBody List<FireReadingVO> readings
+    ) {
+        ZonedDateTime now = ZonedDateTime.now().withZoneSameInstant(ZoneId.of("UTC")).truncatedTo(ChronoUnit.SECONDS);
+
+        if (readings != null) {
+            readings.stream()
+                    .filter(Objects::nonNull)
+                    .forEach(reading -> reading.setTimestamp(reading.getTimestamp() != null
+                            ? reading.getTimestamp().withZoneSameInstant(ZoneId.of("UTC")).truncatedTo(ChronoUnit.SECONDS)
+                            : now));
+        }
+
+        return ResponseEntity.ok(service.createAll(readings));
     }
 }
@@ -1,7 +1,15 @@
 package app.ecosynergy.api.controllers;
 
+import app.ecosynergy.api.data.vo.v1.BatchItemResultVO;
+import app.ecosynergy.api.data.vo.v1.CursorPageVO;
+import app.ecosynergy.api.data.vo.v1.ReadingStatsVO;
 import app.ecosynergy.api.data.vo.v1.MQ7ReadingVO;
+import app.ecosynergy.api.models.SensorType;
+import app.ecosynergy.api.models.StatsBucket;
 import app.ecosynergy.api.services.MQ7ReadingService;
+import app.ecosynergy.api.services.ReadingStatsService;
+import app.ecosynergy.api.services.export.ExportFormat;
+import app.ecosynergy.api.services.export.ReadingExportService;
 import app.ecosynergy.api.util.MediaType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -10,13 +18,18 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.hateoas.EntityModel;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
 
 @Tag(name = "MQ7 Sensor Readings Endpoint")
 @RestController
@@ -25,6 +38,12 @@ public class MQ7ReadingController {
     @Autowired
     MQ7ReadingService service;
 
+    @Autowired
+    ReadingExportService exportService;
+
+    @Autowired
+    ReadingStatsService statsService;
+
     @Operation(summary = "Find MQ7 reading by ID", description = "Retrieve an MQ7 sensor reading by ID")
     @GetMapping(value = "/{id}",
             produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML}
@@ -74,14 +93,100 @@ public class MQ7ReadingController {
         return ResponseEntity.ok(service.findByTeamHandle(teamHandle, pageable));
     }
 
+    @Operation(summary = "Get MQ7 readings by cursor", description = "Retrieve MQ7 readings ordered by timestamp, continuing from an opaque cursor and without counting the table")
+    @GetMapping(
+            value = "/cursor",
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML}
+    )
+    public ResponseEntity<CursorPageVO<MQ7ReadingVO>> findAllByCursor(
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction
+    ) {
+        Sort.Direction sortDirection = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        return ResponseEntity.ok(service.findAllByCursor(after, limit, sortDirection));
+    }
+
+    @Operation(summary = "Get MQ7 readings by team handle and cursor", description = "Retrieve a team's MQ7 readings ordered by timestamp, continuing from an opaque cursor and without counting the table")
+    @GetMapping(
+            value = "/team/{teamHandle}/cursor",
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML}
+    )
+    public ResponseEntity<CursorPageVO<MQ7ReadingVO>> findByTeamHandleByCursor(
+            @PathVariable("teamHandle") String teamHandle,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "direction", defaultValue = "asc") String direction
+    ) {
+        Sort.Direction sortDirection = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        return ResponseEntity.ok(service.findByTeamHandleByCursor(teamHandle, after, limit, sortDirection));
+    }
+
+    @Operation(summary = "Get MQ7 reading stats of a team", description = "Retrieve average, minimum, maximum and count of MQ7 readings per bucket, with buckets aligned to the team's time zone")
+    @GetMapping(
+            value = "/team/{teamHandle}/stats",
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML}
+    )
+    public ResponseEntity<ReadingStatsVO> getStats(
+            @PathVariable("teamHandle") String teamHandle,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime to,
+            @RequestParam(value = "bucket", defaultValue = "1h") String bucket
+    ) {
+        return ResponseEntity.ok(statsService.getStats(SensorType.MQ7, teamHandle, from, to, StatsBucket.fromValue(bucket)));
+    }
+
+    @Operation(summary = "Export MQ7 readings of a team", description = "Stream a team's MQ7 readings as NDJSON or CSV, optionally limited to a time range")
+    @GetMapping(value = "/team/{teamHandle}/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @PathVariable("teamHandle") String teamHandle,
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) ZonedDateTime to
+    ) {
+        ExportFormat exportFormat = ExportFormat.fromValue(format);
+
+        StreamingResponseBody body = exportService.export(SensorType.MQ7, teamHandle, exportFormat, from, to);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + teamHandle + "-mq7-readings." + exportFormat.getExtension() + "\"")
+                .contentType(org.springframework.http.MediaType.parseMediaType(exportFormat.getMediaType()))
+                .body(body);
+    }
+
     @Operation(summary = "Create a new MQ7 reading", description = "Create a new MQ7 sensor reading with the provided data")
     @PostMapping(produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML},
             consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML}
     )
-    public MQ7ReadingVO create(@RequestBody MQ7ReadingVO reading
+    public ResponseEntity<MQ7ReadingVO> create(@RequestBody MQ7ReadingVO reading
     ) {
         reading.setTimestamp(ZonedDateTime.now().withZoneSameInstant(ZoneId.of("UTC")).truncatedTo(ChronoUnit.SECONDS));
 
-        return service.create(reading);
+        MQ7ReadingVO vo = service.create(reading);
+
+        // Readings taken by the write-behind buffer are persisted later and have no id yet
+        return vo.getKey() == null ? ResponseEntity.accepted().body(vo) : ResponseEntity.ok(vo);
+    }
+
+    @Operation(summary = "Create MQ7 readings in batch", description = "Create several MQ7 sensor readings, possibly for different teams, in a single request")
+    @PostMapping(value = "/batch",
+            produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML},
+            consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML}
+    )
+    public ResponseEntity<List<BatchItemResultVO>> createAll(@RequestBody List<MQ7ReadingVO> readings
+    ) {
+        ZonedDateTime now = ZonedDateTime.now().withZoneSameInstant(ZoneId.of("UTC")).truncatedTo(ChronoUnit.SECONDS);
+
+        if (readings != null) {
+            readings.stream()
+                    .filter(Objects::nonNull)
+                    .forEach(reading -> reading.setTimestamp(reading.getTimestamp() != null
+                            ? reading.getTimestamp().withZoneSameInstant(ZoneId.of("UTC")).truncatedTo(ChronoUnit.SECONDS)
+                            : now));
+        }
+
+        return ResponseEntity.ok(service.createAll(readings));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package app.ecosynergy.api.controllers;
+
+import app.ecosynergy.api.services.stream.ReadingStreamService;
+import app.ecosynergy.api.util.MediaType;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Tag(name = "Live Sensor Readings Endpoint")
+@RestController
+@RequestMapping("/api/readingStream/v1")
+public class ReadingStreamController {
+    @Autowired
+    ReadingStreamService service;
+
+    @Operation(summary = "Stream a team's readings", description = "Open a Server-Sent Events stream receiving every MQ135, MQ7 and fire reading of the team as soon as it is stored")
+    @GetMapping(value = "/team/{teamHandle}", produces = MediaType.TEXT_EVENT_STREAM)
+    public SseEmitter subscribe(@PathVariable("teamHandle") String teamHandle) {
+        return service.subscribe(teamHandle);
+    }
+}
@@ -1,9 +1,11 @@
 package app.ecosynergy.api.controllers;
 
+import app.ecosynergy.api.data.vo.v1.TeamGoalProgressVO;
 import app.ecosynergy.api.data.vo.v1.TeamVO;
 import app.ecosynergy.api.models.TeamMember;
 import app.ecosynergy.api.models.TeamMemberId;
 import app.ecosynergy.api.services.TeamService;
+import app.ecosynergy.api.services.goal.GoalProgressService;
 import app.ecosynergy.api.util.MediaType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
@@ -22,6 +24,9 @@ public class TeamController {
     @Autowired
     private TeamService teamService;
 
+    @Autowired
+    private GoalProgressService goalProgressService;
+
     @GetMapping(produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML})
     public ResponseEntity<PagedModel<EntityModel<TeamVO>>> findAll(
             @RequestParam(value = "page", defaultValue = "1") Integer page,
@@ -57,6 +62,15 @@ public class TeamController {
         return ResponseEntity.ok(team);
     }
 
+    @GetMapping(value = "/handle/{handle}/goals", produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML})
+    public ResponseEntity<TeamGoalProgressVO> findGoalProgress(
+            @PathVariable String handle
+    ) {
+        TeamGoalProgressVO progress = goalProgressService.getProgress(handle);
+
+        return ResponseEntity.ok(progress);
+    }
+
     @GetMapping(value = "/search/{handle}", produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML})
     public ResponseEntity<List<TeamVO>> searchTeamsByHandle(
             @PathVariable String handle
@@ -7,16 +7,15 @@ import app.ecosynergy.api.repositories.TeamRepository;
 import app.ecosynergy.api.repositories.UserRepository;
 import app.ecosynergy.api.services.EmailService;
 import app.ecosynergy.api.services.UserService;
+import app.ecosynergy.api.services.notification.Notification;
 import app.ecosynergy.api.services.notification.NotificationService;
 import app.ecosynergy.api.util.MediaType;
-import jakarta.mail.MessagingException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.HashMap;
 import java.util.Map;
 
 @RestController
@@ -49,15 +48,9 @@ public class TestController {
 
         if (user == null) throw new ResourceNotFoundException("User not found");
 
-        Map<String, String> params = new HashMap<>();
-        params.put("title", "Recado do Andinho");
-        params.put("body", "Pega a visão");
-        params.put("type", "test");
-        params.put("vision", "get the vision");
+        Notification notification = new Notification(NotificationType.TEST, "Recado do Andinho", "Pega a visão", Map.of("vision", "get the vision"));
 
-        for (UserToken userToken : user.getTokens()) {
-            notificationService.sendNotificationToUser(userToken.getToken(), params);
-        }
+        notificationService.send(user.getTokens().stream().map(UserToken::getToken).toList(), notification);
 
         return ResponseEntity.ok("Message Sent");
     }
@@ -67,7 +60,7 @@ public class TestController {
             produces = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML},
             consumes = {MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.APPLICATION_YML}
     )
-    public ResponseEntity<String> sendInviteEmail() throws MessagingException {
+    public ResponseEntity<String> sendInviteEmail() {
         User user = userService.getCurrentUser();
 
         Team team = teamRepository.findByHandle("ecosynergyofc").orElseThrow(() -> new ResourceNotFoundException("Team not found"));
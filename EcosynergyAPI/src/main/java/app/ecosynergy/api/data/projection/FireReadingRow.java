@@ -0,0 +1,9 @@
+package app.ecosynergy.api.data.projection;
+
+import java.time.ZonedDateTime;
+
+/**
+ * A fire sensor reading as exported, read straight from the result set without building an entity.
+ */
+public record FireReadingRow(Long id, ZonedDateTime timestamp, Boolean fire) {
+}
@@ -0,0 +1,10 @@
+package app.ecosynergy.api.data.projection;
+
+import app.ecosynergy.api.models.Platform;
+
+/**
+ * One team member's device as seen by team alerts, joined with the member's preferences for that device's
+ * platform. Members without a device come with a null token, so the recipient index still knows about them.
+ */
+public record NotificationRecipient(String teamName, Long userId, String token, Platform platform, Boolean fireDetection, Integer fireIntervalMinutes, Boolean teamGoalReached) {
+}
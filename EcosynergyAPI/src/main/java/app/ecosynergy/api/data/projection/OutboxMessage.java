@@ -0,0 +1,6 @@
+package app.ecosynergy.api.data.projection;
+
+import app.ecosynergy.api.models.OutboxChannel;
+
+public record OutboxMessage(Long id, OutboxChannel channel, String payload, int attempts) {
+}
@@ -0,0 +1,21 @@
+package app.ecosynergy.api.data.projection;
+
+import app.ecosynergy.api.models.RollupGranularity;
+import app.ecosynergy.api.models.SensorType;
+
+import java.time.Instant;
+
+public record ReadingRollup(
+        SensorType sensorType,
+        String teamHandle,
+        RollupGranularity granularity,
+        Instant bucketStart,
+        long count,
+        double sum,
+        double min,
+        double max
+) {
+    public double average() {
+        return count == 0 ? 0 : sum / count;
+    }
+}
@@ -0,0 +1,9 @@
+package app.ecosynergy.api.data.projection;
+
+import java.time.ZonedDateTime;
+
+/**
+ * A gas sensor reading as exported, read straight from the result set without building an entity.
+ */
+public record ReadingRow(Long id, ZonedDateTime timestamp, Double value) {
+}
@@ -0,0 +1,10 @@
+package app.ecosynergy.api.data.projection;
+
+import java.time.ZonedDateTime;
+
+/**
+ * A persisted reading reduced to what downstream consumers need. For fire readings the value is 1 when a
+ * fire was detected and 0 otherwise.
+ */
+public record ReadingSample(Long id, String teamHandle, ZonedDateTime timestamp, Double value) {
+}
@@ -0,0 +1,17 @@
+package app.ecosynergy.api.data.projection;
+
+import app.ecosynergy.api.models.GoalPeriod;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+
+public record TeamGoals(Long id, String handle, ZoneId timeZone, BigDecimal dailyGoal, BigDecimal weeklyGoal, BigDecimal monthlyGoal, BigDecimal annualGoal) {
+    public BigDecimal goal(GoalPeriod period) {
+        return switch (period) {
+            case DAILY -> dailyGoal;
+            case WEEKLY -> weeklyGoal;
+            case MONTHLY -> monthlyGoal;
+            case ANNUAL -> annualGoal;
+        };
+    }
+}
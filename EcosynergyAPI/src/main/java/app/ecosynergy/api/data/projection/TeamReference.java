@@ -0,0 +1,19 @@
+package app.ecosynergy.api.data.projection;
+
+import app.ecosynergy.api.models.Team;
+
+import java.time.ZoneId;
+
+/**
+ * The few team columns the reading paths need: the id, the handle used as the readings' foreign key and the
+ * time zone readings are rendered in. Loaded without touching team members.
+ */
+public record TeamReference(Long id, String handle, ZoneId timeZone) {
+    public Team toTeam() {
+        Team team = new Team();
+        team.setId(id);
+        team.setHandle(handle);
+        team.setTimeZone(timeZone);
+        return team;
+    }
+}
@@ -0,0 +1,11 @@
+package app.ecosynergy.api.data.projection;
+
+/**
+ * The user columns needed to check that a token's owner still exists and has not revoked it, loaded without
+ * the eagerly fetched tokens, permissions and notification preferences.
+ */
+public record UserSnapshot(Long id, String userName, String fullName, String email, int tokenVersion) {
+    public UserSnapshot withTokenVersion(int tokenVersion) {
+        return new UserSnapshot(id, userName, fullName, email, tokenVersion);
+    }
+}
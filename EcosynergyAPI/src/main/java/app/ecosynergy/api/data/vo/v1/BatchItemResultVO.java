@@ -0,0 +1,100 @@
+package app.ecosynergy.api.data.vo.v1;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Objects;
+
+@JsonPropertyOrder({"index", "id", "teamHandle", "status", "message"})
+public class BatchItemResultVO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+
+    private Integer index;
+
+    private Long id;
+
+    private String teamHandle;
+
+    private Status status;
+
+    private String message;
+
+    public BatchItemResultVO() {
+    }
+
+    public BatchItemResultVO(Integer index, Long id, String teamHandle, Status status, String message) {
+        this.index = index;
+        this.id = id;
+        this.teamHandle = teamHandle;
+        this.status = status;
+        this.message = message;
+    }
+
+    public static BatchItemResultVO created(Integer index, String teamHandle) {
+        return new BatchItemResultVO(index, null, teamHandle, Status.CREATED, null);
+    }
+
+    public static BatchItemResultVO rejected(Integer index, String teamHandle, String message) {
+        return new BatchItemResultVO(index, null, teamHandle, Status.REJECTED, message);
+    }
+
+    public Integer getIndex() {
+        return index;
+    }
+
+    public void setIndex(Integer index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTeamHandle() {
+        return teamHandle;
+    }
+
+    public void setTeamHandle(String teamHandle) {
+        this.teamHandle = teamHandle;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BatchItemResultVO that = (BatchItemResultVO) o;
+        return Objects.equals(getIndex(), that.getIndex()) && Objects.equals(getId(), that.getId()) && Objects.equals(getTeamHandle(), that.getTeamHandle()) && getStatus() == that.getStatus() && Objects.equals(getMessage(), that.getMessage());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getIndex(), getId(), getTeamHandle(), getStatus(), getMessage());
+    }
+}
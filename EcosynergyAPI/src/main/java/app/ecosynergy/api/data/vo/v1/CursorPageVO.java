@@ -0,0 +1,69 @@
+package app.ecosynergy.api.data.vo.v1;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import org.springframework.hateoas.RepresentationModel;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@JsonPropertyOrder({"content", "size", "nextCursor"})
+public class CursorPageVO<T> extends RepresentationModel<CursorPageVO<T>> implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private List<T> content = new ArrayList<>();
+
+    private Integer size;
+
+    private String nextCursor;
+
+    public CursorPageVO() {
+    }
+
+    public CursorPageVO(List<T> content, String nextCursor) {
+        this.content = content;
+        this.size = content.size();
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        if (!super.equals(o)) return false;
+        CursorPageVO<?> that = (CursorPageVO<?>) o;
+        return Objects.equals(getContent(), that.getContent()) && Objects.equals(getSize(), that.getSize()) && Objects.equals(getNextCursor(), that.getNextCursor());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), getContent(), getSize(), getNextCursor());
+    }
+}
@@ -0,0 +1,98 @@
+package app.ecosynergy.api.data.vo.v1;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+@JsonPropertyOrder({"period", "periodStart", "periodEnd", "goal", "total", "progress", "achieved"})
+public class GoalProgressVO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private String period;
+
+    private ZonedDateTime periodStart;
+
+    private ZonedDateTime periodEnd;
+
+    private BigDecimal goal;
+
+    private Double total;
+
+    private Double progress;
+
+    private boolean achieved;
+
+    public String getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(String period) {
+        this.period = period;
+    }
+
+    public ZonedDateTime getPeriodStart() {
+        return periodStart;
+    }
+
+    public void setPeriodStart(ZonedDateTime periodStart) {
+        this.periodStart = periodStart;
+    }
+
+    public ZonedDateTime getPeriodEnd() {
+        return periodEnd;
+    }
+
+    public void setPeriodEnd(ZonedDateTime periodEnd) {
+        this.periodEnd = periodEnd;
+    }
+
+    public BigDecimal getGoal() {
+        return goal;
+    }
+
+    public void setGoal(BigDecimal goal) {
+        this.goal = goal;
+    }
+
+    public Double getTotal() {
+        return total;
+    }
+
+    public void setTotal(Double total) {
+        this.total = total;
+    }
+
+    public Double getProgress() {
+        return progress;
+    }
+
+    public void setProgress(Double progress) {
+        this.progress = progress;
+    }
+
+    public boolean isAchieved() {
+        return achieved;
+    }
+
+    public void setAchieved(boolean achieved) {
+        this.achieved = achieved;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        GoalProgressVO that = (GoalProgressVO) o;
+        return isAchieved() == that.isAchieved() && Objects.equals(getPeriod(), that.getPeriod()) && Objects.equals(getPeriodStart(), that.getPeriodStart()) && Objects.equals(getPeriodEnd(), that.getPeriodEnd()) && Objects.equals(getGoal(), that.getGoal()) && Objects.equals(getTotal(), that.getTotal()) && Objects.equals(getProgress(), that.getProgress());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getPeriod(), getPeriodStart(), getPeriodEnd(), getGoal(), getTotal(), getProgress(), isAchieved());
+    }
+}
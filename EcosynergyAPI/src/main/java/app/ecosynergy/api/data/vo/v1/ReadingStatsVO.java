@@ -0,0 +1,89 @@
+package app.ecosynergy.api.data.vo.v1;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@JsonPropertyOrder({"teamHandle", "sensorType", "bucket", "from", "to", "buckets"})
+public class ReadingStatsVO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private String teamHandle;
+
+    private String sensorType;
+
+    private String bucket;
+
+    private ZonedDateTime from;
+
+    private ZonedDateTime to;
+
+    private List<StatsBucketVO> buckets = new ArrayList<>();
+
+    public String getTeamHandle() {
+        return teamHandle;
+    }
+
+    public void setTeamHandle(String teamHandle) {
+        this.teamHandle = teamHandle;
+    }
+
+    public String getSensorType() {
+        return sensorType;
+    }
+
+    public void setSensorType(String sensorType) {
+        this.sensorType = sensorType;
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(String bucket) {
+        this.bucket = bucket;
+    }
+
+    public ZonedDateTime getFrom() {
+        return from;
+    }
+
+    public void setFrom(ZonedDateTime from) {
+        this.from = from;
+    }
+
+    public ZonedDateTime getTo() {
+        return to;
+    }
+
+    public void setTo(ZonedDateTime to) {
+        this.to = to;
+    }
+
+    public List<StatsBucketVO> getBuckets() {
+        return buckets;
+    }
+
+    public void setBuckets(List<StatsBucketVO> buckets) {
+        this.buckets = buckets;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReadingStatsVO that = (ReadingStatsVO) o;
+        return Objects.equals(getTeamHandle(), that.getTeamHandle()) && Objects.equals(getSensorType(), that.getSensorType()) && Objects.equals(getBucket(), that.getBucket()) && Objects.equals(getFrom(), that.getFrom()) && Objects.equals(getTo(), that.getTo()) && Objects.equals(getBuckets(), that.getBuckets());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getTeamHandle(), getSensorType(), getBucket(), getFrom(), getTo(), getBuckets());
+    }
+}
@@ -0,0 +1,90 @@
+package app.ecosynergy.api.data.vo.v1;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.Objects;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"start", "count", "average", "min", "max"})
+public class StatsBucketVO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private ZonedDateTime start;
+
+    private Long count;
+
+    private Double average;
+
+    private Double min;
+
+    private Double max;
+
+    public StatsBucketVO() {
+    }
+
+    public StatsBucketVO(ZonedDateTime start, Long count, Double average, Double min, Double max) {
+        this.start = start;
+        this.count = count;
+        this.average = average;
+        this.min = min;
+        this.max = max;
+    }
+
+    public ZonedDateTime getStart() {
+        return start;
+    }
+
+    public void setStart(ZonedDateTime start) {
+        this.start = start;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+
+    public Double getAverage() {
+        return average;
+    }
+
+    public void setAverage(Double average) {
+        this.average = average;
+    }
+
+    public Double getMin() {
+        return min;
+    }
+
+    public void setMin(Double min) {
+        this.min = min;
+    }
+
+    public Double getMax() {
+        return max;
+    }
+
+    public void setMax(Double max) {
+        this.max = max;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        StatsBucketVO that = (StatsBucketVO) o;
+        return Objects.equals(getStart(), that.getStart()) && Objects.equals(getCount(), that.getCount()) && Objects.equals(getAverage(), that.getAverage()) && Objects.equals(getMin(), that.getMin()) && Objects.equals(getMax(), that.getMax());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getStart(), getCount(), getAverage(), getMin(), getMax());
+    }
+}
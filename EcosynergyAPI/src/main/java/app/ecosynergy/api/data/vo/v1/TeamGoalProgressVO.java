@@ -0,0 +1,69 @@
+package app.ecosynergy.api.data.vo.v1;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@JsonPropertyOrder({"teamHandle", "sensorType", "timeZone", "goals"})
+public class TeamGoalProgressVO implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private String teamHandle;
+
+    private String sensorType;
+
+    private ZoneId timeZone;
+
+    private List<GoalProgressVO> goals = new ArrayList<>();
+
+    public String getTeamHandle() {
+        return teamHandle;
+    }
+
+    public void setTeamHandle(String teamHandle) {
+        this.teamHandle = teamHandle;
+    }
+
+    public String getSensorType() {
+        return sensorType;
+    }
+
+    public void setSensorType(String sensorType) {
+        this.sensorType = sensorType;
+    }
+
+    public ZoneId getTimeZone() {
+        return timeZone;
+    }
+
+    public void setTimeZone(ZoneId timeZone) {
+        this.timeZone = timeZone;
+    }
+
+    public List<GoalProgressVO> getGoals() {
+        return goals;
+    }
+
+    public void setGoals(List<GoalProgressVO> goals) {
+        this.goals = goals;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TeamGoalProgressVO that = (TeamGoalProgressVO) o;
+        return Objects.equals(getTeamHandle(), that.getTeamHandle()) && Objects.equals(getSensorType(), that.getSensorType()) && Objects.equals(getTimeZone(), that.getTimeZone()) && Objects.equals(getGoals(), that.getGoals());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getTeamHandle(), getSensorType(), getTimeZone(), getGoals());
+    }
+}
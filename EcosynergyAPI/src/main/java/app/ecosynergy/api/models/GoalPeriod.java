@@ -0,0 +1,43 @@
+package app.ecosynergy.api.models;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+public enum GoalPeriod {
+    DAILY("diária"),
+    WEEKLY("semanal"),
+    MONTHLY("mensal"),
+    ANNUAL("anual");
+
+    private final String label;
+
+    GoalPeriod(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * First local day of the period holding the given day. Weeks start on Monday.
+     */
+    public LocalDate start(LocalDate day) {
+        return switch (this) {
+            case DAILY -> day;
+            case WEEKLY -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHLY -> day.withDayOfMonth(1);
+            case ANNUAL -> day.withDayOfYear(1);
+        };
+    }
+
+    public LocalDate next(LocalDate start) {
+        return switch (this) {
+            case DAILY -> start.plusDays(1);
+            case WEEKLY -> start.plusWeeks(1);
+            case MONTHLY -> start.plusMonths(1);
+            case ANNUAL -> start.plusYears(1);
+        };
+    }
+}
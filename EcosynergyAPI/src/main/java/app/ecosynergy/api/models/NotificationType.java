@@ -0,0 +1,18 @@
+package app.ecosynergy.api.models;
+
+public enum NotificationType {
+    FIRE("fire"),
+    TEAM("team"),
+    INVITE("invite"),
+    TEST("test");
+
+    private final String value;
+
+    NotificationType(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
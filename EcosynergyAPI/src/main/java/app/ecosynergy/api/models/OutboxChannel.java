@@ -0,0 +1,6 @@
+package app.ecosynergy.api.models;
+
+public enum OutboxChannel {
+    EMAIL,
+    PUSH
+}
@@ -0,0 +1,34 @@
+package app.ecosynergy.api.models;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Rollup buckets are aligned to UTC, so they stay valid when a team changes its time zone. Daily totals are
+ * folded from hour buckets at read time instead of being stored, as a stored day would be cut at the
+ * midnight of whatever time zone the team had when its readings came in.
+ */
+public enum RollupGranularity {
+    MINUTE,
+    HOUR;
+
+    public Instant bucketStart(Instant timestamp) {
+        return switch (this) {
+            case MINUTE -> timestamp.truncatedTo(ChronoUnit.MINUTES);
+            case HOUR -> timestamp.truncatedTo(ChronoUnit.HOURS);
+        };
+    }
+
+    /**
+     * The coarsest rollup whose buckets never straddle the start of an hour, and so of a day, in the given
+     * time zone between the two instants. Zones a whole number of hours off UTC can use hour buckets.
+     */
+    public static RollupGranularity alignedTo(ZoneId timeZone, Instant from, Instant to) {
+        return isWholeHourOffset(timeZone, from) && isWholeHourOffset(timeZone, to) ? HOUR : MINUTE;
+    }
+
+    private static boolean isWholeHourOffset(ZoneId timeZone, Instant at) {
+        return timeZone.getRules().getOffset(at).getTotalSeconds() % 3600 == 0;
+    }
+}
@@ -0,0 +1,17 @@
+package app.ecosynergy.api.models;
+
+public enum SensorType {
+    MQ135("mq135_readings"),
+    MQ7("mq7_readings"),
+    FIRE("fire_readings");
+
+    private final String tableName;
+
+    SensorType(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+}
@@ -0,0 +1,67 @@
+package app.ecosynergy.api.models;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum StatsBucket {
+    FIVE_MINUTES("5m", Duration.ofMinutes(5), Duration.ofDays(1)),
+    ONE_HOUR("1h", Duration.ofHours(1), Duration.ofDays(7)),
+    ONE_DAY("1d", Duration.ofDays(1), Duration.ofDays(30));
+
+    private final String value;
+    private final Duration length;
+    private final Duration defaultRange;
+
+    StatsBucket(String value, Duration length, Duration defaultRange) {
+        this.value = value;
+        this.length = length;
+        this.defaultRange = defaultRange;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public Duration getLength() {
+        return length;
+    }
+
+    public Duration getDefaultRange() {
+        return defaultRange;
+    }
+
+    /**
+     * Start of the bucket holding the given instant, aligned to the wall clock of the given time zone.
+     */
+    public ZonedDateTime floor(ZonedDateTime timestamp, ZoneId timeZone) {
+        ZonedDateTime local = timestamp.withZoneSameInstant(timeZone);
+
+        return switch (this) {
+            case FIVE_MINUTES -> {
+                ZonedDateTime minute = local.truncatedTo(ChronoUnit.MINUTES);
+                yield minute.minusMinutes(minute.getMinute() % 5);
+            }
+            case ONE_HOUR -> local.truncatedTo(ChronoUnit.HOURS);
+            case ONE_DAY -> local.truncatedTo(ChronoUnit.DAYS);
+        };
+    }
+
+    /**
+     * The coarsest rollup whose buckets never straddle two of these buckets in the given time zone.
+     */
+    public RollupGranularity sourceGranularity(ZoneId timeZone, ZonedDateTime from, ZonedDateTime to) {
+        return switch (this) {
+            case FIVE_MINUTES -> RollupGranularity.MINUTE;
+            case ONE_HOUR, ONE_DAY -> RollupGranularity.alignedTo(timeZone, from.toInstant(), to.toInstant());
+        };
+    }
+
+    public static StatsBucket fromValue(String value) {
+        for (StatsBucket bucket : values()) {
+            if (bucket.value.equalsIgnoreCase(value)) return bucket;
+        }
+        throw new IllegalArgumentException("Unsupported bucket: " + value + ". Use 5m, 1h or 1d");
+    }
+}
@@ -59,6 +59,10 @@ public class User implements UserDetails, Serializable {
     @Column
     private Boolean enabled;
 
+    // Only changed by UserRepository.incrementTokenVersion, so saving a stale entity cannot undo a revocation
+    @Column(name = "token_version", updatable = false)
+    private int tokenVersion;
+
     @ManyToMany(fetch = FetchType.EAGER)
     @JoinTable(name = "user_permission",
             joinColumns = {@JoinColumn(name = "id_user")},
@@ -225,6 +229,14 @@ public class User implements UserDetails, Serializable {
         this.enabled = enabled;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
     public List<Permission> getPermissions() {
         return permissions;
     }
@@ -1,13 +1,21 @@
 package app.ecosynergy.api.repositories;
 
+import app.ecosynergy.api.data.projection.FireReadingRow;
 import app.ecosynergy.api.models.FireReading;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface FireReadingRepository extends JpaRepository<FireReading, Long> {
     @Query("SELECT r FROM FireReading r LEFT JOIN FETCH r.team WHERE r.id =:id")
@@ -19,6 +27,32 @@ public interface FireReadingRepository extends JpaRepository<FireReading, Long>
     @Query("SELECT r FROM FireReading r JOIN FETCH r.team")
     Page<FireReading> findAllWithTeam(Pageable pageable);
 
+    @Query("SELECT r.timestamp FROM FireReading r WHERE r.team.handle = :teamHandle AND r.isFire = true AND r.timestamp >= :from AND r.timestamp < :to ORDER BY r.timestamp")
+    List<ZonedDateTime> findFireTimestampsByTeamHandle(@Param("teamHandle") String teamHandle, @Param("from") ZonedDateTime from, @Param("to") ZonedDateTime to);
+
     @Query("SELECT fr FROM FireReading fr WHERE fr.team.id = :teamId and fr.isFire = true ORDER BY fr.timestamp DESC LIMIT 1")
     Optional<FireReading> findLatestByTeamId(@Param("teamId") Long teamId);
+
+    @Query("SELECT r FROM FireReading r JOIN FETCH r.team WHERE r.timestamp > :timestamp OR (r.timestamp = :timestamp AND r.id > :id) ORDER BY r.timestamp ASC, r.id ASC")
+    Slice<FireReading> findAfter(@Param("timestamp") ZonedDateTime timestamp, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT r FROM FireReading r JOIN FETCH r.team WHERE r.timestamp < :timestamp OR (r.timestamp = :timestamp AND r.id < :id) ORDER BY r.timestamp DESC, r.id DESC")
+    Slice<FireReading> findBefore(@Param("timestamp") ZonedDateTime timestamp, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT r FROM FireReading r JOIN FETCH r.team t WHERE t.handle = :teamHandle AND (r.timestamp > :timestamp OR (r.timestamp = :timestamp AND r.id > :id)) ORDER BY r.timestamp ASC, r.id ASC")
+    Slice<FireReading> findByTeamHandleAfter(@Param("teamHandle") String teamHandle, @Param("timestamp") ZonedDateTime timestamp, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT r FROM FireReading r JOIN FETCH r.team t WHERE t.handle = :teamHandle AND (r.timestamp < :timestamp OR (r.timestamp = :timestamp AND r.id < :id)) ORDER BY r.timestamp DESC, r.id DESC")
+    Slice<FireReading> findByTeamHandleBefore(@Param("teamHandle") String teamHandle, @Param("timestamp") ZonedDateTime timestamp, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Forward-only stream for exports. The minimum fetch size makes MySQL Connector/J stream rows instead of
+     * buffering the whole result; the caller must hold a read-only transaction while consuming it.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new app.ecosynergy.api.data.projection.FireReadingRow(r.id, r.timestamp, r.isFire) FROM FireReading r WHERE r.team.handle = :teamHandle AND r.timestamp >= :from AND r.timestamp < :to ORDER BY r.timestamp ASC, r.id ASC")
+    Stream<FireReadingRow> streamByTeamHandle(@Param("teamHandle") String teamHandle, @Param("from") ZonedDateTime from, @Param("to") ZonedDateTime to);
 }
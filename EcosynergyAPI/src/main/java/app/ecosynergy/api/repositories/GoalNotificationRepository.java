@@ -0,0 +1,27 @@
+package app.ecosynergy.api.repositories;
+
+import app.ecosynergy.api.models.GoalPeriod;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+@Repository
+public class GoalNotificationRepository {
+    private static final String INSERT = "INSERT IGNORE INTO goal_notifications (team_id, period, period_start) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public GoalNotificationRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Records that the goal of a period was reached. Only the first caller across all instances gets
+     * {@code true}, so only it sends the notification.
+     */
+    public boolean markNotified(Long teamId, GoalPeriod period, LocalDate periodStart) {
+        return jdbcTemplate.update(INSERT, teamId, period.name(), Date.valueOf(periodStart)) == 1;
+    }
+}
@@ -1,12 +1,20 @@
 package app.ecosynergy.api.repositories;
 
+import app.ecosynergy.api.data.projection.ReadingRow;
 import app.ecosynergy.api.models.MQ7Reading;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.ZonedDateTime;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MQ7ReadingRepository extends JpaRepository<MQ7Reading, Long> {
     @Query("SELECT r FROM MQ7Reading r JOIN FETCH r.team WHERE r.id = :id")
@@ -17,4 +25,27 @@ public interface MQ7ReadingRepository extends JpaRepository<MQ7Reading, Long> {
 
     @Query("SELECT r FROM MQ7Reading r JOIN FETCH r.team")
     Page<MQ7Reading> findAllWithTeam(Pageable pageable);
+
+    @Query("SELECT r FROM MQ7Reading r JOIN FETCH r.team WHERE r.timestamp > :timestamp OR (r.timestamp = :timestamp AND r.id > :id) ORDER BY r.timestamp ASC, r.id ASC")
+    Slice<MQ7Reading> findAfter(@Param("timestamp") ZonedDateTime timestamp, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT r FROM MQ7Reading r JOIN FETCH r.team WHERE r.timestamp < :timestamp OR (r.timestamp = :timestamp AND r.id < :id) ORDER BY r.timestamp DESC, r.id DESC")
+    Slice<MQ7Reading> findBefore(@Param("timestamp") ZonedDateTime timestamp, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT r FROM MQ7Reading r JOIN FETCH r.team t WHERE t.handle = :teamHandle AND (r.timestamp > :timestamp OR (r.timestamp = :timestamp AND r.id > :id)) ORDER BY r.timestamp ASC, r.id ASC")
+    Slice<MQ7Reading> findByTeamHandleAfter(@Param("teamHandle") String teamHandle, @Param("timestamp") ZonedDateTime timestamp, @Param("id") Long id, Pageable pageable);
+
+    @Query("SELECT r FROM MQ7Reading r JOIN FETCH r.team t WHERE t.handle = :teamHandle AND (r.timestamp < :timestamp OR (r.timestamp = :timestamp AND r.id < :id)) ORDER BY r.timestamp DESC, r.id DESC")
+    Slice<MQ7Reading> findByTeamHandleBefore(@Param("teamHandle") String teamHandle, @Param("timestamp") ZonedDateTime timestamp, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Forward-only stream for exports. The minimum fetch size makes MySQL Connector/J stream rows instead of
+     * buffering the whole result; the caller must hold a read-only transaction while consuming it.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new app.ecosynergy.api.data.projection.ReadingRow(r.id, r.timestamp, r.value) FROM MQ7Reading r WHERE r.team.handle = :teamHandle AND r.timestamp >= :from AND r.timestamp < :to ORDER BY r.timestamp ASC, r.id ASC")
+    Stream<ReadingRow> streamByTeamHandle(@Param("teamHandle") String teamHandle, @Param("from") ZonedDateTime from, @Param("to") ZonedDateTime to);
 }
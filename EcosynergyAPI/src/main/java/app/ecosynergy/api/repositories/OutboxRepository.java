@@ -0,0 +1,81 @@
+package app.ecosynergy.api.repositories;
+
+import app.ecosynergy.api.data.projection.OutboxMessage;
+import app.ecosynergy.api.models.OutboxChannel;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+
+@Repository
+public class OutboxRepository {
+    private static final String INSERT = "INSERT INTO outbox_messages (channel, payload, next_attempt_at) VALUES (?, ?, ?)";
+
+    private static final String LOCK_DUE = """
+            SELECT id, channel, payload, attempts FROM outbox_messages
+            WHERE failed_at IS NULL AND next_attempt_at <= ?
+            ORDER BY next_attempt_at
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String DELETE = "DELETE FROM outbox_messages WHERE id = ?";
+    private static final String RESCHEDULE = "UPDATE outbox_messages SET attempts = ?, next_attempt_at = ?, last_error = ? WHERE id = ?";
+    private static final String UPDATE_PAYLOAD = "UPDATE outbox_messages SET payload = ? WHERE id = ?";
+    private static final String MARK_FAILED = "UPDATE outbox_messages SET attempts = ?, last_error = ?, failed_at = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(OutboxChannel channel, String payload, Instant dueAt) {
+        jdbcTemplate.update(INSERT, channel.name(), payload, Timestamp.from(dueAt));
+    }
+
+    /**
+     * Claims up to {@code limit} due messages by pushing their next attempt to {@code leaseUntil}. Must run
+     * inside a transaction: the rows stay locked until it commits and other instances skip them instead of
+     * waiting, so each message is handed to one dispatcher at a time. A dispatcher that dies mid-delivery
+     * simply lets the lease expire.
+     */
+    public List<OutboxMessage> claimDue(Instant now, Instant leaseUntil, int limit) {
+        List<OutboxMessage> messages = jdbcTemplate.query(LOCK_DUE, (rs, rowNum) -> new OutboxMessage(
+                rs.getLong("id"),
+                OutboxChannel.valueOf(rs.getString("channel")),
+                rs.getString("payload"),
+                rs.getInt("attempts")
+        ), Timestamp.from(now), limit);
+
+        if (messages.isEmpty()) return messages;
+
+        String placeholders = String.join(", ", Collections.nCopies(messages.size(), "?"));
+        Object[] args = new Object[messages.size() + 1];
+        args[0] = Timestamp.from(leaseUntil);
+        for (int i = 0; i < messages.size(); i++) args[i + 1] = messages.get(i).id();
+
+        jdbcTemplate.update("UPDATE outbox_messages SET next_attempt_at = ? WHERE id IN (" + placeholders + ")", args);
+
+        return messages;
+    }
+
+    public void delete(Long id) {
+        jdbcTemplate.update(DELETE, id);
+    }
+
+    public void reschedule(Long id, int attempts, Instant nextAttemptAt, String error) {
+        jdbcTemplate.update(RESCHEDULE, attempts, Timestamp.from(nextAttemptAt), error, id);
+    }
+
+    public void updatePayload(Long id, String payload) {
+        jdbcTemplate.update(UPDATE_PAYLOAD, payload, id);
+    }
+
+    public void markFailed(Long id, int attempts, String error) {
+        jdbcTemplate.update(MARK_FAILED, attempts, error, Timestamp.from(Instant.now()), id);
+    }
+}
@@ -0,0 +1,92 @@
+package app.ecosynergy.api.repositories;
+
+import app.ecosynergy.api.models.FireReading;
+import app.ecosynergy.api.models.MQ135Reading;
+import app.ecosynergy.api.models.MQ7Reading;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Multi-row inserts for sensor readings. The reading entities use IDENTITY ids, which keeps Hibernate
+ * from batching them, so bulk ingestion goes through a single JDBC batch here instead.
+ */
+@Repository
+public class ReadingBatchRepository {
+    private static final String INSERT_MQ135 = "INSERT INTO mq135_readings (team_handle, value, timestamp) VALUES (?, ?, ?)";
+    private static final String INSERT_MQ7 = "INSERT INTO mq7_readings (team_handle, value, timestamp) VALUES (?, ?, ?)";
+    private static final String INSERT_FIRE = "INSERT INTO fire_readings (team_handle, is_fire, timestamp) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReadingBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertMQ135Readings(List<MQ135Reading> readings) {
+        insertAll(INSERT_MQ135, readings, (ps, r) -> {
+            ps.setString(1, r.getTeam().getHandle());
+            ps.setDouble(2, r.getValue());
+            ps.setTimestamp(3, Timestamp.from(r.getTimestamp().toInstant()));
+        }, MQ135Reading::setId);
+    }
+
+    public void insertMQ7Readings(List<MQ7Reading> readings) {
+        insertAll(INSERT_MQ7, readings, (ps, r) -> {
+            ps.setString(1, r.getTeam().getHandle());
+            ps.setDouble(2, r.getValue());
+            ps.setTimestamp(3, Timestamp.from(r.getTimestamp().toInstant()));
+        }, MQ7Reading::setId);
+    }
+
+    public void insertFireReadings(List<FireReading> readings) {
+        insertAll(INSERT_FIRE, readings, (ps, r) -> {
+            ps.setString(1, r.getTeam().getHandle());
+            ps.setBoolean(2, r.getFire());
+            ps.setTimestamp(3, Timestamp.from(r.getTimestamp().toInstant()));
+        }, FireReading::setId);
+    }
+
+    private <T> void insertAll(String sql, List<T> readings, StatementBinder<T> binder, BiConsumer<T, Long> idSetter) {
+        if (readings.isEmpty()) return;
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        binder.bind(ps, readings.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return readings.size();
+                    }
+                },
+                keyHolder
+        );
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < keys.size() && i < readings.size(); i++) {
+            Object key = keys.get(i).values().iterator().next();
+            idSetter.accept(readings.get(i), ((Number) key).longValue());
+        }
+    }
+
+    @FunctionalInterface
+    private interface StatementBinder<T> {
+        void bind(PreparedStatement ps, T reading) throws SQLException;
+    }
+}
@@ -0,0 +1,27 @@
+package app.ecosynergy.api.repositories;
+
+import app.ecosynergy.api.models.SensorType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+@Repository
+public class ReadingRetentionRepository {
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReadingRetentionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Deletes at most {@code limit} of the oldest readings before the cutoff. Walking the timestamp index in
+     * order keeps each statement, and the row locks it holds, short.
+     */
+    public int deleteOlderThan(SensorType sensorType, Instant cutoff, int limit) {
+        String sql = "DELETE FROM " + sensorType.getTableName() + " WHERE timestamp < ? ORDER BY timestamp LIMIT ?";
+
+        return jdbcTemplate.update(sql, Timestamp.from(cutoff), limit);
+    }
+}
@@ -0,0 +1,122 @@
+package app.ecosynergy.api.repositories;
+
+import app.ecosynergy.api.data.projection.ReadingRollup;
+import app.ecosynergy.api.data.projection.ReadingSample;
+import app.ecosynergy.api.models.RollupGranularity;
+import app.ecosynergy.api.models.SensorType;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Rollup buckets are only ever merged into, never rewritten, so incremental updates and the backfill can
+ * touch the same bucket concurrently.
+ */
+@Repository
+public class ReadingRollupRepository {
+    private static final String UPSERT = """
+            INSERT INTO reading_rollups (sensor_type, team_handle, granularity, bucket_start, reading_count, value_sum, value_min, value_max)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                reading_count = reading_count + VALUES(reading_count),
+                value_sum = value_sum + VALUES(value_sum),
+                value_min = LEAST(value_min, VALUES(value_min)),
+                value_max = GREATEST(value_max, VALUES(value_max))
+            """;
+
+    private static final String FIND_ROLLUPS = """
+            SELECT bucket_start, reading_count, value_sum, value_min, value_max FROM reading_rollups
+            WHERE sensor_type = ? AND team_handle = ? AND granularity = ? AND bucket_start >= ? AND bucket_start < ?
+            ORDER BY bucket_start
+            """;
+
+    private static final String LOCK_BACKFILL = "SELECT max_id, last_id, completed_at FROM reading_rollup_backfill WHERE sensor_type = ? FOR UPDATE";
+    private static final String UPDATE_BACKFILL = "UPDATE reading_rollup_backfill SET last_id = ?, completed_at = ? WHERE sensor_type = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ReadingRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void merge(List<ReadingRollup> rollups) {
+        if (rollups.isEmpty()) return;
+
+        jdbcTemplate.batchUpdate(UPSERT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ReadingRollup rollup = rollups.get(i);
+                ps.setString(1, rollup.sensorType().name());
+                ps.setString(2, rollup.teamHandle());
+                ps.setString(3, rollup.granularity().name());
+                ps.setTimestamp(4, Timestamp.from(rollup.bucketStart()));
+                ps.setLong(5, rollup.count());
+                ps.setDouble(6, rollup.sum());
+                ps.setDouble(7, rollup.min());
+                ps.setDouble(8, rollup.max());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rollups.size();
+            }
+        });
+    }
+
+    public List<ReadingRollup> findRollups(SensorType sensorType, String teamHandle, RollupGranularity granularity, Instant from, Instant to) {
+        return jdbcTemplate.query(FIND_ROLLUPS, (rs, rowNum) -> new ReadingRollup(
+                sensorType,
+                teamHandle,
+                granularity,
+                rs.getTimestamp("bucket_start").toInstant(),
+                rs.getLong("reading_count"),
+                rs.getDouble("value_sum"),
+                rs.getDouble("value_min"),
+                rs.getDouble("value_max")
+        ), sensorType.name(), teamHandle, granularity.name(), Timestamp.from(from), Timestamp.from(to));
+    }
+
+    /**
+     * Locks the backfill watermark of a sensor type until the surrounding transaction ends, so several
+     * instances running the backfill never roll up the same chunk twice.
+     */
+    public Optional<BackfillState> lockBackfillState(SensorType sensorType) {
+        return jdbcTemplate.query(LOCK_BACKFILL, (rs, rowNum) -> new BackfillState(
+                rs.getLong("max_id"),
+                rs.getLong("last_id"),
+                rs.getTimestamp("completed_at") != null
+        ), sensorType.name()).stream().findFirst();
+    }
+
+    public void updateBackfillState(SensorType sensorType, long lastId, boolean completed) {
+        jdbcTemplate.update(UPDATE_BACKFILL, lastId, completed ? Timestamp.from(Instant.now()) : null, sensorType.name());
+    }
+
+    public List<ReadingSample> findBackfillChunk(SensorType sensorType, long afterId, long maxId, int limit) {
+        String sql = "SELECT id, team_handle, value, timestamp FROM " + readingTable(sensorType)
+                + " WHERE id > ? AND id <= ? ORDER BY id LIMIT ?";
+
+        return jdbcTemplate.query(sql, (rs, rowNum) -> new ReadingSample(
+                rs.getLong("id"),
+                rs.getString("team_handle"),
+                rs.getTimestamp("timestamp").toInstant().atZone(ZoneOffset.UTC),
+                rs.getDouble("value")
+        ), afterId, maxId, limit);
+    }
+
+    private static String readingTable(SensorType sensorType) {
+        if (sensorType == SensorType.FIRE) throw new IllegalArgumentException("Fire readings have no rollups");
+        return sensorType.getTableName();
+    }
+
+    public record BackfillState(long maxId, long lastId, boolean completed) {
+    }
+}
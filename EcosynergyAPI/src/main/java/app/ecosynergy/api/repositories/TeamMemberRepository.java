@@ -1,5 +1,6 @@
 package app.ecosynergy.api.repositories;
 
+import app.ecosynergy.api.data.projection.NotificationRecipient;
 import app.ecosynergy.api.models.Role;
 import app.ecosynergy.api.models.Team;
 import app.ecosynergy.api.models.TeamMember;
@@ -18,6 +19,15 @@ public interface TeamMemberRepository extends JpaRepository<TeamMember, TeamMemb
 
     boolean existsByTeamIdAndUserIdAndRole(Long teamId, Long userId, Role role);
 
+    @Query("""
+            SELECT new app.ecosynergy.api.data.projection.NotificationRecipient(t.name, u.id, ut.token, ut.platform, np.fireDetection, np.fireIntervalMinutes, np.teamGoalReached)
+            FROM TeamMember tm JOIN tm.team t JOIN tm.user u
+            LEFT JOIN u.tokens ut
+            LEFT JOIN u.notificationPreferences np ON np.platform = ut.platform
+            WHERE t.id = :teamId
+            """)
+    List<NotificationRecipient> findRecipientsByTeamId(@Param("teamId") Long teamId);
+
     @Query("SELECT tm.team FROM TeamMember tm WHERE tm.team.id = :teamId")
     List<TeamMember> findByTeamId(Long teamId);
 }
@@ -1,5 +1,7 @@
 package app.ecosynergy.api.repositories;
 
+import app.ecosynergy.api.data.projection.TeamGoals;
+import app.ecosynergy.api.data.projection.TeamReference;
 import app.ecosynergy.api.models.Team;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -25,6 +27,12 @@ public interface TeamRepository extends JpaRepository<Team, Long> {
 
     Optional<Team> findByHandle(String handle);
 
+    @Query("SELECT new app.ecosynergy.api.data.projection.TeamReference(t.id, t.handle, t.timeZone) FROM Team t WHERE t.handle = :handle")
+    Optional<TeamReference> findReferenceByHandle(@Param("handle") String handle);
+
+    @Query("SELECT new app.ecosynergy.api.data.projection.TeamGoals(t.id, t.handle, t.timeZone, t.dailyGoal, t.weeklyGoal, t.monthlyGoal, t.annualGoal) FROM Team t WHERE t.handle = :handle")
+    Optional<TeamGoals> findGoalsByHandle(@Param("handle") String handle);
+
     @Query("SELECT t FROM Team t JOIN FETCH t.teamMembers tm JOIN FETCH tm.user WHERE t.handle LIKE %:handle%")
     List<Team> findByHandleContaining(@Param("handle") String handle);
 }
@@ -0,0 +1,41 @@
+package app.ecosynergy.api.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+@Repository
+public class TokenVersionRepository {
+    private static final String NOW = "SELECT CURRENT_TIMESTAMP(3)";
+    private static final String FIND_CHANGED = "SELECT id, token_version FROM users WHERE token_version_changed_at >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TokenVersionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The database clock, which stamps {@code token_version_changed_at}, so polls are not thrown off by the
+     * clock of the instance.
+     */
+    public Instant now() {
+        Timestamp now = jdbcTemplate.queryForObject(NOW, Timestamp.class);
+        return now != null ? now.toInstant() : Instant.now();
+    }
+
+    /**
+     * Token versions of the users who revoked their tokens since the given instant, by user id.
+     */
+    public Map<Long, Integer> findChangedSince(Instant since) {
+        Map<Long, Integer> versions = new HashMap<>();
+        jdbcTemplate.query(FIND_CHANGED, rs -> {
+            versions.put(rs.getLong("id"), rs.getInt("token_version"));
+        }, Timestamp.from(since));
+        return versions;
+    }
+}
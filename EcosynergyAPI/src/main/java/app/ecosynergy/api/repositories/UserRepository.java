@@ -1,12 +1,16 @@
 package app.ecosynergy.api.repositories;
 
+import app.ecosynergy.api.data.projection.UserSnapshot;
 import app.ecosynergy.api.models.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -20,6 +24,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.userName LIKE %:identifier% OR u.email LIKE %:identifier% OR u.fullName LIKE %:identifier%")
     List<User> findByIdentifierContaining(@Param("identifier") String identifier);
 
+    @Query("SELECT new app.ecosynergy.api.data.projection.UserSnapshot(u.id, u.userName, u.fullName, u.email, u.tokenVersion) FROM User u WHERE u.id = :id")
+    Optional<UserSnapshot> findSnapshotById(@Param("id") Long id);
+
+    @Query("SELECT new app.ecosynergy.api.data.projection.UserSnapshot(u.id, u.userName, u.fullName, u.email, u.tokenVersion) FROM User u WHERE u.userName = :userName")
+    Optional<UserSnapshot> findSnapshotByUserName(@Param("userName") String userName);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE users SET token_version = token_version + 1, token_version_changed_at = CURRENT_TIMESTAMP(3) WHERE id = :id", nativeQuery = true)
+    int incrementTokenVersion(@Param("id") Long id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password WHERE u.userName = :userName")
+    int updatePassword(@Param("userName") String userName, @Param("password") String password);
+
     boolean existsByUserName(String userName);
 
     boolean existsByEmail(String email);
@@ -2,7 +2,11 @@ package app.ecosynergy.api.repositories;
 
 import app.ecosynergy.api.models.UserToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,4 +14,11 @@ public interface UserTokenRepository extends JpaRepository<UserToken, Long> {
     List<UserToken> findByUserId(Long userId);
 
     Optional<UserToken> findByToken(String token);
+
+    @Query("SELECT DISTINCT ut.user.id FROM UserToken ut WHERE ut.token IN :tokens")
+    List<Long> findUserIdsByTokenIn(@Param("tokens") Collection<String> tokens);
+
+    @Modifying
+    @Query("DELETE FROM UserToken ut WHERE ut.token IN :tokens")
+    int deleteByTokenIn(@Param("tokens") Collection<String> tokens);
 }
@@ -0,0 +1,14 @@
+package app.ecosynergy.api.security;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * The principal of a request authenticated with a JWT, built from the token's signed claims.
+ */
+public record AuthenticatedUser(Long id, String username, List<String> roles) implements Principal {
+    @Override
+    public String getName() {
+        return username;
+    }
+}
@@ -0,0 +1,57 @@
+package app.ecosynergy.api.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds the encoder for stored passwords. Every hash is stored with the id of the parameter set that made
+ * it, so all configured sets are recognised and a hash made with other than
+ * {@code security.password-hashing.encoding-id} is replaced on the user's next sign-in, see
+ * {@code UserService.updatePassword}. The cost can thus be changed without invalidating any password:
+ * add a set under {@code pbkdf2-iterations}, or use {@code bcrypt}, and make it the encoding id. A set
+ * must stay configured until no stored hash uses it any more.
+ */
+public final class PasswordEncoders {
+    /**
+     * The parameters every password was hashed with before they became configurable. Never change them.
+     */
+    public static final String LEGACY_PBKDF2_ID = "pbkdf2";
+    public static final String BCRYPT_ID = "bcrypt";
+
+    private static final int LEGACY_SALT_LENGTH = 8;
+    private static final int LEGACY_ITERATIONS = 185000;
+    private static final int SALT_LENGTH = 16;
+
+    private PasswordEncoders() {
+    }
+
+    public static DelegatingPasswordEncoder create(PasswordHashingProperties properties) {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+
+        Pbkdf2PasswordEncoder legacy = pbkdf2(LEGACY_SALT_LENGTH, LEGACY_ITERATIONS);
+        encoders.put(LEGACY_PBKDF2_ID, legacy);
+        encoders.put(BCRYPT_ID, new BCryptPasswordEncoder(properties.getBcryptStrength()));
+
+        properties.getPbkdf2Iterations().forEach((id, iterations) -> {
+            if (encoders.putIfAbsent(id, pbkdf2(SALT_LENGTH, iterations)) != null) {
+                throw new IllegalArgumentException("Password encoding id '" + id + "' is reserved");
+            }
+        });
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(properties.getEncodingId(), encoders);
+
+        // Hashes stored without an id
+        passwordEncoder.setDefaultPasswordEncoderForMatches(legacy);
+
+        return passwordEncoder;
+    }
+
+    public static Pbkdf2PasswordEncoder pbkdf2(int saltLength, int iterations) {
+        return new Pbkdf2PasswordEncoder("", saltLength, iterations, Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+}
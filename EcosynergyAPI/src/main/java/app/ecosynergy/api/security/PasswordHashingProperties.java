@@ -0,0 +1,66 @@
+package app.ecosynergy.api.security;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Password hashing settings, nested under {@code security.password-hashing}: the pool that computes hashes
+ * and the encodings they are made with, see {@link PasswordEncoders}.
+ */
+public class PasswordHashingProperties {
+    private int concurrency = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private int queueCapacity = 64;
+    private Duration timeout = Duration.ofSeconds(5);
+    private String encodingId = PasswordEncoders.LEGACY_PBKDF2_ID;
+    private Map<String, Integer> pbkdf2Iterations = new LinkedHashMap<>();
+    private int bcryptStrength = 10;
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public String getEncodingId() {
+        return encodingId;
+    }
+
+    public void setEncodingId(String encodingId) {
+        this.encodingId = encodingId;
+    }
+
+    public Map<String, Integer> getPbkdf2Iterations() {
+        return pbkdf2Iterations;
+    }
+
+    public void setPbkdf2Iterations(Map<String, Integer> pbkdf2Iterations) {
+        this.pbkdf2Iterations = pbkdf2Iterations;
+    }
+
+    public int getBcryptStrength() {
+        return bcryptStrength;
+    }
+
+    public void setBcryptStrength(int bcryptStrength) {
+        this.bcryptStrength = bcryptStrength;
+    }
+}
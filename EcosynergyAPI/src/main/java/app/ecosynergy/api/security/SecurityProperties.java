@@ -3,12 +3,17 @@ package app.ecosynergy.api.security;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
 import java.util.List;
 
 @Configuration
 @ConfigurationProperties(prefix = "security")
 public class SecurityProperties {
     private List<String> publicEndpoints;
+    private Duration userCacheTtl = Duration.ofSeconds(60);
+    private Duration tokenVersionPollInterval = Duration.ofSeconds(1);
+    private int tokenCacheSize = 10000;
+    private PasswordHashingProperties passwordHashing = new PasswordHashingProperties();
 
     public List<String> getPublicEndpoints() {
         return publicEndpoints;
@@ -17,4 +22,36 @@ public class SecurityProperties {
     public void setPublicEndpoints(List<String> publicEndpoints) {
         this.publicEndpoints = publicEndpoints;
     }
+
+    public Duration getUserCacheTtl() {
+        return userCacheTtl;
+    }
+
+    public void setUserCacheTtl(Duration userCacheTtl) {
+        this.userCacheTtl = userCacheTtl;
+    }
+
+    public Duration getTokenVersionPollInterval() {
+        return tokenVersionPollInterval;
+    }
+
+    public void setTokenVersionPollInterval(Duration tokenVersionPollInterval) {
+        this.tokenVersionPollInterval = tokenVersionPollInterval;
+    }
+
+    public int getTokenCacheSize() {
+        return tokenCacheSize;
+    }
+
+    public void setTokenCacheSize(int tokenCacheSize) {
+        this.tokenCacheSize = tokenCacheSize;
+    }
+
+    public PasswordHashingProperties getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public void setPasswordHashing(PasswordHashingProperties passwordHashing) {
+        this.passwordHashing = passwordHashing;
+    }
 }
@@ -45,11 +45,9 @@ public class JwtTokenFilter extends GenericFilterBean {
         try {
             String token = tokenProvider.resolveToken((HttpServletRequest) request);
 
-            if (token != null && tokenProvider.validateToken(token)) {
+            if (token != null) {
                 Authentication auth = tokenProvider.getAuthentication(token);
-                if (auth != null) {
-                    SecurityContextHolder.getContext().setAuthentication(auth);
-                }
+                SecurityContextHolder.getContext().setAuthentication(auth);
             }
         } catch (InvalidJwtAuthenticationException ex) {
             SecurityContextHolder.clearContext();
@@ -1,7 +1,11 @@
 package app.ecosynergy.api.security.jwt;
 
+import app.ecosynergy.api.data.projection.UserSnapshot;
 import app.ecosynergy.api.data.vo.v1.security.TokenVO;
 import app.ecosynergy.api.exceptions.InvalidJwtAuthenticationException;
+import app.ecosynergy.api.security.AuthenticatedUser;
+import app.ecosynergy.api.security.SecurityProperties;
+import app.ecosynergy.api.services.UserSnapshotCache;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
@@ -14,41 +18,47 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.nio.ByteBuffer;
 import java.util.Base64;
 import java.util.Date;
 import java.util.List;
 
 @Service
 public class JwtTokenProvider {
-    private final UserDetailsService userDetailsService;
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String TOKEN_VERSION_CLAIM = "ver";
+
+    private final UserSnapshotCache userSnapshotCache;
+    private final VerifiedTokenCache verifiedTokens;
     Algorithm algorithm = null;
+    private JWTVerifier verifier;
     @Value("${security.jwt.token.secret-key:default}")
     private String secretKey = "secret";
     @Value("${security.jwt.token.expire-length:default}")
     private long validityInMilliseconds = 3600000; // 1h
 
-    public JwtTokenProvider(UserDetailsService userDetailsService) {
-        this.userDetailsService = userDetailsService;
+    public JwtTokenProvider(UserSnapshotCache userSnapshotCache, SecurityProperties securityProperties) {
+        this.userSnapshotCache = userSnapshotCache;
+        this.verifiedTokens = new VerifiedTokenCache(securityProperties.getTokenCacheSize());
     }
 
     @PostConstruct
     protected void init() {
         secretKey = Base64.getEncoder().encodeToString(secretKey.getBytes());
         algorithm = Algorithm.HMAC256(secretKey.getBytes());
+        verifier = JWT.require(algorithm).build();
     }
 
-    public TokenVO createAccessToken(String username, List<String> roles) {
+    public TokenVO createAccessToken(Long userId, String username, List<String> roles, int tokenVersion) {
         Date now = new Date();
         Date validity = new Date(now.getTime() + validityInMilliseconds);
 
-        String accessToken = getAccessToken(username, roles, now, validity);
-        String refreshToken = getRefreshToken(username, roles, now);
+        String accessToken = getAccessToken(userId, username, roles, tokenVersion, now, validity);
+        String refreshToken = getRefreshToken(userId, username, roles, tokenVersion, now);
 
         return new TokenVO(username, true, now, validity, accessToken, refreshToken);
     }
@@ -61,16 +71,19 @@ public class JwtTokenProvider {
         String username = decodedJWT.getSubject();
         List<String> roles = decodedJWT.getClaim("roles").asList(String.class);
 
-        return createAccessToken(username, roles);
+        UserSnapshot user = findUser(decodedJWT);
+        return createAccessToken(user.id(), username, roles, user.tokenVersion());
     }
 
-    private String getAccessToken(String username, List<String> roles, Date now, Date validity) {
+    private String getAccessToken(Long userId, String username, List<String> roles, int tokenVersion, Date now, Date validity) {
         String issuerUrl = ServletUriComponentsBuilder
                 .fromCurrentContextPath()
                 .build()
                 .toUriString();
 
         return JWT.create()
+                .withClaim(USER_ID_CLAIM, userId)
+                .withClaim(TOKEN_VERSION_CLAIM, tokenVersion)
                 .withClaim("roles", roles)
                 .withIssuedAt(now)
                 .withExpiresAt(validity)
@@ -80,9 +93,11 @@ public class JwtTokenProvider {
                 .strip();
     }
 
-    private String getRefreshToken(String username, List<String> roles, Date now) {
+    private String getRefreshToken(Long userId, String username, List<String> roles, int tokenVersion, Date now) {
         Date validityRefreshToken = new Date(now.getTime() + (validityInMilliseconds * 3)); // 3h
         return JWT.create()
+                .withClaim(USER_ID_CLAIM, userId)
+                .withClaim(TOKEN_VERSION_CLAIM, tokenVersion)
                 .withClaim("roles", roles)
                 .withIssuedAt(now)
                 .withExpiresAt(validityRefreshToken)
@@ -91,22 +106,41 @@ public class JwtTokenProvider {
                 .strip();
     }
 
+    /**
+     * Verifies the token and builds an {@link AuthenticatedUser} from its claims. The only lookup is the
+     * cached check that the user still exists under the token's username and has not revoked the token.
+     */
     public Authentication getAuthentication(String token) {
-        try {
-            DecodedJWT decodedJWT = decodedToken(token);
-            UserDetails userDetails = this.userDetailsService
-                    .loadUserByUsername(decodedJWT.getSubject());
+        DecodedJWT decodedJWT = verifiedToken(token);
+        UserSnapshot user = findUser(decodedJWT);
 
-            return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
-        } catch (UsernameNotFoundException e) {
-            throw new InvalidJwtAuthenticationException(e.getMessage());
-        }
+        List<String> roles = decodedJWT.getClaim("roles").asList(String.class);
+        if (roles == null) roles = List.of();
+
+        AuthenticatedUser principal = new AuthenticatedUser(user.id(), user.userName(), roles);
+        return new UsernamePasswordAuthenticationToken(principal, "", roles.stream().map(SimpleGrantedAuthority::new).toList());
     }
 
-    public DecodedJWT decodedToken(String token) {
-        Algorithm alg = Algorithm.HMAC256(secretKey.getBytes());
-        JWTVerifier verifier = JWT.require(alg).build();
+    /**
+     * Tokens issued before the user id claim existed are resolved by username instead. A token is revoked
+     * once its version is behind the user's, see {@code UserService.revokeTokens}; tokens without a
+     * version count as version 0.
+     */
+    private UserSnapshot findUser(DecodedJWT decodedJWT) {
+        String username = decodedJWT.getSubject();
+        Long userId = decodedJWT.getClaim(USER_ID_CLAIM).asLong();
+
+        UserSnapshot user = (userId != null ? userSnapshotCache.find(userId) : userSnapshotCache.findByUserName(username))
+                .filter(u -> u.userName().equals(username))
+                .orElseThrow(() -> new InvalidJwtAuthenticationException("Username " + username + " not found!"));
 
+        Integer tokenVersion = decodedJWT.getClaim(TOKEN_VERSION_CLAIM).asInt();
+        if ((tokenVersion == null ? 0 : tokenVersion) != user.tokenVersion()) throw new InvalidJwtAuthenticationException("Token has been revoked");
+
+        return user;
+    }
+
+    public DecodedJWT decodedToken(String token) {
         try {
             return verifier.verify(token);
         } catch (SignatureVerificationException e) {
@@ -136,9 +170,24 @@ public class JwtTokenProvider {
     }
 
     public boolean validateToken(String token) {
+        return verifiedToken(token) != null;
+    }
+
+    /**
+     * Verifies the signature and expiry of a token, at most once per token while it is valid.
+     */
+    private DecodedJWT verifiedToken(String token) {
+        ByteBuffer key = VerifiedTokenCache.keyOf(token);
+
+        DecodedJWT cached = verifiedTokens.get(key);
+        if (cached != null) return cached;
+
         try {
             DecodedJWT decodedJWT = decodedToken(token);
-            return !decodedJWT.getExpiresAt().before(new Date());
+            if (decodedJWT.getExpiresAt().before(new Date())) throw new InvalidJwtAuthenticationException("Token has expired");
+
+            verifiedTokens.put(key, decodedJWT);
+            return decodedJWT;
         } catch (TokenExpiredException e) {
             throw new InvalidJwtAuthenticationException("Token has expired");
         }
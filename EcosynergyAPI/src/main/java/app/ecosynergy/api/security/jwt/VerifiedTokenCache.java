@@ -0,0 +1,59 @@
+package app.ecosynergy.api.security.jwt;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers tokens whose signature has already been verified, keyed by the SHA-256 of the token so the
+ * bearer strings themselves are not kept. An entry is dropped once its token expires; when the cache is full,
+ * expired entries are purged and new tokens are not cached until there is room again.
+ */
+final class VerifiedTokenCache {
+    private final int maxEntries;
+    private final Map<ByteBuffer, Entry> tokens = new ConcurrentHashMap<>();
+
+    VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    static ByteBuffer keyOf(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    DecodedJWT get(ByteBuffer key) {
+        if (maxEntries <= 0) return null;
+
+        Entry entry = tokens.get(key);
+        if (entry == null) return null;
+
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            tokens.remove(key, entry);
+            return null;
+        }
+        return entry.token;
+    }
+
+    void put(ByteBuffer key, DecodedJWT token) {
+        if (maxEntries <= 0 || token.getExpiresAt() == null) return;
+
+        if (tokens.size() >= maxEntries) {
+            long now = System.currentTimeMillis();
+            tokens.values().removeIf(entry -> entry.expiresAt <= now);
+            if (tokens.size() >= maxEntries) return;
+        }
+        tokens.put(key, new Entry(token, token.getExpiresAt().getTime()));
+    }
+
+    private record Entry(DecodedJWT token, long expiresAt) {
+    }
+}
@@ -8,13 +8,13 @@ import app.ecosynergy.api.exceptions.InvalidUserDataException;
 import app.ecosynergy.api.exceptions.RequiredObjectIsNullException;
 import app.ecosynergy.api.exceptions.ResourceAlreadyExistsException;
 import app.ecosynergy.api.exceptions.ResourceNotFoundException;
+import app.ecosynergy.api.exceptions.ServiceUnavailableException;
 import app.ecosynergy.api.mapper.DozerMapper;
 import app.ecosynergy.api.models.User;
 import app.ecosynergy.api.repositories.NotificationPreferenceRepository;
 import app.ecosynergy.api.repositories.UserRepository;
 import app.ecosynergy.api.security.jwt.JwtTokenProvider;
 import app.ecosynergy.api.util.ConfirmationCodeGenerator;
-import app.ecosynergy.api.util.PasswordUtils;
 import app.ecosynergy.api.util.UserPreferenceUtils;
 import app.ecosynergy.api.util.ValidationUtils;
 import jakarta.mail.MessagingException;
@@ -25,6 +25,7 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.logging.Logger;
@@ -39,16 +40,20 @@ public class AuthService {
     private final UserRepository repository;
     private final EmailService emailService;
     private final NotificationPreferenceRepository notificationPreferenceRepository;
+    private final UserService userService;
+    private final PasswordEncoder passwordEncoder;
 
     private final Logger logger = Logger.getLogger(this.getClass().getName());
 
     @Autowired
-    public AuthService(@Lazy JwtTokenProvider tokenProvider, AuthenticationManager authenticationManager, UserRepository repository, EmailService emailService, NotificationPreferenceRepository notificationPreferenceRepository) {
+    public AuthService(@Lazy JwtTokenProvider tokenProvider, AuthenticationManager authenticationManager, UserRepository repository, EmailService emailService, NotificationPreferenceRepository notificationPreferenceRepository, UserService userService, PasswordEncoder passwordEncoder) {
         this.tokenProvider = tokenProvider;
         this.authenticationManager = authenticationManager;
         this.repository = repository;
         this.emailService = emailService;
         this.notificationPreferenceRepository = notificationPreferenceRepository;
+        this.userService = userService;
+        this.passwordEncoder = passwordEncoder;
     }
 
     public ResponseEntity<?> signIn(AccountCredentialsVO data) {
@@ -72,17 +77,20 @@ public class AuthService {
             }
 
             var tokenResponse = new TokenVO();
-            tokenResponse = tokenProvider.createAccessToken(user.getUserName(), user.getRoles());
+            tokenResponse = tokenProvider.createAccessToken(user.getId(), user.getUserName(), user.getRoles(), user.getTokenVersion());
 
             return ResponseEntity.ok(tokenResponse);
 
+        } catch (ServiceUnavailableException e) {
+            // The password could not be checked at all, so the credentials are not known to be wrong
+            throw e;
         } catch (Exception e) {
             logger.warning(e.getMessage());
             throw new BadCredentialsException("Invalid username/email or password supplied!");
         }
     }
 
-    public UserVO signUp(UserVO user) throws MessagingException {
+    public UserVO signUp(UserVO user) {
         String currentPassword = user.getPassword();
 
         if(!ValidationUtils.isValidEmail(user.getEmail())){
@@ -95,7 +103,7 @@ public class AuthService {
 
         user.setFullName(ValidationUtils.formatFullName(user.getFullName()));
         user.setUserName(user.getUserName().toLowerCase());
-        user.setPassword(PasswordUtils.passwordEncode(currentPassword));
+        user.setPassword(passwordEncoder.encode(currentPassword));
         user.setEnabled(true);
         user.setAccountNonExpired(true);
         user.setAccountNonLocked(true);
@@ -138,6 +146,13 @@ public class AuthService {
         return ResponseEntity.ok(tokenResponse);
     }
 
+    /**
+     * Signs the current user out of every device by revoking all of their tokens.
+     */
+    public void logout() {
+        userService.revokeTokens(userService.getCurrentUserId());
+    }
+
     public String sendConfirmationCode(String email) throws MessagingException {
         if (!ValidationUtils.isValidEmail(email)) throw new InvalidUserDataException("Invalid email format");
 
@@ -161,9 +176,10 @@ public class AuthService {
 
         User entity = repository.findByEmail(user.getEmail());
 
-        entity.setPassword(PasswordUtils.passwordEncode(user.getPassword()));
+        entity.setPassword(passwordEncoder.encode(user.getPassword()));
 
         UserVO vo = DozerMapper.parseObject(repository.save(entity), UserVO.class);
+        userService.revokeTokens(entity.getId());
         vo.add(linkTo(methodOn(UserController.class).findById(vo.getKey())).withSelfRel());
 
         return vo;
@@ -1,23 +1,58 @@
 package app.ecosynergy.api.services;
 
+import app.ecosynergy.api.exceptions.ServiceUnavailableException;
 import app.ecosynergy.api.models.Invite;
 import app.ecosynergy.api.models.User;
+import app.ecosynergy.api.services.email.EmailTemplate;
+import app.ecosynergy.api.services.email.EmailTemplateRenderer;
+import app.ecosynergy.api.services.email.MailUnavailableException;
+import app.ecosynergy.api.services.email.SmtpMailSender;
+import app.ecosynergy.api.services.outbox.OutboxService;
 import app.ecosynergy.api.util.ValidationUtils;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Map;
+
 @Service
 public class EmailService {
 
     @Autowired
-    private JavaMailSender mailSender;
+    private SmtpMailSender smtpMailSender;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private EmailTemplateRenderer templateRenderer;
 
+    /**
+     * Sends an email right away, on the caller's thread. Fails fast with {@link ServiceUnavailableException}
+     * while the SMTP server is unreachable; emails nobody waits for should go through the outbox instead.
+     */
     public void sendEmail(String to, String subject, String htmlContent, String preHeader) throws MessagingException {
-        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        try {
+            smtpMailSender.send(createEmail(to, subject, htmlContent, preHeader));
+        } catch (MailUnavailableException e) {
+            throw new ServiceUnavailableException("Email delivery is temporarily unavailable, please retry later");
+        }
+    }
+
+    /**
+     * Sends several emails over pooled SMTP connections.
+     *
+     * @return the emails that could not be sent, with the reason
+     */
+    public Map<MimeMessage, MessagingException> sendEmails(List<MimeMessage> emails) {
+        return smtpMailSender.sendAll(emails);
+    }
+
+    public MimeMessage createEmail(String to, String subject, String htmlContent, String preHeader) throws MessagingException {
+        MimeMessage mimeMessage = smtpMailSender.createMimeMessage();
         mimeMessage.addHeader("X-Pre-Header", preHeader);
         MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, "utf-8");
 
@@ -26,64 +61,22 @@ public class EmailService {
         helper.setSubject(subject);
         helper.setFrom("noreply@ecosynergybr.com");
 
-        mailSender.send(mimeMessage);
+        return mimeMessage;
     }
 
     public void sendConfirmationEmail(String recipientEmail, String name, String code) throws MessagingException {
         String subject = "Seu código de confirmação de e-mail da sua conta Ecosynergy é: " + code;
         String preHeader = "Seu código de confirmação do e-mail da sua conta Ecosynergy é: " + code;
 
-        String htmlContent = "<html>\n" +
-                "<head>\n" +
-                "    <meta charset=\"UTF-8\">\n" +
-                "    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">\n" +
-                "    <title>Email de Confirmação Ecosynergy</title>\n" +
-                "    <link href=\"https://fonts.googleapis.com/css2?family=Poppins:wght@300;400;600&display=swap\" rel=\"stylesheet\">\n" +
-                "</head>\n" +
-                "<body style=\"margin: 0; padding: 0; background-color: #f9f9f9; font-family: 'Poppins', sans-serif;\">\n" +
-                "    <table style=\"width: 100%; background-color: #f9f9f9; padding: 20px; text-align: center;\">\n" +
-                "        <tr>\n" +
-                "            <td style=\"text-align: center;\">\n" +
-                "                <table style=\"max-width: 600px; width: 100%; background-color: #ffffff; padding: 20px; border-radius: 8px; box-shadow: 0 2px 4px rgba(0, 0, 0, 0.1); margin: 0 auto; text-align: start;\">\n" +
-                "                    <tr>\n" +
-                "                        <td style=\"padding: 20px 0; text-align: center;\">\n" +
-                "                            <img src=\"https://github.com/Ecosynergy/VisualIdentity/blob/master/Logo_Symbol_Transparent_Wtih_Shine.png?raw=true\" alt=\"Logo Ecosynergy\" style=\"max-width: 200px; height: auto; display: block; margin: 0 auto;\">\n" +
-                "                        </td>\n" +
-                "                    </tr>\n" +
-                "                    <tr>\n" +
-                "                        <td style=\"padding: 20px; font-size: 16px; line-height: 24px; color: #333333;\">\n" +
-                "                            <p style=\"margin: 0 0 15px;\"><i>Olá, " + ValidationUtils.formatFullName(name.split(" ")[0]) + ".</i></p>\n" +
-                "                            <p style=\"margin: 0 0 15px;\">Nós recebemos uma solicitação de um código de uso único para sua conta Ecosynergy.</p>\n" +
-                "                            <p style=\"margin: 0 0 15px;\"><i>Verifique os detalhes da sessão para garantir que tenha sido você.</i></p>\n" +
-                "                            <table style=\"width: 100%; background-color: #e2e1e1; padding: 20px; margin: 20px 0; border-radius: 6px; text-align: center;\">\n" +
-                "                                <tr>\n" +
-                "                                    <td>\n" +
-                "                                        <p style=\"margin: 0; font-size: 16px; font-weight: 600;\">Seu código de confirmação é:</p>\n" +
-                "                                        <h2 style=\"margin: 10px 0; font-size: 50px; font-weight: 400; color: #333333;\">" + code + "</h2>\n" +
-                "                                    </td>\n" +
-                "                                </tr>\n" +
-                "                            </table>\n" +
-                "                            <p style=\"margin: 0 0 15px;\"><i>Insira este código para verificar seu email e ativar sua conta no sistema Ecosynergy.</i></p>\n" +
-                "                            <p style=\"margin: 0 0 15px;\">A partir da verificação, você poderá explorar todas as funcionalidades da nossa plataforma, garantindo segurança e confiabilidade em suas operações.</p>\n" +
-                "                            <p style=\"margin: 0 0 15px; font-size: 14px; color: #555555;\">Se você não solicitou este código, ignore este email.</p>\n" +
-                "                        </td>\n" +
-                "                    </tr>\n" +
-                "                    <tr>\n" +
-                "                        <td style=\"padding: 20px; font-size: 14px; color: #777777; text-align: center;\">\n" +
-                "                            <p style=\"margin: 0;\">Atenciosamente,<br><strong>Ecosynergy</strong></p>\n" +
-                "                        </td>\n" +
-                "                    </tr>\n" +
-                "                </table>\n" +
-                "            </td>\n" +
-                "        </tr>\n" +
-                "    </table>\n" +
-                "</body>\n" +
-                "</html>";
+        String htmlContent = templateRenderer.render(EmailTemplate.CONFIRMATION, Map.of(
+                "firstName", ValidationUtils.formatFullName(name.split(" ")[0]),
+                "code", code
+        ));
 
         sendEmail(recipientEmail, subject, htmlContent,  preHeader);
     }
 
-    public void sendWelcomeEmail(User user) throws MessagingException {
+    public void sendWelcomeEmail(User user) {
         String saudation = switch (user.getGender().toLowerCase()) {
             case "female" -> "bem-vinda";
             case "male" -> "bem-vindo";
@@ -93,293 +86,49 @@ public class EmailService {
         String subject = "Seja " + saudation + " ao Ecosynergy!";
         String preHeader = "Veja como aproveitar ao máximo a nossa plataforma.";
 
-        String htmlContent = "<html>\n" +
-                "<head>\n" +
-                "    <meta charset=\"UTF-8\">\n" +
-                "    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">\n" +
-                "    <title>Email de Boas Vindas Ecosynergy</title>\n" +
-                "</head>\n" +
-                "<body style=\"margin: 0; padding: 0; background-color: #f9f9f9; font-family: 'Poppins', sans-serif;\">\n" +
-                "    <table style=\"width: 100%;background-color: #f9f9f9; padding: 20px; text-align: center;\">\n" +
-                "        <tr>\n" +
-                "            <td style=\"text-align: center\">\n" +
-                "                <table style=\"width: 600px; max-width: 600px; width: 100%; background-color: #ffffff; padding: 20px; border-radius: 8px; box-shadow: 0 2px 4px rgba(0, 0, 0, 0.1); text-align: start; border: none;\">\n" +
-                "                    <tr>\n" +
-                "                        <td style=\"padding: 20px 0; text-align: center\">\n" +
-                "                            <img src=\"https://github.com/Ecosynergy/VisualIdentity/blob/master/Logo_Symbol_Transparent_Wtih_Shine.png?raw=true\" alt=\"Logo Ecosynergy\" style=\"max-width: 200px; height: auto;\">\n" +
-                "                        </td>\n" +
-                "                    </tr>\n" +
-                "                    <tr>\n" +
-                "                        <td style=\"padding: 20px; font-size: 16px; line-height: 24px; color: #333333;\">\n" +
-                "                            <p style=\"margin: 0 0 20px;\">Olá, " + user.getFullName().split(" ")[0] + ".</p>\n" +
-                "                            <h1 style=\"margin: 0 0 20px; font-size: 22px; font-weight: 600;\">\n" +
-                "                                Parabéns e seja bem-vindo à plataforma Ecosynergy!\n" +
-                "                            </h1>\n" +
-                "                            <p style=\"margin: 0 0 20px; font-size: 16px;\">\n" +
-                "                                Estamos animados por você se juntar a nós na missão de tornar o ambiente industrial mais sustentável.\n" +
-                "                            </p>\n" +
-                "                            <p style=\"margin: 0 0 20px; font-size: 16px;\">\n" +
-                "                                Para garantir que você aproveite ao máximo todas as funcionalidades do Ecosynergy, aqui estão algumas dicas importantes:\n" +
-                "                            </p>\n" +
-                "                            <div style=\"background-color: #e2e1e1; padding: 20px; margin: 20px 0; border-radius: 6px;\">\n" +
-                "                                <p style=\"margin: 0; font-size: 16px; font-weight: 600;\">Dicas para começar:</p>\n" +
-                "                                <ol style=\"margin: 10px 0 0 20px; padding: 0; color: #555555;\">\n" +
-                "                                    <li style=\"margin: 10px 0;\">\n" +
-                "                                        <p style=\"margin: 0; font-size: 14px;\">\n" +
-                "                                            <strong>Explore as Ferramentas:</strong> Entenda as ferramentas que vão te ajudar a monitorar emissões, acompanhar projetos e otimizar o desempenho ambiental.\n" +
-                "                                        </p>\n" +
-                "                                    </li>\n" +
-                "                                    <li style=\"margin: 10px 0;\">\n" +
-                "                                        <p style=\"margin: 0; font-size: 14px;\">\n" +
-                "                                            <strong>Comunicação:</strong> Utilize a plataforma para facilitar a comunicação entre os membros da equipe.\n" +
-                "                                        </p>\n" +
-                "                                    </li>\n" +
-                "                                    <li style=\"margin: 10px 0;\">\n" +
-                "                                        <p style=\"margin: 0; font-size: 14px;\">\n" +
-                "                                            <strong>Defina Metas:</strong> Acompanhe as metas do projeto para garantir que os resultados sustentáveis sejam alcançados de forma eficiente.\n" +
-                "                                        </p>\n" +
-                "                                    </li>\n" +
-                "                                </ol>\n" +
-                "                            </div>\n" +
-                "                            <h1 style=\"margin: 0 0 20px; font-size: 22px; font-weight: 600;\">\n" +
-                "                                Estamos ansiosos para ver o impacto positivo que você terá nessa nova etapa!\n" +
-                "                            </h1>\n" +
-                "                            <p style=\"margin: 0; font-size: 16px;\">\n" +
-                "                                <i>Se precisar de qualquer ajuda, nossa equipe de suporte está à disposição.</i>\n" +
-                "                            </p>\n" +
-                "                        </td>\n" +
-                "                    </tr>\n" +
-                "                    <tr>\n" +
-                "                        <td style=\"padding: 20px; font-size: 14px; color: #777777; text-align: center;\">\n" +
-                "                            <p style=\"margin: 0;\">Atenciosamente,<br><strong>Ecosynergy</strong></p>\n" +
-                "                        </td>\n" +
-                "                    </tr>\n" +
-                "                </table>\n" +
-                "            </td>\n" +
-                "        </tr>\n" +
-                "    </table>\n" +
-                "</body>\n" +
-                "</html>";
+        String htmlContent = templateRenderer.render(EmailTemplate.WELCOME, Map.of(
+                "firstName", user.getFullName().split(" ")[0]
+        ));
 
-        sendEmail(user.getEmail(), subject, htmlContent, preHeader);
+        outboxService.enqueueEmail(user.getEmail(), subject, htmlContent, preHeader);
     }
 
-    public void sendInviteEmail(Invite invite) throws MessagingException {
+    public void sendInviteEmail(Invite invite) {
         String subject = "Você foi convidado para se juntar à equipe " + invite.getTeam().getName() + ".";
         String preHeader = "Confira o convite e veja como participar da equipe.";
 
-        String text = "<html>\n" +
-                "<head>\n" +
-                "    <meta charset=\"UTF-8\">\n" +
-                "    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">\n" +
-                "    <title>Email de Envio de Convite Ecosynergy</title>\n" +
-                "    <link href=\"https://fonts.googleapis.com/css2?family=Poppins:wght@300;400;600&display=swap\" rel=\"stylesheet\">\n" +
-                "</head>\n" +
-                "<body style=\"margin: 0; padding: 0; background-color: #f9f9f9; font-family: 'Poppins', sans-serif;\">\n" +
-                "    <table style=\"width: 100%; background-color: #f9f9f9; padding: 20px; text-align: center;\">\n" +
-                "        <tr>\n" +
-                "            <td style=\"text-align: center;\">\n" +
-                "                <table style=\"max-width: 600px; width: 100%; background-color: #ffffff; padding: 20px; border-radius: 8px; box-shadow: 0 2px 4px rgba(0, 0, 0, 0.1); margin: 0 auto; text-align: start;\">\n" +
-                "                    <tr>\n" +
-                "                        <td style=\"padding: 20px 0; text-align: center;\">\n" +
-                "                            <img src=\"https://github.com/Ecosynergy/VisualIdentity/blob/master/Logo_Symbol_Transparent_Wtih_Shine.png?raw=true\" alt=\"Logo Ecosynergy\" style=\"max-width: 200px; height: auto; display: block; margin: 0 auto;\">\n" +
-                "                        </td>\n" +
-                "                    </tr>\n" +
-                "                    <tr>\n" +
-                "                        <td style=\"padding: 20px; font-size: 16px; line-height: 24px; color: #333333;\">\n" +
-                "                            <p style=\"margin: 0 0 15px;\"><i>Olá, " + invite.getRecipient().getFullName().split(" ")[0] + ".</i></p>\n" +
-                "                            <h1 style=\"margin: 0 0 20px; font-size: 22px; font-weight: 400; color: #333333; font-weight: bold;\">\n" +
-                "                                Você foi convidado para se juntar à equipe " + invite.getTeam().getName() + " no Ecosynergy.\n" +
-                "                            </h1>\n" +
-                "                            <p style=\"margin: 0 0 15px;\">A equipe está aguardando sua resposta para iniciar a colaboração.</p>\n" +
-                "                            <table style=\"width: 100%; background-color: #e2e1e1; padding: 20px; margin: 20px 0; border-radius: 6px; text-align: start;\">\n" +
-                "                                <tr>\n" +
-                "                                    <td>\n" +
-                "                                        <p style=\"margin: 0; font-size: 16px;\">\n" +
-                "                                            Se você ainda não conhece o\n" +
-                "                                            <strong>Ecosynergy</strong>, somos uma solução de\n" +
-                "                                            monitoramento ambiental dedicada a\n" +
-                "                                            ajudar empresas a reduzir suas\n" +
-                "                                            emissões e tomar o ambiente industrial\n" +
-                "                                            mais sustentável.\n" +
-                "                                        </p>\n" +
-                "                                        <p style=\"margin: 10px 0; font-size: 16px;\">\n" +
-                "                                            A equipe " + invite.getTeam().getName() + " acredita que,<br>\n" +
-                "                                            juntos, podemos contribuir para um<br>\n" +
-                "                                            futuro mais verde e responsável.\n" +
-                "                                        </p>\n" +
-                "                                    </td>\n" +
-                "                                </tr>\n" +
-                "                            </table>\n" +
-                "                            <p style=\"margin: 0 0 15px;\">Quando estiver pronto, clique no botão abaixo para aceitar ou recusar o convite:</p>\n" +
-                "                            <table style=\"width: 100%; margin: 20px 0;\">\n" +
-                "                                <tr>\n" +
-                "                                    <td style=\"text-align: center;\">\n" +
-                "                                        <a href=\"http://ec2-44-220-83-117.compute-1.amazonaws.com/redirect/home/\" style=\"display: inline-block; padding: 10px 20px; font-size: 16px; color: #000; background-color: #28a745; text-decoration: none; border-radius: 5px; font-family: 'Poppins', sans-serif; text-align: center; font-weight: 600; cursor: pointer\">\n" +
-                "                                            ACESSAR PLATAFORMA ECOSYNERGY\n" +
-                "                                        </a>\n" +
-                "                                    </td>\n" +
-                "                                </tr>\n" +
-                "                            </table>\n" +
-                "                        </td>\n" +
-                "                    </tr>\n" +
-                "                    <tr>\n" +
-                "                        <td style=\"padding: 20px; font-size: 14px; color: #777777; text-align: center;\">\n" +
-                "                            <p style=\"margin: 0;\">Atenciosamente,<br><strong>Ecosynergy</strong></p>\n" +
-                "                        </td>\n" +
-                "                    </tr>\n" +
-                "                </table>\n" +
-                "            </td>\n" +
-                "        </tr>\n" +
-                "    </table>\n" +
-                "</body>\n" +
-                "</html>";
-        sendEmail(invite.getRecipient().getEmail(), subject, text, preHeader);
+        String htmlContent = templateRenderer.render(EmailTemplate.INVITE, Map.of(
+                "recipientFirstName", invite.getRecipient().getFullName().split(" ")[0],
+                "teamName", invite.getTeam().getName()
+        ));
+
+        outboxService.enqueueEmail(invite.getRecipient().getEmail(), subject, htmlContent, preHeader);
     }
 
-    public void sendInviteAcceptedNotification(Invite invite) throws MessagingException {
+    public void sendInviteAcceptedNotification(Invite invite) {
         String subject = "Convite para a equipe " + invite.getTeam().getName() + " aceito.";
         String preHeader = "";
 
-        String htmlContent = "<html>\n" +
-                "<head>\n" +
-                "    <meta charset=\"UTF-8\">\n" +
-                "    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">\n" +
-                "    <title>Email Ecosynergy</title>\n" +
-                "</head>\n" +
-                "<body style=\"margin: 0; padding: 0; background-color: #f9f9f9; font-family: 'Poppins', sans-serif;\">\n" +
-                "    <table cellpadding=\"0\" cellspacing=\"0\" width=\"100%\" style=\"background-color: #f9f9f9; padding: 20px; text-align: center; border: none;\">\n" +
-                "        <tr>\n" +
-                "            <td style=\"text-align: center\">\n" +
-                "                <table cellpadding=\"0\" cellspacing=\"0\" width=\"600\" style=\"max-width: 600px; width: 100%; background-color: #ffffff; padding: 20px; border-radius: 8px; box-shadow: 0 2px 4px rgba(0, 0, 0, 0.1); text-align: start; border: none;\">\n" +
-                "                    <tr>\n" +
-                "                        <td style=\"padding: 20px 0; text-align: center\">\n" +
-                "                            <img src=\"https://github.com/Ecosynergy/VisualIdentity/blob/master/Logo_Symbol_Transparent_Wtih_Shine.png?raw=true\" alt=\"Logo Ecosynergy\" style=\"max-width: 200px; height: auto;\">\n" +
-                "                        </td>\n" +
-                "                    </tr>\n" +
-                "                    <tr>\n" +
-                "                        <td style=\"padding: 20px; font-size: 16px; line-height: 24px; color: #333333;\">\n" +
-                "                            <p style=\"margin: 0 0 20px;\">Olá, <strong>" + invite.getSender().getFullName().split(" ")[0] + "</strong>.</p>\n" +
-                "                            <h1 style=\"margin: 0 0 20px; font-size: 22px; font-weight: 400; color: #333333;\">\n" +
-                "                                Informamos que <strong>" + invite.getRecipient().getFullName() + "</strong> aceitou seu convite para se juntar à equipe <strong>" + invite.getTeam().getName() + "</strong> no Ecosynergy.\n" +
-                "                            </h1>\n" +
-                "                            <p style=\"margin: 0 0 20px; font-size: 16px; color: #555555;\">\n" +
-                "                                <i>Agora que a equipe está completa, vocês poderão colaborar de forma eficaz e aproveitar ao máximo as ferramentas que nossa plataforma oferece para monitorar emissões.</i>\n" +
-                "                            </p>\n" +
-                "                            <div style=\"background-color: #e2e1e1; padding: 20px; margin: 20px 0; border-radius: 6px;\">\n" +
-                "                                <p style=\"margin: 0; font-size: 16px; font-weight: 600;\">Dicas para começar:</p>\n" +
-                "                                <ol style=\"margin: 10px 0 0 20px; padding: 0; color: #555555;\">\n" +
-                "                                    <li style=\"margin: 10px 0;\">\n" +
-                "                                        <p style=\"margin: 0; font-size: 14px;\">\n" +
-                "                                            <strong>Explore as Ferramentas:</strong> Familiarize-se com as funcionalidades do Ecosynergy.\n" +
-                "                                        </p>\n" +
-                "                                    </li>\n" +
-                "                                    <li style=\"margin: 10px 0;\">\n" +
-                "                                        <p style=\"margin: 0; font-size: 14px;\">\n" +
-                "                                            <strong>Comunicação:</strong> Utilize a plataforma para facilitar a comunicação entre os membros da equipe.\n" +
-                "                                        </p>\n" +
-                "                                    </li>\n" +
-                "                                    <li style=\"margin: 10px 0;\">\n" +
-                "                                        <p style=\"margin: 0; font-size: 14px;\">\n" +
-                "                                            <strong>Defina Metas:</strong> Estabeleça metas claras para o projeto.\n" +
-                "                                        </p>\n" +
-                "                                    </li>\n" +
-                "                                </ol>\n" +
-                "                            </div>\n" +
-                "                            <p style=\"margin: 0; font-size: 16px; color: #555555;\">\n" +
-                "                                <i>Se você ou a equipe tiverem alguma dúvida ou precisarem de suporte, não hesitem em entrar em contato com nossa equipe de suporte.</i>\n" +
-                "                            </p>\n" +
-                "                        </td>\n" +
-                "                    </tr>\n" +
-                "                    <tr>\n" +
-                "                        <td style=\"padding: 20px; font-size: 14px; color: #777777; text-align: center;\">\n" +
-                "                            <p style=\"margin: 0;\">Atenciosamente,<br><strong>Ecosynergy</strong></p>\n" +
-                "                        </td>\n" +
-                "                    </tr>\n" +
-                "                </table>\n" +
-                "            </td>\n" +
-                "        </tr>\n" +
-                "    </table>\n" +
-                "</body>\n" +
-                "</html>";
+        String htmlContent = templateRenderer.render(EmailTemplate.INVITE_ACCEPTED, Map.of(
+                "senderFirstName", invite.getSender().getFullName().split(" ")[0],
+                "recipientFullName", invite.getRecipient().getFullName(),
+                "teamName", invite.getTeam().getName()
+        ));
 
-        sendEmail(invite.getSender().getEmail(), subject, htmlContent, preHeader);
+        outboxService.enqueueEmail(invite.getSender().getEmail(), subject, htmlContent, preHeader);
     }
 
-    public void sendInviteRejectedNotification(Invite invite) throws MessagingException {
+    public void sendInviteRejectedNotification(Invite invite) {
         String subject = "Convite para equipe " + invite.getTeam().getName() + " recusado";
         String preHeader = "";
 
-        String htmlContent = "<html>\n" +
-                "<head>\n" +
-                "    <meta charset=\"UTF-8\">\n" +
-                "    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">\n" +
-                "    <title>Email Ecosynergy</title>\n" +
-                "    <link href=\"https://fonts.googleapis.com/css2?family=Poppins:wght@300;400;600&display=swap\" rel=\"stylesheet\">\n" +
-                "</head>\n" +
-                "<body style=\"margin: 0; padding: 0; background-color: #f9f9f9; font-family: 'Poppins', sans-serif;\">\n" +
-                "    <table style=\"width: 100%; background-color: #f9f9f9; padding: 20px; text-align: center;\">\n" +
-                "        <tr>\n" +
-                "            <td style=\"text-align: center;\">\n" +
-                "                <table style=\"max-width: 600px; width: 100%; background-color: #ffffff; padding: 20px; border-radius: 8px; box-shadow: 0 2px 4px rgba(0, 0, 0, 0.1); margin: 0 auto; text-align: center;\">\n" +
-                "                    <tr>\n" +
-                "                        <td style=\"padding: 20px 0; text-align: center;\">\n" +
-                "                            <img src=\"https://github.com/Ecosynergy/VisualIdentity/blob/master/Logo_Symbol_Transparent_Wtih_Shine.png?raw=true\" alt=\"Logo Ecosynergy\" style=\"max-width: 200px; height: auto; display: block; margin: 0 auto;\">\n" +
-                "                        </td>\n" +
-                "                    </tr>\n" +
-                "                    <tr>\n" +
-                "                        <td style=\"padding: 20px; font-size: 16px; line-height: 24px; color: #333333; text-align: start;\">\n" +
-                "                            <p style=\"margin: 0 0 20px;\">Olá, <strong>" + invite.getSender().getFullName().split(" ")[0] + "</strong>.</p>\n" +
-                "                            <h1 style=\"margin: 0 0 20px; font-size: 22px; font-weight: 400; color: #333333;\">\n" +
-                "                                Informamos que <strong>" + invite.getRecipient().getFullName() + "</strong> recusou seu convite para se juntar à equipe <strong>Ecosynergy</strong> no Ecosynergy.\n" +
-                "                            </h1>\n" +
-                "                            <p style=\"margin: 0 0 20px; font-size: 16px; color: #555555;\">\n" +
-                "                                <i>Entendemos que essa decisão pode ser inesperada, e queremos garantir que você tenha todas as informações necessárias para seguir em frente.</i>\n" +
-                "                            </p>\n" +
-                "                            <table style=\"width: 100%; background-color: #e2e1e1; padding: 20px; margin: 20px 0; border-radius: 6px; text-align: start;\">\n" +
-                "                                <tr>\n" +
-                "                                    <td>\n" +
-                "                                        <p style=\"margin: 0 0 10px; font-size: 16px; font-weight: 600;\">\n" +
-                "                                            Se você desejar, pode enviar um novo convite a " + invite.getRecipient().getFullName().split(" ")[0] + " ou explorar outras opções de colaboração dentro da nossa plataforma.\n" +
-                "                                        </p>\n" +
-                "                                        <p style=\"margin: 10px 0; text-align: left;\">Se desejar, você pode:</p>\n" +
-                "                                        <ol style=\"margin: 10px 0 0 20px; padding: 0; color: #555555; text-align: left;\">\n" +
-                "                                            <li style=\"margin: 10px 0;\">\n" +
-                "                                                <p style=\"margin: 0; font-size: 14px;\">\n" +
-                "                                                    <strong>Reenviar o convite</strong> a " + invite.getRecipient().getFullName().split(" ")[0] + ".\n" +
-                "                                                </p>\n" +
-                "                                            </li>\n" +
-                "                                            <li style=\"margin: 10px 0;\">\n" +
-                "                                                <p style=\"margin: 0; font-size: 14px;\">\n" +
-                "                                                    <strong>Convidar outros membros</strong> para a equipe.\n" +
-                "                                                </p>\n" +
-                "                                            </li>\n" +
-                "                                            <li style=\"margin: 10px 0;\">\n" +
-                "                                                <p style=\"margin: 0; font-size: 14px;\">\n" +
-                "                                                    <strong>Continuar trabalhando</strong> com os membros atuais usando as ferramentas do Ecosynergy.\n" +
-                "                                                </p>\n" +
-                "                                            </li>\n" +
-                "                                        </ol>\n" +
-                "                                    </td>\n" +
-                "                                </tr>\n" +
-                "                            </table>\n" +
-                "                            <p style=\"margin: 0; font-size: 16px; color: #555555;\">\n" +
-                "                                <i>Se precisar de mais informações ou assistência, não hesite em entrar em contato com nossa equipe de suporte.</i>\n" +
-                "                            </p>\n" +
-                "                        </td>\n" +
-                "                    </tr>\n" +
-                "                    <tr>\n" +
-                "                        <td style=\"padding: 20px; font-size: 14px; color: #777777; text-align: center;\">\n" +
-                "                            <p style=\"margin: 0;\">Atenciosamente,<br><strong>Ecosynergy</strong></p>\n" +
-                "                        </td>\n" +
-                "                    </tr>\n" +
-                "                </table>\n" +
-                "            </td>\n" +
-                "        </tr>\n" +
-                "    </table>\n" +
-                "</body>\n" +
-                "</html>";
+        String htmlContent = templateRenderer.render(EmailTemplate.INVITE_REJECTED, Map.of(
+                "senderFirstName", invite.getSender().getFullName().split(" ")[0],
+                "recipientFullName", invite.getRecipient().getFullName(),
+                "recipientFirstName", invite.getRecipient().getFullName().split(" ")[0],
+                "teamName", invite.getTeam().getName()
+        ));
 
-        sendEmail(invite.getSender().getEmail(), subject, htmlContent, preHeader);
+        outboxService.enqueueEmail(invite.getSender().getEmail(), subject, htmlContent, preHeader);
     }
 }
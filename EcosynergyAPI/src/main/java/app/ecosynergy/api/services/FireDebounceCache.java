@@ -0,0 +1,69 @@
+package app.ecosynergy.api.services;
+
+import app.ecosynergy.api.models.FireReading;
+import app.ecosynergy.api.repositories.FireReadingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last fire seen per team, used to debounce fire notifications. Each team is loaded from the database the
+ * first time it reports a fire and only kept in memory afterwards. Keyed by team id, so handle changes do
+ * not reset it.
+ */
+@Component
+public class FireDebounceCache {
+    private final Map<Long, LastFire> lastFires = new ConcurrentHashMap<>();
+
+    @Autowired
+    private FireReadingRepository repository;
+
+    /**
+     * Records a fire of the team and returns the timestamp of the fire before it, or null if the team never
+     * had one. Concurrent fires of the same team are serialized, so each one sees the fire recorded before it.
+     * Must be called before the reading is stored, otherwise the first call would find the reading itself;
+     * if storing it then fails outside a transaction, the caller must {@link #evict} the team.
+     */
+    public ZonedDateTime recordFire(Long teamId, ZonedDateTime timestamp) {
+        LastFire[] previous = new LastFire[1];
+
+        lastFires.compute(teamId, (id, lastFire) -> {
+            if (lastFire == null) {
+                lastFire = new LastFire(repository.findLatestByTeamId(id).map(FireReading::getTimestamp).orElse(null));
+            }
+            previous[0] = lastFire;
+
+            return lastFire.isBefore(timestamp) ? new LastFire(timestamp) : lastFire;
+        });
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) lastFires.remove(teamId);
+                }
+            });
+        }
+
+        return previous[0].timestamp();
+    }
+
+    public void evict(Long teamId) {
+        if (teamId != null) lastFires.remove(teamId);
+    }
+
+    public void clear() {
+        lastFires.clear();
+    }
+
+    private record LastFire(ZonedDateTime timestamp) {
+        boolean isBefore(ZonedDateTime other) {
+            return timestamp == null || (other != null && timestamp.isBefore(other));
+        }
+    }
+}
@@ -1,42 +1,69 @@
 package app.ecosynergy.api.services;
 
 import app.ecosynergy.api.controllers.FireReadingController;
+import app.ecosynergy.api.data.projection.TeamReference;
+import app.ecosynergy.api.data.vo.v1.BatchItemResultVO;
+import app.ecosynergy.api.data.vo.v1.CursorPageVO;
 import app.ecosynergy.api.data.vo.v1.FireReadingVO;
-import app.ecosynergy.api.data.vo.v1.TeamVO;
+import app.ecosynergy.api.exceptions.InvalidUserDataException;
 import app.ecosynergy.api.exceptions.RequiredObjectIsNullException;
 import app.ecosynergy.api.exceptions.ResourceNotFoundException;
+import app.ecosynergy.api.exceptions.ServiceUnavailableException;
 import app.ecosynergy.api.mapper.DozerMapper;
 import app.ecosynergy.api.models.FireReading;
 import app.ecosynergy.api.models.Team;
 import app.ecosynergy.api.repositories.FireReadingRepository;
-import app.ecosynergy.api.repositories.TeamRepository;
+import app.ecosynergy.api.repositories.ReadingBatchRepository;
+import app.ecosynergy.api.services.ingestion.ReadingWriteBehindBuffer;
+import app.ecosynergy.api.services.ingestion.ReadingsPersistedEvent;
+import app.ecosynergy.api.util.ReadingCursor;
+import app.ecosynergy.api.util.ValidationUtils;
 import app.ecosynergy.api.services.notification.FireSensorNotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.*;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Service
 public class FireReadingService {
+    public static final int MAX_BATCH_SIZE = 1000;
+
     @Autowired
     private FireReadingRepository repository;
 
     @Autowired
-    private TeamService teamService;
+    private ReadingBatchRepository batchRepository;
+
+    @Autowired
+    private TeamReferenceCache teamReferenceCache;
 
     @Autowired
-    private TeamRepository teamRepository;
+    private FireDebounceCache fireDebounceCache;
 
     @Autowired
     private FireSensorNotificationService fireSensorNotificationService;
 
+    @Autowired
+    private ReadingWriteBehindBuffer writeBehindBuffer;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Autowired
     private PagedResourcesAssembler<FireReadingVO> assembler;
     @Autowired
@@ -47,11 +74,11 @@ public class FireReadingService {
 
         FireReading reading = repository.findByIdWithTeam(id).orElseThrow(() -> new ResourceNotFoundException("Fire Reading not found with given ID: " + id));
 
-        TeamVO teamVO = teamService.findByHandle(reading.getTeam().getHandle());
+        TeamReference team = teamReferenceCache.get(reading.getTeam().getHandle());
 
         FireReadingVO vo = DozerMapper.parseObject(reading, FireReadingVO.class);
         vo.setTeamHandle(reading.getTeam().getHandle());
-        vo.setTimestamp(vo.getTimestamp().withZoneSameInstant(teamVO.getTimeZone()));
+        vo.setTimestamp(vo.getTimestamp().withZoneSameInstant(team.timeZone()));
         vo.add(linkTo(methodOn(FireReadingController.class).findById(vo.getKey())).withSelfRel());
         return vo;
     }
@@ -60,10 +87,10 @@ public class FireReadingService {
         Page<FireReading> readingsPage = repository.findAllWithTeam(pageable);
 
         Page<FireReadingVO> voPage = readingsPage.map(r -> {
-            TeamVO teamVO = teamService.findByHandle(r.getTeam().getHandle());
+            TeamReference team = teamReferenceCache.get(r.getTeam().getHandle());
             FireReadingVO vo = DozerMapper.parseObject(r, FireReadingVO.class);
             vo.setTeamHandle(r.getTeam().getHandle());
-            vo.setTimestamp(vo.getTimestamp().withZoneSameInstant(teamVO.getTimeZone()));
+            vo.setTimestamp(vo.getTimestamp().withZoneSameInstant(team.timeZone()));
             return vo;
         });
 
@@ -93,12 +120,12 @@ public class FireReadingService {
     public PagedModel<EntityModel<FireReadingVO>> findByTeamHandle(String teamHandle, Pageable pageable) {
         Page<FireReading> readingsPage = repository.findByTeamHandle(teamHandle, pageable);
 
-        TeamVO teamVO = teamService.findByHandle(teamHandle);
+        TeamReference team = teamReferenceCache.get(teamHandle);
 
         Page<FireReadingVO> voPage = readingsPage.map(r -> {
             FireReadingVO vo = DozerMapper.parseObject(r, FireReadingVO.class);
             vo.setTeamHandle(r.getTeam().getHandle());
-            vo.setTimestamp(vo.getTimestamp().withZoneSameInstant(teamVO.getTimeZone()));
+            vo.setTimestamp(vo.getTimestamp().withZoneSameInstant(team.timeZone()));
             return vo;
         });
 
@@ -106,27 +133,174 @@ public class FireReadingService {
     }
 
     public FireReadingVO create(FireReadingVO reading) {
-        if (reading == null) throw new RequiredObjectIsNullException();
+        if (reading == null || reading.getTeamHandle() == null || reading.getFire() == null || reading.getTimestamp() == null)
+            throw new RequiredObjectIsNullException();
+        if (!ValidationUtils.isReadingTimestampValid(reading.getTimestamp()))
+            throw new InvalidUserDataException(ValidationUtils.INVALID_READING_TIMESTAMP_MESSAGE);
 
-        Team team = teamRepository.findByHandleWithMembers(reading.getTeamHandle()).orElseThrow(() -> new ResourceNotFoundException("Team with the given handle: " + reading.getTeamHandle() +  "not found"));
+        Team team = teamReferenceCache.get(reading.getTeamHandle()).toTeam();
 
-        FireReading lastReading = repository.findLatestByTeamId(team.getId()).orElse(null);
+        ZonedDateTime lastFire = Boolean.TRUE.equals(reading.getFire()) ? fireDebounceCache.recordFire(team.getId(), reading.getTimestamp()) : null;
 
         FireReading readingEntity = DozerMapper.parseObject(reading, FireReading.class);
         readingEntity.setTeam(team);
-        readingEntity = repository.save(readingEntity);
 
-        FireReadingVO vo = DozerMapper.parseObject(readingEntity, FireReadingVO.class);
-        vo.setTeamHandle(readingEntity.getTeam().getHandle());
-        vo.setTimestamp(vo.getTimestamp().withZoneSameInstant(team.getTimeZone()));
-        vo.add(linkTo(methodOn(FireReadingController.class).findById(vo.getKey())).withSelfRel());
+        FireReadingVO vo;
+        try {
+            if (writeBehindBuffer.isEnabled()) {
+                readingEntity.setId(null);
+                if (!writeBehindBuffer.offer(readingEntity))
+                    throw new ServiceUnavailableException("Reading ingestion is saturated, please retry later");
+
+                vo = DozerMapper.parseObject(readingEntity, FireReadingVO.class);
+                vo.setTeamHandle(team.getHandle());
+                vo.setTimestamp(vo.getTimestamp().withZoneSameInstant(team.getTimeZone()));
+            } else {
+                readingEntity = repository.save(readingEntity);
+                eventPublisher.publishEvent(ReadingsPersistedEvent.ofFireReadings(List.of(readingEntity)));
+
+                vo = DozerMapper.parseObject(readingEntity, FireReadingVO.class);
+                vo.setTeamHandle(readingEntity.getTeam().getHandle());
+                vo.setTimestamp(vo.getTimestamp().withZoneSameInstant(team.getTimeZone()));
+                vo.add(linkTo(methodOn(FireReadingController.class).findById(vo.getKey())).withSelfRel());
+            }
+        } catch (RuntimeException e) {
+            // The fire was never stored, so it must not debounce the next one
+            if (Boolean.TRUE.equals(reading.getFire())) fireDebounceCache.evict(team.getId());
+            throw e;
+        }
 
         if (vo.getFire()) {
-            fireSensorNotificationService.sendFireDetectedNotification(team, lastReading != null ? lastReading.getTimestamp() : null);
+            fireSensorNotificationService.sendFireDetectedNotification(team.getId(), lastFire);
         }
         return vo;
     }
 
+    @Transactional(rollbackFor = Exception.class)
+    public List<BatchItemResultVO> createAll(List<FireReadingVO> readings) {
+        if (readings == null) throw new RequiredObjectIsNullException();
+        if (readings.size() > MAX_BATCH_SIZE)
+            throw new IllegalArgumentException("A batch cannot contain more than " + MAX_BATCH_SIZE + " readings");
+
+        Map<String, Optional<Team>> teams = new HashMap<>();
+        Map<Long, ZonedDateTime> lastFireByTeam = new HashMap<>();
+        List<BatchItemResultVO> results = new ArrayList<>(readings.size());
+        List<FireReading> accepted = new ArrayList<>(readings.size());
+        List<BatchItemResultVO> acceptedResults = new ArrayList<>(readings.size());
+
+        for (int i = 0; i < readings.size(); i++) {
+            FireReadingVO reading = readings.get(i);
+
+            if (reading == null || reading.getTeamHandle() == null || reading.getFire() == null || reading.getTimestamp() == null) {
+                results.add(BatchItemResultVO.rejected(i, reading != null ? reading.getTeamHandle() : null, new RequiredObjectIsNullException().getMessage()));
+                continue;
+            }
+
+            String teamHandle = reading.getTeamHandle().toLowerCase(Locale.ROOT);
+            if (!ValidationUtils.isReadingTimestampValid(reading.getTimestamp())) {
+                results.add(BatchItemResultVO.rejected(i, teamHandle, ValidationUtils.INVALID_READING_TIMESTAMP_MESSAGE));
+                continue;
+            }
+
+            Team team = teams.computeIfAbsent(teamHandle, h -> teamReferenceCache.find(h).map(TeamReference::toTeam)).orElse(null);
+
+            if (team == null) {
+                results.add(BatchItemResultVO.rejected(i, teamHandle, "Team not found with the given Handle: " + teamHandle));
+                continue;
+            }
+
+            if (reading.getFire()) {
+                ZonedDateTime lastFire = fireDebounceCache.recordFire(team.getId(), reading.getTimestamp());
+                if (!lastFireByTeam.containsKey(team.getId())) lastFireByTeam.put(team.getId(), lastFire);
+            }
+
+            FireReading readingEntity = new FireReading();
+            readingEntity.setTeam(team);
+            readingEntity.setFire(reading.getFire());
+            readingEntity.setTimestamp(reading.getTimestamp());
+            accepted.add(readingEntity);
+
+            BatchItemResultVO result = BatchItemResultVO.created(i, teamHandle);
+            acceptedResults.add(result);
+            results.add(result);
+        }
+
+        try {
+            batchRepository.insertFireReadings(accepted);
+        } catch (RuntimeException e) {
+            // Rolling back evicts them too, but only once the transaction ends
+            lastFireByTeam.keySet().forEach(fireDebounceCache::evict);
+            throw e;
+        }
+        if (!accepted.isEmpty()) eventPublisher.publishEvent(ReadingsPersistedEvent.ofFireReadings(accepted));
+
+        for (int i = 0; i < accepted.size(); i++) {
+            acceptedResults.get(i).setId(accepted.get(i).getId());
+        }
+
+        lastFireByTeam.forEach(fireSensorNotificationService::sendFireDetectedNotification);
+
+        return results;
+    }
+
+    public CursorPageVO<FireReadingVO> findAllByCursor(String after, Integer limit, Sort.Direction direction) {
+        ReadingCursor cursor = ReadingCursor.decode(after, direction);
+        Pageable pageable = PageRequest.of(0, ReadingCursor.clampLimit(limit));
+
+        Slice<FireReading> slice = direction.isAscending()
+                ? repository.findAfter(cursor.timestamp(), cursor.id(), pageable)
+                : repository.findBefore(cursor.timestamp(), cursor.id(), pageable);
+
+        CursorPageVO<FireReadingVO> page = toCursorPage(slice);
+        String directionParam = direction.name().toLowerCase(Locale.ROOT);
+
+        page.add(linkTo(methodOn(FireReadingController.class).findAllByCursor(after, pageable.getPageSize(), directionParam)).withSelfRel());
+        if (page.getNextCursor() != null)
+            page.add(linkTo(methodOn(FireReadingController.class).findAllByCursor(page.getNextCursor(), pageable.getPageSize(), directionParam)).withRel("next"));
+
+        return page;
+    }
+
+    public CursorPageVO<FireReadingVO> findByTeamHandleByCursor(String teamHandle, String after, Integer limit, Sort.Direction direction) {
+        TeamReference team = teamReferenceCache.get(teamHandle);
+
+        ReadingCursor cursor = ReadingCursor.decode(after, direction);
+        Pageable pageable = PageRequest.of(0, ReadingCursor.clampLimit(limit));
+
+        Slice<FireReading> slice = direction.isAscending()
+                ? repository.findByTeamHandleAfter(team.handle(), cursor.timestamp(), cursor.id(), pageable)
+                : repository.findByTeamHandleBefore(team.handle(), cursor.timestamp(), cursor.id(), pageable);
+
+        CursorPageVO<FireReadingVO> page = toCursorPage(slice);
+        String directionParam = direction.name().toLowerCase(Locale.ROOT);
+
+        page.add(linkTo(methodOn(FireReadingController.class).findByTeamHandleByCursor(team.handle(), after, pageable.getPageSize(), directionParam)).withSelfRel());
+        if (page.getNextCursor() != null)
+            page.add(linkTo(methodOn(FireReadingController.class).findByTeamHandleByCursor(team.handle(), page.getNextCursor(), pageable.getPageSize(), directionParam)).withRel("next"));
+
+        return page;
+    }
+
+    private CursorPageVO<FireReadingVO> toCursorPage(Slice<FireReading> slice) {
+        List<FireReadingVO> content = slice.getContent().stream().map(r -> {
+            TeamReference team = teamReferenceCache.get(r.getTeam().getHandle());
+
+            FireReadingVO vo = DozerMapper.parseObject(r, FireReadingVO.class);
+            vo.setTeamHandle(team.handle());
+            vo.setTimestamp(vo.getTimestamp().withZoneSameInstant(team.timeZone()));
+            vo.add(linkTo(methodOn(FireReadingController.class).findById(vo.getKey())).withSelfRel());
+            return vo;
+        }).toList();
+
+        String nextCursor = null;
+        if (slice.hasNext() && !content.isEmpty()) {
+            FireReading last = slice.getContent().getLast();
+            nextCursor = ReadingCursor.of(last.getTimestamp(), last.getId()).encode();
+        }
+
+        return new CursorPageVO<>(content, nextCursor);
+    }
+
     public long countAllReadings() {
         long count = repository.count();
         return Math.max(count, 1L);
@@ -10,7 +10,6 @@ import app.ecosynergy.api.repositories.TeamMemberRepository;
 import app.ecosynergy.api.repositories.TeamRepository;
 import app.ecosynergy.api.repositories.UserRepository;
 import app.ecosynergy.api.services.notification.InvitationNotificationService;
-import jakarta.mail.MessagingException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -53,7 +52,6 @@ public class InviteService {
     private InvitationNotificationService invitationNotificationService;
     @Autowired
     private PagedResourcesAssembler<InviteVO> assembler;
-    private User currentUser;
 
     private User getCurrentUser() {
         return userService.getCurrentUser();
@@ -98,11 +96,11 @@ public class InviteService {
     }
 
     @Transactional
-    public InviteVO createInvite(InviteVO inviteVO) throws MessagingException {
+    public InviteVO createInvite(InviteVO inviteVO) {
         if (inviteVO.getRecipientId() == null || inviteVO.getTeamId() == null)
             throw new RequiredObjectIsNullException("Invalid User or Team");
 
-        currentUser = getCurrentUser();
+        User currentUser = getCurrentUser();
 
         Optional<User> recipient = userRepository.findById(inviteVO.getRecipientId());
         Optional<Team> team = teamRepository.findById(inviteVO.getTeamId());
@@ -148,7 +146,7 @@ public class InviteService {
     }
 
     @Transactional
-    public InviteVO acceptInvite(Long inviteId) throws MessagingException {
+    public InviteVO acceptInvite(Long inviteId) {
         Invite invite = inviteRepository.findById(inviteId)
                 .orElseThrow(() -> new ResourceNotFoundException("Invite Not Found"));
 
@@ -156,9 +154,7 @@ public class InviteService {
             throw new InviteAlreadyRespondedException("Invite has already been responded to");
         }
 
-        currentUser = getCurrentUser();
-
-        if (!Objects.equals(invite.getRecipient().getId(), currentUser.getId()))
+        if (!Objects.equals(invite.getRecipient().getId(), userService.getCurrentUserId()))
             throw new UnauthorizedActionException("You are not authorized to accept this invite");
 
         invite.setStatus(InviteStatus.ACCEPTED);
@@ -184,7 +180,7 @@ public class InviteService {
     }
 
     @Transactional
-    public InviteVO declineInvite(Long inviteId) throws MessagingException {
+    public InviteVO declineInvite(Long inviteId) {
         Invite invite = inviteRepository.findById(inviteId)
                 .orElseThrow(() -> new IllegalArgumentException("Invite Not Found"));
 
@@ -192,9 +188,7 @@ public class InviteService {
             throw new InviteAlreadyRespondedException("Invite has already been responded to");
         }
 
-        currentUser = getCurrentUser();
-
-        if (!Objects.equals(invite.getRecipient().getId(), currentUser.getId()))
+        if (!Objects.equals(invite.getRecipient().getId(), userService.getCurrentUserId()))
             throw new UnauthorizedActionException("You are not authorized to decline this invite");
 
         invite.setStatus(InviteStatus.DECLINED);
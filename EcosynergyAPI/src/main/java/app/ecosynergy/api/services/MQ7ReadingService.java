@@ -1,33 +1,60 @@
 package app.ecosynergy.api.services;
 
 import app.ecosynergy.api.controllers.MQ7ReadingController;
+import app.ecosynergy.api.data.projection.TeamReference;
+import app.ecosynergy.api.data.vo.v1.BatchItemResultVO;
+import app.ecosynergy.api.data.vo.v1.CursorPageVO;
 import app.ecosynergy.api.data.vo.v1.MQ7ReadingVO;
-import app.ecosynergy.api.data.vo.v1.TeamVO;
+import app.ecosynergy.api.exceptions.InvalidUserDataException;
 import app.ecosynergy.api.exceptions.RequiredObjectIsNullException;
 import app.ecosynergy.api.exceptions.ResourceNotFoundException;
+import app.ecosynergy.api.exceptions.ServiceUnavailableException;
 import app.ecosynergy.api.mapper.DozerMapper;
 import app.ecosynergy.api.models.MQ7Reading;
 import app.ecosynergy.api.models.Team;
 import app.ecosynergy.api.repositories.MQ7ReadingRepository;
+import app.ecosynergy.api.repositories.ReadingBatchRepository;
+import app.ecosynergy.api.services.ingestion.ReadingWriteBehindBuffer;
+import app.ecosynergy.api.services.ingestion.ReadingsPersistedEvent;
+import app.ecosynergy.api.util.ReadingCursor;
+import app.ecosynergy.api.util.ValidationUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
 
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Service
 public class MQ7ReadingService {
+    public static final int MAX_BATCH_SIZE = 1000;
+
     @Autowired
     private MQ7ReadingRepository repository;
 
     @Autowired
-    private TeamService teamService;
+    private ReadingBatchRepository batchRepository;
+
+    @Autowired
+    private TeamReferenceCache teamReferenceCache;
+
+    @Autowired
+    private ReadingWriteBehindBuffer writeBehindBuffer;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Autowired
     private PagedResourcesAssembler<MQ7ReadingVO> assembler;
@@ -37,11 +64,11 @@ public class MQ7ReadingService {
 
         MQ7Reading reading = repository.findByIdWithTeam(id).orElseThrow(() -> new ResourceNotFoundException("MQ7 Reading Not Found with the given ID: " + id));
 
-        TeamVO teamVO = teamService.findByHandle(reading.getTeam().getHandle());
+        TeamReference team = teamReferenceCache.get(reading.getTeam().getHandle());
 
         MQ7ReadingVO vo = DozerMapper.parseObject(reading, MQ7ReadingVO.class);
         vo.setTeamHandle(reading.getTeam().getHandle());
-        vo.setTimestamp(reading.getTimestamp().withZoneSameInstant(teamVO.getTimeZone()));
+        vo.setTimestamp(reading.getTimestamp().withZoneSameInstant(team.timeZone()));
         vo.add(linkTo(methodOn(MQ7ReadingController.class).findById(vo.getKey())).withSelfRel());
         return vo;
     }
@@ -50,11 +77,11 @@ public class MQ7ReadingService {
         Page<MQ7Reading> readingsPage = repository.findAll(pageable);
 
         Page<MQ7ReadingVO> voPage = readingsPage.map(r -> {
-            TeamVO teamVO = teamService.findByHandle(r.getTeam().getHandle());
+            TeamReference team = teamReferenceCache.get(r.getTeam().getHandle());
 
             MQ7ReadingVO vo = DozerMapper.parseObject(r, MQ7ReadingVO.class);
             vo.setTeamHandle(r.getTeam().getHandle());
-            vo.setTimestamp(vo.getTimestamp().withZoneSameInstant(teamVO.getTimeZone()));
+            vo.setTimestamp(vo.getTimestamp().withZoneSameInstant(team.timeZone()));
             return vo;
         });
 
@@ -79,12 +106,12 @@ public class MQ7ReadingService {
     public PagedModel<EntityModel<MQ7ReadingVO>> findByTeamHandle(String teamHandle, Pageable pageable) {
         Page<MQ7Reading> readingsPage = repository.findByTeamHandle(teamHandle, pageable);
 
-        TeamVO teamVO = teamService.findByHandle(teamHandle);
+        TeamReference team = teamReferenceCache.get(teamHandle);
 
         Page<MQ7ReadingVO> voPage = readingsPage.map(r -> {
             MQ7ReadingVO vo = DozerMapper.parseObject(r, MQ7ReadingVO.class);
             vo.setTeamHandle(r.getTeam().getHandle());
-            vo.setTimestamp(vo.getTimestamp().withZoneSameInstant(teamVO.getTimeZone()));
+            vo.setTimestamp(vo.getTimestamp().withZoneSameInstant(team.timeZone()));
             return vo;
         });
 
@@ -106,17 +133,31 @@ public class MQ7ReadingService {
         return assembler.toModel(voPage, link);
     }
 
+    @Transactional(rollbackFor = Exception.class)
     public MQ7ReadingVO create(MQ7ReadingVO reading) {
-        if (reading == null) throw new RequiredObjectIsNullException();
+        if (reading == null || reading.getTeamHandle() == null || reading.getValue() == null || reading.getTimestamp() == null)
+            throw new RequiredObjectIsNullException();
+        if (!ValidationUtils.isReadingTimestampValid(reading.getTimestamp()))
+            throw new InvalidUserDataException(ValidationUtils.INVALID_READING_TIMESTAMP_MESSAGE);
 
-        Team team = DozerMapper.parseObject(
-                teamService.findByHandle(reading.getTeamHandle()),
-                Team.class
-        );
+        Team team = teamReferenceCache.get(reading.getTeamHandle()).toTeam();
 
         MQ7Reading readingEntity = DozerMapper.parseObject(reading, MQ7Reading.class);
         readingEntity.setTeam(team);
+
+        if (writeBehindBuffer.isEnabled()) {
+            readingEntity.setId(null);
+            if (!writeBehindBuffer.offer(readingEntity))
+                throw new ServiceUnavailableException("Reading ingestion is saturated, please retry later");
+
+            MQ7ReadingVO vo = DozerMapper.parseObject(readingEntity, MQ7ReadingVO.class);
+            vo.setTeamHandle(team.getHandle());
+            vo.setTimestamp(vo.getTimestamp().withZoneSameInstant(team.getTimeZone()));
+            return vo;
+        }
+
         readingEntity = repository.save(readingEntity);
+        eventPublisher.publishEvent(ReadingsPersistedEvent.ofMQ7Readings(List.of(readingEntity)));
 
         MQ7ReadingVO vo = DozerMapper.parseObject(readingEntity, MQ7ReadingVO.class);
         vo.setTeamHandle(readingEntity.getTeam().getHandle());
@@ -126,6 +167,117 @@ public class MQ7ReadingService {
         return vo;
     }
 
+    @Transactional(rollbackFor = Exception.class)
+    public List<BatchItemResultVO> createAll(List<MQ7ReadingVO> readings) {
+        if (readings == null) throw new RequiredObjectIsNullException();
+        if (readings.size() > MAX_BATCH_SIZE)
+            throw new IllegalArgumentException("A batch cannot contain more than " + MAX_BATCH_SIZE + " readings");
+
+        Map<String, Optional<Team>> teams = new HashMap<>();
+        List<BatchItemResultVO> results = new ArrayList<>(readings.size());
+        List<MQ7Reading> accepted = new ArrayList<>(readings.size());
+        List<BatchItemResultVO> acceptedResults = new ArrayList<>(readings.size());
+
+        for (int i = 0; i < readings.size(); i++) {
+            MQ7ReadingVO reading = readings.get(i);
+
+            if (reading == null || reading.getTeamHandle() == null || reading.getValue() == null || reading.getTimestamp() == null) {
+                results.add(BatchItemResultVO.rejected(i, reading != null ? reading.getTeamHandle() : null, new RequiredObjectIsNullException().getMessage()));
+                continue;
+            }
+
+            String teamHandle = reading.getTeamHandle().toLowerCase(Locale.ROOT);
+            if (!ValidationUtils.isReadingTimestampValid(reading.getTimestamp())) {
+                results.add(BatchItemResultVO.rejected(i, teamHandle, ValidationUtils.INVALID_READING_TIMESTAMP_MESSAGE));
+                continue;
+            }
+
+            Team team = teams.computeIfAbsent(teamHandle, h -> teamReferenceCache.find(h).map(TeamReference::toTeam)).orElse(null);
+
+            if (team == null) {
+                results.add(BatchItemResultVO.rejected(i, teamHandle, "Team not found with the given Handle: " + teamHandle));
+                continue;
+            }
+
+            MQ7Reading readingEntity = new MQ7Reading();
+            readingEntity.setTeam(team);
+            readingEntity.setValue(reading.getValue());
+            readingEntity.setTimestamp(reading.getTimestamp());
+            accepted.add(readingEntity);
+
+            BatchItemResultVO result = BatchItemResultVO.created(i, teamHandle);
+            acceptedResults.add(result);
+            results.add(result);
+        }
+
+        batchRepository.insertMQ7Readings(accepted);
+        if (!accepted.isEmpty()) eventPublisher.publishEvent(ReadingsPersistedEvent.ofMQ7Readings(accepted));
+
+        for (int i = 0; i < accepted.size(); i++) {
+            acceptedResults.get(i).setId(accepted.get(i).getId());
+        }
+
+        return results;
+    }
+
+    public CursorPageVO<MQ7ReadingVO> findAllByCursor(String after, Integer limit, Sort.Direction direction) {
+        ReadingCursor cursor = ReadingCursor.decode(after, direction);
+        Pageable pageable = PageRequest.of(0, ReadingCursor.clampLimit(limit));
+
+        Slice<MQ7Reading> slice = direction.isAscending()
+                ? repository.findAfter(cursor.timestamp(), cursor.id(), pageable)
+                : repository.findBefore(cursor.timestamp(), cursor.id(), pageable);
+
+        CursorPageVO<MQ7ReadingVO> page = toCursorPage(slice);
+        String directionParam = direction.name().toLowerCase(Locale.ROOT);
+
+        page.add(linkTo(methodOn(MQ7ReadingController.class).findAllByCursor(after, pageable.getPageSize(), directionParam)).withSelfRel());
+        if (page.getNextCursor() != null)
+            page.add(linkTo(methodOn(MQ7ReadingController.class).findAllByCursor(page.getNextCursor(), pageable.getPageSize(), directionParam)).withRel("next"));
+
+        return page;
+    }
+
+    public CursorPageVO<MQ7ReadingVO> findByTeamHandleByCursor(String teamHandle, String after, Integer limit, Sort.Direction direction) {
+        TeamReference team = teamReferenceCache.get(teamHandle);
+
+        ReadingCursor cursor = ReadingCursor.decode(after, direction);
+        Pageable pageable = PageRequest.of(0, ReadingCursor.clampLimit(limit));
+
+        Slice<MQ7Reading> slice = direction.isAscending()
+                ? repository.findByTeamHandleAfter(team.handle(), cursor.timestamp(), cursor.id(), pageable)
+                : repository.findByTeamHandleBefore(team.handle(), cursor.timestamp(), cursor.id(), pageable);
+
+        CursorPageVO<MQ7ReadingVO> page = toCursorPage(slice);
+        String directionParam = direction.name().toLowerCase(Locale.ROOT);
+
+        page.add(linkTo(methodOn(MQ7ReadingController.class).findByTeamHandleByCursor(team.handle(), after, pageable.getPageSize(), directionParam)).withSelfRel());
+        if (page.getNextCursor() != null)
+            page.add(linkTo(methodOn(MQ7ReadingController.class).findByTeamHandleByCursor(team.handle(), page.getNextCursor(), pageable.getPageSize(), directionParam)).withRel("next"));
+
+        return page;
+    }
+
+    private CursorPageVO<MQ7ReadingVO> toCursorPage(Slice<MQ7Reading> slice) {
+        List<MQ7ReadingVO> content = slice.getContent().stream().map(r -> {
+            TeamReference team = teamReferenceCache.get(r.getTeam().getHandle());
+
+            MQ7ReadingVO vo = DozerMapper.parseObject(r, MQ7ReadingVO.class);
+            vo.setTeamHandle(team.handle());
+            vo.setTimestamp(vo.getTimestamp().withZoneSameInstant(team.timeZone()));
+            vo.add(linkTo(methodOn(MQ7ReadingController.class).findById(vo.getKey())).withSelfRel());
+            return vo;
+        }).toList();
+
+        String nextCursor = null;
+        if (slice.hasNext() && !content.isEmpty()) {
+            MQ7Reading last = slice.getContent().getLast();
+            nextCursor = ReadingCursor.of(last.getTimestamp(), last.getId()).encode();
+        }
+
+        return new CursorPageVO<>(content, nextCursor);
+    }
+
     public long countAllReadings() {
         long count = repository.count();
         return Math.max(count, 1L);
@@ -0,0 +1,95 @@
+package app.ecosynergy.api.services;
+
+import app.ecosynergy.api.data.projection.ReadingRollup;
+import app.ecosynergy.api.data.projection.TeamReference;
+import app.ecosynergy.api.data.vo.v1.ReadingStatsVO;
+import app.ecosynergy.api.data.vo.v1.StatsBucketVO;
+import app.ecosynergy.api.models.RollupGranularity;
+import app.ecosynergy.api.models.SensorType;
+import app.ecosynergy.api.models.StatsBucket;
+import app.ecosynergy.api.repositories.FireReadingRepository;
+import app.ecosynergy.api.repositories.ReadingRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Serves bucketed reading series for charts. MQ135 and MQ7 series are merged from the rollup tables, fire
+ * series count the (rare) fire events directly. Only buckets holding readings are returned.
+ */
+@Service
+public class ReadingStatsService {
+    public static final int MAX_BUCKETS = 5000;
+
+    @Autowired
+    private ReadingRollupRepository rollupRepository;
+
+    @Autowired
+    private FireReadingRepository fireReadingRepository;
+
+    @Autowired
+    private TeamReferenceCache teamReferenceCache;
+
+    public ReadingStatsVO getStats(SensorType sensorType, String teamHandle, ZonedDateTime from, ZonedDateTime to, StatsBucket bucket) {
+        TeamReference team = teamReferenceCache.get(teamHandle);
+        ZoneId timeZone = team.timeZone() != null ? team.timeZone() : ZoneOffset.UTC;
+
+        ZonedDateTime end = (to != null ? to : ZonedDateTime.now()).withZoneSameInstant(timeZone);
+        ZonedDateTime start = bucket.floor(from != null ? from : end.minus(bucket.getDefaultRange()), timeZone);
+
+        if (!start.isBefore(end)) throw new IllegalArgumentException("The stats start must be before its end");
+        if (Duration.between(start, end).dividedBy(bucket.getLength()) > MAX_BUCKETS)
+            throw new IllegalArgumentException("The requested range spans more than " + MAX_BUCKETS + " buckets of " + bucket.getValue());
+
+        Map<ZonedDateTime, Accumulator> series = new TreeMap<>();
+
+        if (sensorType == SensorType.FIRE) {
+            for (ZonedDateTime fire : fireReadingRepository.findFireTimestampsByTeamHandle(team.handle(), start, end)) {
+                series.computeIfAbsent(bucket.floor(fire, timeZone), k -> new Accumulator()).count++;
+            }
+        } else {
+            RollupGranularity granularity = bucket.sourceGranularity(timeZone, start, end);
+            List<ReadingRollup> rollups = rollupRepository.findRollups(sensorType, team.handle(), granularity, start.toInstant(), end.toInstant());
+
+            for (ReadingRollup rollup : rollups) {
+                series.computeIfAbsent(bucket.floor(rollup.bucketStart().atZone(timeZone), timeZone), k -> new Accumulator()).merge(rollup);
+            }
+        }
+
+        List<StatsBucketVO> buckets = new ArrayList<>(series.size());
+        series.forEach((bucketStart, acc) -> buckets.add(sensorType == SensorType.FIRE
+                ? new StatsBucketVO(bucketStart, acc.count, null, null, null)
+                : new StatsBucketVO(bucketStart, acc.count, acc.sum / acc.count, acc.min, acc.max)));
+
+        ReadingStatsVO vo = new ReadingStatsVO();
+        vo.setTeamHandle(team.handle());
+        vo.setSensorType(sensorType.name());
+        vo.setBucket(bucket.getValue());
+        vo.setFrom(start);
+        vo.setTo(end);
+        vo.setBuckets(buckets);
+        return vo;
+    }
+
+    private static final class Accumulator {
+        private long count;
+        private double sum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        void merge(ReadingRollup rollup) {
+            count += rollup.count();
+            sum += rollup.sum();
+            min = Math.min(min, rollup.min());
+            max = Math.max(max, rollup.max());
+        }
+    }
+}
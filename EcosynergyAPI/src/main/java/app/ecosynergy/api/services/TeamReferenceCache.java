@@ -0,0 +1,69 @@
+package app.ecosynergy.api.services;
+
+import app.ecosynergy.api.data.projection.TeamReference;
+import app.ecosynergy.api.exceptions.RequiredObjectIsNullException;
+import app.ecosynergy.api.exceptions.ResourceNotFoundException;
+import app.ecosynergy.api.repositories.TeamRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves team handles to {@link TeamReference}s for the reading paths. Entries live until
+ * {@link TeamService} changes or deletes the team; unknown handles are not cached.
+ */
+@Component
+public class TeamReferenceCache {
+    private final Map<String, TeamReference> references = new ConcurrentHashMap<>();
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    public TeamReference get(String teamHandle) {
+        if (teamHandle == null) throw new RequiredObjectIsNullException();
+
+        return find(teamHandle).orElseThrow(() -> new ResourceNotFoundException("Team not found with the given Handle: " + teamHandle.toLowerCase(Locale.ROOT)));
+    }
+
+    public Optional<TeamReference> find(String teamHandle) {
+        if (teamHandle == null) return Optional.empty();
+
+        String handle = teamHandle.toLowerCase(Locale.ROOT);
+        TeamReference reference = references.get(handle);
+        if (reference != null) return Optional.of(reference);
+
+        Optional<TeamReference> loaded = teamRepository.findReferenceByHandle(handle);
+        loaded.ifPresent(r -> references.put(handle, r));
+        return loaded;
+    }
+
+    /**
+     * Drops the entry now and, when called inside a transaction, again after it commits, so a reader that
+     * reloaded the old row in between does not keep it.
+     */
+    public void evict(String teamHandle) {
+        if (teamHandle == null) return;
+
+        String handle = teamHandle.toLowerCase(Locale.ROOT);
+        references.remove(handle);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    references.remove(handle);
+                }
+            });
+        }
+    }
+
+    public void clear() {
+        references.clear();
+    }
+}
@@ -13,6 +13,9 @@ import app.ecosynergy.api.models.*;
 import app.ecosynergy.api.repositories.TeamMemberRepository;
 import app.ecosynergy.api.repositories.TeamRepository;
 import app.ecosynergy.api.repositories.UserRepository;
+import app.ecosynergy.api.security.AuthenticatedUser;
+import app.ecosynergy.api.services.goal.GoalProgressService;
+import app.ecosynergy.api.services.notification.NotificationRecipientIndex;
 import app.ecosynergy.api.services.notification.TeamNotificationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -46,6 +49,12 @@ public class TeamService {
     @Autowired
     private TeamNotificationService teamNotificationService;
     @Autowired
+    private TeamReferenceCache teamReferenceCache;
+    @Autowired
+    private GoalProgressService goalProgressService;
+    @Autowired
+    private NotificationRecipientIndex recipientIndex;
+    @Autowired
     private PagedResourcesAssembler<TeamVO> assembler;
 
     public PagedModel<EntityModel<TeamVO>> findAll(Pageable pageable) {
@@ -171,6 +180,7 @@ public class TeamService {
         if (teamId == null || teamVO == null) throw new RequiredObjectIsNullException();
 
         Team existingTeam = teamRepository.findByIdWithMembers(teamId).orElseThrow(() -> new ResourceNotFoundException("Team not found with ID: " + teamId));
+        String previousHandle = existingTeam.getHandle();
 
         existingTeam.setHandle(teamVO.getHandle() != null ? teamVO.getHandle().toLowerCase() : existingTeam.getHandle());
         existingTeam.setName(teamVO.getName() != null ? teamVO.getName() : existingTeam.getName());
@@ -188,6 +198,12 @@ public class TeamService {
 
         Team updatedTeam = teamRepository.save(existingTeam);
 
+        teamReferenceCache.evict(previousHandle);
+        teamReferenceCache.evict(updatedTeam.getHandle());
+        goalProgressService.evict(previousHandle);
+        goalProgressService.evict(updatedTeam.getHandle());
+        recipientIndex.evictTeam(teamId);
+
         updatedTeam.setCreatedAt(updatedTeam.getCreatedAt().withZoneSameInstant(updatedTeam.getTimeZone()));
         updatedTeam.setUpdatedAt(updatedTeam.getUpdatedAt().withZoneSameInstant(updatedTeam.getTimeZone()));
 
@@ -196,10 +212,13 @@ public class TeamService {
 
     @Transactional(rollbackFor = Exception.class)
     public void delete(Long teamId) {
-        if (!teamRepository.existsById(teamId))
-            throw new ResourceNotFoundException("Team not found with ID: " + teamId);
+        Team team = teamRepository.findById(teamId)
+                .orElseThrow(() -> new ResourceNotFoundException("Team not found with ID: " + teamId));
 
         teamRepository.deleteById(teamId);
+        teamReferenceCache.evict(team.getHandle());
+        goalProgressService.evict(team.getHandle());
+        recipientIndex.evictTeam(teamId);
     }
 
     @Transactional(rollbackFor = Exception.class)
@@ -236,6 +255,7 @@ public class TeamService {
 
         team.getTeamMembers().add(teamMember);
         teamRepository.save(team);
+        recipientIndex.evictTeam(team.getId());
 
         team.setCreatedAt(team.getCreatedAt().withZoneSameInstant(team.getTimeZone()));
         team.setUpdatedAt(team.getUpdatedAt().withZoneSameInstant(team.getTimeZone()));
@@ -264,9 +284,9 @@ public class TeamService {
         Team team = teamOpt.get();
         User user = userOpt.get();
 
-        User currentUser = userService.getCurrentUser();
+        AuthenticatedUser currentUser = userService.getCurrentPrincipal();
 
-        boolean isMember = teamMemberRepository.existsByTeamIdAndUserId(team.getId(), currentUser.getId());
+        boolean isMember = teamMemberRepository.existsByTeamIdAndUserId(team.getId(), currentUser.id());
 
         if (!isMember) throw new UnauthorizedActionException("You don't belong on the team");
 
@@ -285,7 +305,7 @@ public class TeamService {
 
         teamRepository.save(team);
 
-        teamNotificationService.sendMemberPromotedNotification(user.getTokens(), currentUser.getUserName(), team, newRole.toString());
+        teamNotificationService.sendMemberPromotedNotification(user.getTokens(), currentUser.username(), team, newRole.toString());
 
         return convertToVO(team);
     }
@@ -298,23 +318,26 @@ public class TeamService {
         TeamMember teamMember = teamMemberRepository.findById(teamMemberId)
                 .orElseThrow(() -> new ResourceNotFoundException("Team Member not found with the given IDs: teamId=" + teamMemberId.getTeamId() + ", userId=" + teamMemberId.getUserId()));
 
-        User currentUser = userService.getCurrentUser();
+        AuthenticatedUser currentUser = userService.getCurrentPrincipal();
 
-        boolean isMember = teamMemberRepository.existsByTeamIdAndUserId(team.getId(), currentUser.getId());
+        boolean isMember = teamMemberRepository.existsByTeamIdAndUserId(team.getId(), currentUser.id());
         if (!isMember) throw new UnauthorizedActionException("You don't belong on the team");
 
         team.getTeamMembers().remove(teamMember);
 
         teamMemberRepository.delete(teamMember);
+        recipientIndex.evictTeam(teamMemberId.getTeamId());
 
         if (team.getTeamMembers().isEmpty()) {
             teamRepository.deleteById(teamMemberId.getTeamId());
+            teamReferenceCache.evict(team.getHandle());
+            goalProgressService.evict(team.getHandle());
         } else {
             teamRepository.save(team);
         }
 
-        if(!Objects.equals(teamMember.getUser().getId(), currentUser.getId()))
-            teamNotificationService.sendMemberRemovedNotification(teamMember.getUser().getTokens(), currentUser.getUserName(), teamMember.getTeam());
+        if(!Objects.equals(teamMember.getUser().getId(), currentUser.id()))
+            teamNotificationService.sendMemberRemovedNotification(teamMember.getUser().getTokens(), currentUser.username(), teamMember.getTeam());
     }
 
     @Transactional(readOnly = true)
@@ -9,9 +9,12 @@ import app.ecosynergy.api.models.User;
 import app.ecosynergy.api.models.UserToken;
 import app.ecosynergy.api.repositories.UserRepository;
 import app.ecosynergy.api.repositories.UserTokenRepository;
+import app.ecosynergy.api.services.notification.NotificationRecipientIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Service
@@ -26,6 +29,9 @@ public class TokenService {
     @Autowired
     private UserTokenRepository userTokenRepository;
 
+    @Autowired
+    private NotificationRecipientIndex recipientIndex;
+
     public void saveOrUpdateToken(String fcmToken, Platform platform) {
         User user = userService.getCurrentUser();
 
@@ -45,6 +51,7 @@ public class TokenService {
         }
 
         userRepository.save(user);
+        recipientIndex.evictUser(user.getId());
     }
 
     public void removeToken(Platform platform) {
@@ -54,6 +61,7 @@ public class TokenService {
         tokens.removeIf(token -> token.getPlatform().equals(platform));
 
         userRepository.save(user);
+        recipientIndex.evictUser(user.getId());
     }
 
     public void removeAllTokens() {
@@ -61,10 +69,11 @@ public class TokenService {
 
         user.getTokens().clear();
         userRepository.save(user);
+        recipientIndex.evictUser(user.getId());
     }
 
     public List<UserTokenVO> getUserToken(Platform platform) {
-        List<UserToken> userTokens = userTokenRepository.findByUserId(userService.getCurrentUser().getId())
+        List<UserToken> userTokens = userTokenRepository.findByUserId(userService.getCurrentUserId())
                 .stream()
                 .filter(token -> token.getPlatform().equals(platform))
                 .toList();
@@ -73,11 +82,27 @@ public class TokenService {
     }
 
     public List<UserTokenVO> getAllUserTokens() {
-        List<UserToken> userTokens = userTokenRepository.findByUserId(userService.getCurrentUser().getId());
+        List<UserToken> userTokens = userTokenRepository.findByUserId(userService.getCurrentUserId());
 
         return DozerMapper.parseListObjects(userTokens, UserTokenVO.class);
     }
 
+    /**
+     * Deletes tokens FCM reported as dead with a single statement, whoever they belong to.
+     *
+     * @return the number of tokens deleted
+     */
+    @Transactional
+    public int removeByTokens(Collection<String> tokens) {
+        if (tokens.isEmpty()) return 0;
+
+        List<Long> userIds = userTokenRepository.findUserIdsByTokenIn(tokens);
+        int deleted = userTokenRepository.deleteByTokenIn(tokens);
+        userIds.forEach(recipientIndex::evictUser);
+
+        return deleted;
+    }
+
     public UserToken findByToken(String token) {
         if (token == null) throw new RequiredObjectIsNullException();
 
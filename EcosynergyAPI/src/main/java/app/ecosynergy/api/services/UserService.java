@@ -2,6 +2,7 @@ package app.ecosynergy.api.services;
 
 import app.ecosynergy.api.controllers.UserController;
 import app.ecosynergy.api.data.vo.v1.UserVO;
+import app.ecosynergy.api.exceptions.InvalidJwtAuthenticationException;
 import app.ecosynergy.api.exceptions.InvalidUserDataException;
 import app.ecosynergy.api.exceptions.RequiredObjectIsNullException;
 import app.ecosynergy.api.exceptions.ResourceAlreadyExistsException;
@@ -10,20 +11,23 @@ import app.ecosynergy.api.mapper.DozerMapper;
 import app.ecosynergy.api.models.User;
 import app.ecosynergy.api.repositories.NotificationPreferenceRepository;
 import app.ecosynergy.api.repositories.UserRepository;
-import app.ecosynergy.api.security.jwt.JwtTokenProvider;
-import app.ecosynergy.api.util.PasswordUtils;
+import app.ecosynergy.api.security.AuthenticatedUser;
+import app.ecosynergy.api.services.notification.NotificationRecipientIndex;
 import app.ecosynergy.api.util.UserPreferenceUtils;
 import app.ecosynergy.api.util.ValidationUtils;
-import com.auth0.jwt.interfaces.DecodedJWT;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PagedResourcesAssembler;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.PagedModel;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -38,21 +42,26 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
 import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 
 @Service
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
     private static final Logger logger = Logger.getLogger(UserService.class.getName());
+    private static final String CURRENT_USER_ATTRIBUTE = UserService.class.getName() + ".currentUser";
     private final UserRepository repository;
     private final NotificationPreferenceRepository notificationPreferenceRepository;
-    private final JwtTokenProvider jwtTokenProvider;
     private final HttpServletRequest request;
     private final PagedResourcesAssembler<UserVO> assembler;
+    private final NotificationRecipientIndex recipientIndex;
+    private final UserSnapshotCache userSnapshotCache;
+    private final PasswordEncoder passwordEncoder;
 
     @Autowired
-    public UserService(UserRepository repository, NotificationPreferenceRepository notificationPreferenceRepository, @Lazy JwtTokenProvider jwtTokenProvider, HttpServletRequest request, PagedResourcesAssembler<UserVO> assembler) {
+    public UserService(UserRepository repository, NotificationPreferenceRepository notificationPreferenceRepository, HttpServletRequest request, PagedResourcesAssembler<UserVO> assembler, NotificationRecipientIndex recipientIndex, UserSnapshotCache userSnapshotCache, PasswordEncoder passwordEncoder) {
         this.repository = repository;
         this.notificationPreferenceRepository = notificationPreferenceRepository;
-        this.jwtTokenProvider = jwtTokenProvider;
         this.request = request;
         this.assembler = assembler;
+        this.recipientIndex = recipientIndex;
+        this.userSnapshotCache = userSnapshotCache;
+        this.passwordEncoder = passwordEncoder;
     }
 
     public PagedModel<EntityModel<UserVO>> findAll(Pageable pageable) {
@@ -119,12 +128,33 @@ public class UserService implements UserDetailsService {
         return vo;
     }
 
+    /**
+     * The authenticated user's id, username and roles, taken from the token's claims without a query.
+     */
+    public AuthenticatedUser getCurrentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) return user;
+        throw new InvalidJwtAuthenticationException("Missing or invalid authentication token");
+    }
+
+    public Long getCurrentUserId() {
+        return getCurrentPrincipal().id();
+    }
+
+    /**
+     * Loads the authenticated user's entity, once per request. Prefer {@link #getCurrentUserId()} when the
+     * id is enough.
+     */
     public User getCurrentUser() {
-        String token = jwtTokenProvider.resolveToken(request);
+        if (request.getAttribute(CURRENT_USER_ATTRIBUTE) instanceof User user) return user;
 
-        DecodedJWT decodedJWT = jwtTokenProvider.decodedToken(token);
+        Long id = getCurrentUserId();
+        User user = repository.findById(id)
+                .orElseThrow(() -> new InvalidJwtAuthenticationException("User not found with the given ID: " + id));
 
-        return loadUserByUsername(decodedJWT.getSubject());
+        request.setAttribute(CURRENT_USER_ATTRIBUTE, user);
+        return user;
     }
 
     public List<UserVO> findByIdentifierContaining(String identifier) {
@@ -203,6 +233,7 @@ public class UserService implements UserDetailsService {
 
         UserVO vo = DozerMapper.parseObject(repository.save(entity), UserVO.class);
         vo.add(linkTo(methodOn(UserController.class).findById(vo.getKey())).withSelfRel());
+        userSnapshotCache.evict(entity.getId());
 
         return vo;
     }
@@ -216,6 +247,8 @@ public class UserService implements UserDetailsService {
         logger.info("Deleting user: " + entity.getId());
 
         repository.delete(entity);
+        recipientIndex.evictUser(entity.getId());
+        userSnapshotCache.evict(entity.getId());
     }
 
     public UserVO resetPassword(UserVO user) {
@@ -225,15 +258,30 @@ public class UserService implements UserDetailsService {
 
         User entity = getCurrentUser();
 
-        entity.setPassword(PasswordUtils.passwordEncode(user.getPassword()));
+        entity.setPassword(passwordEncoder.encode(user.getPassword()));
 
         UserVO vo = DozerMapper.parseObject(repository.save(entity), UserVO.class);
+        revokeTokens(entity.getId());
 
         vo.add(linkTo(methodOn(UserController.class).findById(vo.getKey())).withSelfRel());
 
         return vo;
     }
 
+    /**
+     * Invalidates every access and refresh token issued to the user so far by bumping the user's token
+     * version. Takes effect on the next request handled by this instance, and within
+     * {@code security.token-version-poll-interval} on the others.
+     */
+    public void revokeTokens(Long userId) {
+        if (userId == null) throw new RequiredObjectIsNullException();
+
+        logger.info("Revoking the tokens of user " + userId);
+
+        repository.incrementTokenVersion(userId);
+        userSnapshotCache.evict(userId);
+    }
+
     public boolean existsByUsername(String username) {
         if (username == null) throw new RequiredObjectIsNullException();
 
@@ -252,4 +300,21 @@ public class UserService implements UserDetailsService {
             throw new UsernameNotFoundException("Username " + username + " not found!");
         }
     }
+
+    /**
+     * Called by sign-in, once the password has been verified, when the stored hash was made with other than
+     * the current encoding. Only the hash changes, so the user's tokens stay valid.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        logger.info("Rehashing the password of " + user.getUsername() + " with the current encoding");
+
+        repository.updatePassword(user.getUsername(), newPassword);
+
+        if (user instanceof User entity) {
+            entity.setPassword(newPassword);
+            return entity;
+        }
+        return loadUserByUsername(user.getUsername());
+    }
 }
@@ -0,0 +1,128 @@
+package app.ecosynergy.api.services;
+
+import app.ecosynergy.api.data.projection.UserSnapshot;
+import app.ecosynergy.api.repositories.TokenVersionRepository;
+import app.ecosynergy.api.repositories.UserRepository;
+import app.ecosynergy.api.security.SecurityProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Caches {@link UserSnapshot}s by user id for {@code security.user-cache-ttl}, so authenticating a request
+ * does not query the user on every call. {@link UserService} evicts a user when it changes or deletes it;
+ * the TTL bounds how long other instances keep a stale entry. Unknown users are not cached.
+ * <p>
+ * Revocations must not wait for the TTL, so every {@code security.token-version-poll-interval} the token
+ * versions bumped on any instance are read back into a separate map that is only ever raised. A snapshot
+ * older than the version recorded there is reloaded, however it got into the cache.
+ */
+@Component
+public class UserSnapshotCache {
+    private static final Logger logger = Logger.getLogger(UserSnapshotCache.class.getName());
+    private static final int PURGE_THRESHOLD = 10000;
+    // Re-reads a little of the previous window, so a bump committed late with an earlier timestamp is not missed
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(10);
+
+    private final Map<Long, Entry> snapshots = new ConcurrentHashMap<>();
+    private final Map<Long, MinVersion> minVersions = new ConcurrentHashMap<>();
+    private volatile Instant polledUntil;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenVersionRepository tokenVersionRepository;
+
+    @Autowired
+    private SecurityProperties securityProperties;
+
+    public Optional<UserSnapshot> find(Long userId) {
+        if (userId == null) return Optional.empty();
+
+        long now = System.nanoTime();
+        MinVersion minVersion = minVersions.get(userId);
+        int requiredVersion = minVersion != null ? minVersion.version : 0;
+
+        Entry entry = snapshots.get(userId);
+        if (entry != null && now - entry.expiresAt < 0 && entry.snapshot.tokenVersion() >= requiredVersion) return Optional.of(entry.snapshot);
+
+        // A read that raced the bump may still return the previous version
+        Optional<UserSnapshot> loaded = userRepository.findSnapshotById(userId)
+                .map(u -> u.tokenVersion() < requiredVersion ? u.withTokenVersion(requiredVersion) : u);
+        if (loaded.isPresent()) {
+            if (snapshots.size() >= PURGE_THRESHOLD) snapshots.values().removeIf(e -> now - e.expiresAt >= 0);
+            snapshots.put(userId, new Entry(loaded.get(), now + securityProperties.getUserCacheTtl().toNanos()));
+        } else {
+            snapshots.remove(userId);
+        }
+        return loaded;
+    }
+
+    /**
+     * Looks a user up by username, bypassing the cache. Only needed for tokens that carry no user id.
+     */
+    public Optional<UserSnapshot> findByUserName(String userName) {
+        return userRepository.findSnapshotByUserName(userName);
+    }
+
+    /**
+     * Drops the entry now and, when called inside a transaction, again after it commits, so a reader that
+     * reloaded the old row in between does not keep it.
+     */
+    public void evict(Long userId) {
+        if (userId == null) return;
+
+        snapshots.remove(userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    snapshots.remove(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Reads the token versions bumped since the previous poll. A recorded version only has to outlive the
+     * snapshots cached before it, so it is dropped after {@code security.user-cache-ttl}.
+     */
+    @Scheduled(fixedDelayString = "#{@securityProperties.tokenVersionPollInterval.toMillis()}")
+    public void pollTokenVersions() {
+        try {
+            Instant polledAt = tokenVersionRepository.now();
+            Instant since = polledUntil != null ? polledUntil : polledAt;
+
+            tokenVersionRepository.findChangedSince(since.minus(POLL_OVERLAP)).forEach(this::raiseTokenVersion);
+            polledUntil = polledAt;
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Could not poll the token versions, revocations on other instances are delayed", e);
+        }
+
+        long now = System.nanoTime();
+        minVersions.values().removeIf(v -> now - v.expiresAt >= 0);
+    }
+
+    private void raiseTokenVersion(Long userId, int tokenVersion) {
+        MinVersion raised = new MinVersion(tokenVersion, System.nanoTime() + securityProperties.getUserCacheTtl().toNanos());
+        minVersions.merge(userId, raised, (current, next) -> current.version >= next.version ? current : next);
+    }
+
+    private record Entry(UserSnapshot snapshot, long expiresAt) {
+    }
+
+    private record MinVersion(int version, long expiresAt) {
+    }
+}
@@ -0,0 +1,90 @@
+package app.ecosynergy.api.services.email;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An HTML template split into its literal parts and {@code {{name}}} placeholders once, when it is loaded.
+ * Rendering HTML-escapes the values and joins them with the literal parts into a single, exactly sized string.
+ */
+public final class CompiledEmailTemplate {
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+    private final String[] literals;
+    private final String[] placeholders;
+
+    private CompiledEmailTemplate(String[] literals, String[] placeholders) {
+        this.literals = literals;
+        this.placeholders = placeholders;
+    }
+
+    public static CompiledEmailTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int position = 0;
+
+        while (true) {
+            int open = source.indexOf(OPEN, position);
+            int close = open < 0 ? -1 : source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) break;
+
+            literals.add(source.substring(position, open));
+            placeholders.add(source.substring(open + OPEN.length(), close).trim());
+            position = close + CLOSE.length();
+        }
+        literals.add(source.substring(position));
+
+        return new CompiledEmailTemplate(literals.toArray(String[]::new), placeholders.toArray(String[]::new));
+    }
+
+    /**
+     * Renders the template; placeholders without a value render as empty strings.
+     */
+    public String render(Map<String, String> values) {
+        String[] parts = new String[literals.length + placeholders.length];
+
+        parts[0] = literals[0];
+        for (int i = 0; i < placeholders.length; i++) {
+            parts[2 * i + 1] = escape(values.get(placeholders[i]));
+            parts[2 * i + 2] = literals[i + 1];
+        }
+
+        // String.join sizes the result up front and copies every part exactly once
+        return String.join("", parts);
+    }
+
+    private static String escape(String value) {
+        if (value == null) return "";
+
+        int first = firstSpecial(value);
+        if (first < 0) return value;
+
+        StringBuilder escaped = new StringBuilder(value.length() + 16).append(value, 0, first);
+        for (int i = first; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> escaped.append("&lt;");
+                case '>' -> escaped.append("&gt;");
+                case '&' -> escaped.append("&amp;");
+                case '"' -> escaped.append("&quot;");
+                case '\'' -> escaped.append("&#39;");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static int firstSpecial(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            switch (value.charAt(i)) {
+                case '<', '>', '&', '"', '\'' -> {
+                    return i;
+                }
+                default -> {
+                }
+            }
+        }
+        return -1;
+    }
+}
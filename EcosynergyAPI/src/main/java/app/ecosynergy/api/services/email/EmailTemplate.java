@@ -0,0 +1,19 @@
+package app.ecosynergy.api.services.email;
+
+public enum EmailTemplate {
+    CONFIRMATION("confirmation"),
+    WELCOME("welcome"),
+    INVITE("invite"),
+    INVITE_ACCEPTED("invite-accepted"),
+    INVITE_REJECTED("invite-rejected");
+
+    private final String fileName;
+
+    EmailTemplate(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getPath() {
+        return "templates/email/" + fileName + ".html";
+    }
+}
@@ -0,0 +1,22 @@
+package app.ecosynergy.api.services.email;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "mail.templates")
+public class EmailTemplateProperties {
+    /**
+     * Rendered bodies kept for reuse when the same template is rendered with the same values. 0 disables the
+     * cache.
+     */
+    private int cacheSize = 0;
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+}
@@ -0,0 +1,60 @@
+package app.ecosynergy.api.services.email;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Loads and compiles every {@link EmailTemplate} once, when the application starts, so a missing or broken
+ * template fails the startup instead of a send. Optionally keeps a small LRU cache of rendered bodies.
+ */
+@Component
+public class EmailTemplateRenderer {
+    private final Map<EmailTemplate, CompiledEmailTemplate> templates = new EnumMap<>(EmailTemplate.class);
+    private final Map<RenderKey, String> renderCache;
+
+    public EmailTemplateRenderer(EmailTemplateProperties properties) {
+        for (EmailTemplate template : EmailTemplate.values()) {
+            templates.put(template, CompiledEmailTemplate.compile(load(template)));
+        }
+
+        int cacheSize = properties.getCacheSize();
+        this.renderCache = cacheSize <= 0 ? null : Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RenderKey, String> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public String render(EmailTemplate template, Map<String, String> values) {
+        if (renderCache == null) return templates.get(template).render(values);
+
+        RenderKey key = new RenderKey(template, Map.copyOf(values));
+        String rendered = renderCache.get(key);
+        if (rendered == null) {
+            rendered = templates.get(template).render(values);
+            renderCache.put(key, rendered);
+        }
+        return rendered;
+    }
+
+    private static String load(EmailTemplate template) {
+        try (InputStream in = new ClassPathResource(template.getPath()).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load email template " + template.getPath(), e);
+        }
+    }
+
+    private record RenderKey(EmailTemplate template, Map<String, String> values) {
+    }
+}
@@ -0,0 +1,22 @@
+package app.ecosynergy.api.services.email;
+
+import jakarta.mail.MessagingException;
+
+import java.io.Serial;
+
+/**
+ * The message was not attempted: no SMTP connection could be opened or borrowed in time, or the SMTP
+ * circuit is open. Retrying later may succeed.
+ */
+public class MailUnavailableException extends MessagingException {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public MailUnavailableException(String message) {
+        super(message);
+    }
+
+    public MailUnavailableException(String message, Exception cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,244 @@
+package app.ecosynergy.api.services.email;
+
+import app.ecosynergy.api.services.resilience.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Sends mail over a small pool of connected, authenticated SMTP transports instead of opening a connection
+ * (and paying STARTTLS and AUTH) per message. At most {@code mail.transport.pool-size} batches are sent at
+ * the same time; other callers wait for a transport. A transport that fails mid-batch is reconnected once
+ * and the message retried on the fresh connection; transports idle for longer than
+ * {@code mail.transport.max-idle} are closed rather than reused, since servers drop idle sessions.
+ * <p>
+ * Every SMTP call has a connect and read timeout, and a circuit breaker stops sending altogether while the
+ * server keeps failing, so a brownout costs callers {@link MailUnavailableException}s rather than threads.
+ */
+@Component
+public class SmtpMailSender {
+    private static final Logger logger = Logger.getLogger(SmtpMailSender.class.getName());
+
+    private final JavaMailSenderImpl mailSender;
+    private final SmtpTransportProperties properties;
+    private final Semaphore permits;
+    private final Deque<PooledTransport> idle = new ConcurrentLinkedDeque<>();
+    private final Counter connectCounter;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final CircuitBreaker circuitBreaker;
+    private volatile boolean closed;
+
+    public SmtpMailSender(JavaMailSenderImpl mailSender, SmtpTransportProperties properties, MeterRegistry meterRegistry) {
+        this.mailSender = mailSender;
+        this.properties = properties;
+        this.permits = new Semaphore(Math.max(1, properties.getPoolSize()), true);
+        this.circuitBreaker = new CircuitBreaker("smtp", properties.getCircuitBreaker(), meterRegistry);
+
+        String prefix = "mail." + protocol() + ".";
+        Properties javaMailProperties = mailSender.getJavaMailProperties();
+        javaMailProperties.putIfAbsent(prefix + "connectiontimeout", String.valueOf(properties.getConnectTimeout().toMillis()));
+        javaMailProperties.putIfAbsent(prefix + "timeout", String.valueOf(properties.getReadTimeout().toMillis()));
+        javaMailProperties.putIfAbsent(prefix + "writetimeout", String.valueOf(properties.getReadTimeout().toMillis()));
+
+        this.connectCounter = Counter.builder("mail.transport.connects")
+                .description("SMTP connections opened")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("mail.sent").register(meterRegistry);
+        this.failedCounter = Counter.builder("mail.failed").register(meterRegistry);
+    }
+
+    public MimeMessage createMimeMessage() {
+        return mailSender.createMimeMessage();
+    }
+
+    public void send(MimeMessage message) throws MessagingException {
+        MessagingException failure = sendAll(List.of(message)).get(message);
+        if (failure != null) throw failure;
+    }
+
+    /**
+     * Sends the messages in batches of {@code mail.transport.batch-size}, each batch over one pooled
+     * transport.
+     *
+     * @return the messages that could not be sent, with the reason; empty when all were sent
+     */
+    public Map<MimeMessage, MessagingException> sendAll(List<MimeMessage> messages) {
+        Map<MimeMessage, MessagingException> failures = new IdentityHashMap<>();
+        int batchSize = Math.max(1, properties.getBatchSize());
+
+        for (int from = 0; from < messages.size(); from += batchSize) {
+            sendBatch(messages.subList(from, Math.min(from + batchSize, messages.size())), failures);
+        }
+        return failures;
+    }
+
+    @PreDestroy
+    public void close() {
+        closed = true;
+
+        PooledTransport transport;
+        while ((transport = idle.pollFirst()) != null) {
+            transport.close();
+        }
+    }
+
+    private void sendBatch(List<MimeMessage> batch, Map<MimeMessage, MessagingException> failures) {
+        try {
+            if (!permits.tryAcquire(properties.getBorrowTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                fail(batch, new MailUnavailableException("Timed out waiting for an SMTP connection"), failures);
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(batch, new MailUnavailableException("Interrupted while waiting for an SMTP connection", e), failures);
+            return;
+        }
+
+        if (!circuitBreaker.tryAcquire()) {
+            permits.release();
+            fail(batch, new MailUnavailableException("The SMTP server is failing, sending is paused"), failures);
+            return;
+        }
+
+        PooledTransport transport = borrow();
+        try {
+            for (int i = 0; i < batch.size(); i++) {
+                MimeMessage message = batch.get(i);
+                try {
+                    sendMessage(transport, message);
+                    sentCounter.increment();
+                    circuitBreaker.onSuccess();
+                } catch (SendFailedException e) {
+                    // Rejected recipients; the server itself answered
+                    circuitBreaker.onSuccess();
+                    failedCounter.increment();
+                    failures.put(message, e);
+                } catch (MessagingException e) {
+                    circuitBreaker.onFailure();
+
+                    // When no connection can be opened or the circuit just opened, the rest of the batch would fail the same way
+                    if (e instanceof MailUnavailableException || circuitBreaker.getState() == CircuitBreaker.State.OPEN) {
+                        fail(batch.subList(i, batch.size()), e, failures);
+                        return;
+                    }
+                    failedCounter.increment();
+                    failures.put(message, e);
+                }
+            }
+        } finally {
+            release(transport);
+            permits.release();
+        }
+    }
+
+    private void sendMessage(PooledTransport transport, MimeMessage message) throws MessagingException {
+        if (message.getSentDate() == null) message.setSentDate(new Date());
+        message.saveChanges();
+
+        if (!transport.isOpen()) transport.reconnect();
+
+        try {
+            transport.send(message);
+        } catch (SendFailedException e) {
+            // Rejected recipients; the connection itself is fine
+            throw e;
+        } catch (MessagingException | IllegalStateException e) {
+            logger.log(Level.INFO, "SMTP connection failed, reconnecting", e);
+            transport.reconnect();
+            transport.send(message);
+        }
+    }
+
+    private PooledTransport borrow() {
+        long maxIdleNanos = properties.getMaxIdle().toNanos();
+
+        PooledTransport transport;
+        while ((transport = idle.pollFirst()) != null) {
+            // isConnected() costs an SMTP NOOP, so a connection is only checked when it is handed out
+            if (System.nanoTime() - transport.releasedAt < maxIdleNanos && transport.isOpen() && transport.transport.isConnected()) {
+                return transport;
+            }
+            transport.close();
+        }
+        return new PooledTransport();
+    }
+
+    private void release(PooledTransport transport) {
+        if (closed || !transport.isOpen()) {
+            transport.close();
+            return;
+        }
+
+        transport.releasedAt = System.nanoTime();
+        idle.offerFirst(transport);
+    }
+
+    /**
+     * Same fallback as {@link JavaMailSenderImpl}: the configured protocol, then the Java Mail properties,
+     * then SMTP.
+     */
+    private String protocol() {
+        if (mailSender.getProtocol() != null) return mailSender.getProtocol();
+        return mailSender.getJavaMailProperties().getProperty("mail.transport.protocol", JavaMailSenderImpl.DEFAULT_PROTOCOL);
+    }
+
+    private void fail(List<MimeMessage> messages, MessagingException e, Map<MimeMessage, MessagingException> failures) {
+        failedCounter.increment(messages.size());
+        messages.forEach(message -> failures.put(message, e));
+    }
+
+    /**
+     * One SMTP connection. It is opened lazily and only ever used by the thread that borrowed it.
+     */
+    private final class PooledTransport {
+        private Transport transport;
+        private long releasedAt;
+
+        private boolean isOpen() {
+            return transport != null;
+        }
+
+        private void send(MimeMessage message) throws MessagingException {
+            transport.sendMessage(message, message.getAllRecipients());
+        }
+
+        private void reconnect() throws MailUnavailableException {
+            close();
+
+            try {
+                Transport fresh = mailSender.getSession().getTransport(protocol());
+                fresh.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+                transport = fresh;
+                connectCounter.increment();
+            } catch (MessagingException e) {
+                throw new MailUnavailableException("Could not connect to the SMTP server: " + e.getMessage(), e);
+            }
+        }
+
+        private void close() {
+            if (transport == null) return;
+
+            try {
+                transport.close();
+            } catch (MessagingException ignored) {
+                // The connection is being discarded anyway
+            } finally {
+                transport = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package app.ecosynergy.api.services.export;
+
+import app.ecosynergy.api.data.projection.FireReadingRow;
+import app.ecosynergy.api.data.projection.ReadingRow;
+import app.ecosynergy.api.data.projection.TeamReference;
+import app.ecosynergy.api.models.SensorType;
+import app.ecosynergy.api.repositories.FireReadingRepository;
+import app.ecosynergy.api.repositories.MQ135ReadingRepository;
+import app.ecosynergy.api.repositories.MQ7ReadingRepository;
+import app.ecosynergy.api.services.TeamReferenceCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.stream.Stream;
+
+@Service
+public class ReadingExportService {
+    private static final ZonedDateTime MIN_TIMESTAMP = Instant.EPOCH.atZone(ZoneOffset.UTC);
+    private static final ZonedDateTime MAX_TIMESTAMP = Instant.parse("9999-12-31T23:59:59Z").atZone(ZoneOffset.UTC);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private MQ135ReadingRepository mq135ReadingRepository;
+
+    @Autowired
+    private MQ7ReadingRepository mq7ReadingRepository;
+
+    @Autowired
+    private FireReadingRepository fireReadingRepository;
+
+    @Autowired
+    private TeamReferenceCache teamReferenceCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Resolves the team up front, so an unknown handle fails with 404 before the response is committed, and
+     * returns a body that streams the team's readings in timestamp order inside a read-only transaction.
+     */
+    public StreamingResponseBody export(SensorType type, String teamHandle, ExportFormat format, ZonedDateTime from, ZonedDateTime to) {
+        TeamReference team = teamReferenceCache.get(teamHandle);
+
+        ZonedDateTime start = from != null ? from : MIN_TIMESTAMP;
+        ZonedDateTime end = to != null ? to : MAX_TIMESTAMP;
+        if (!start.isBefore(end)) throw new IllegalArgumentException("The export start must be before its end");
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        return outputStream -> {
+            ReadingExportWriter writer = new ReadingExportWriter(
+                    new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE),
+                    format,
+                    team.handle(),
+                    team.timeZone(),
+                    type == SensorType.FIRE ? "fire" : "value"
+            );
+
+            writer.writeHeader();
+
+            try {
+                readOnly.executeWithoutResult(status -> {
+                    switch (type) {
+                        case MQ135 -> {
+                            try (Stream<ReadingRow> rows = mq135ReadingRepository.streamByTeamHandle(team.handle(), start, end)) {
+                                rows.forEach(r -> writer.writeRow(r.id(), r.timestamp(), r.value()));
+                            }
+                        }
+                        case MQ7 -> {
+                            try (Stream<ReadingRow> rows = mq7ReadingRepository.streamByTeamHandle(team.handle(), start, end)) {
+                                rows.forEach(r -> writer.writeRow(r.id(), r.timestamp(), r.value()));
+                            }
+                        }
+                        case FIRE -> {
+                            try (Stream<FireReadingRow> rows = fireReadingRepository.streamByTeamHandle(team.handle(), start, end)) {
+                                rows.forEach(r -> writer.writeRow(r.id(), r.timestamp(), r.fire()));
+                            }
+                        }
+                    }
+                });
+                writer.flush();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+    }
+}
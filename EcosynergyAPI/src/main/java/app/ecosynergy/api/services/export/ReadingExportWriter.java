@@ -0,0 +1,66 @@
+package app.ecosynergy.api.services.export;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes export rows one at a time, so memory use does not depend on how many rows are exported.
+ */
+class ReadingExportWriter {
+    private final Writer writer;
+    private final ExportFormat format;
+    private final String teamHandle;
+    private final ZoneId timeZone;
+    private final String valueField;
+
+    ReadingExportWriter(Writer writer, ExportFormat format, String teamHandle, ZoneId timeZone, String valueField) {
+        this.writer = writer;
+        this.format = format;
+        this.teamHandle = teamHandle;
+        this.timeZone = timeZone;
+        this.valueField = valueField;
+    }
+
+    void writeHeader() {
+        if (format == ExportFormat.CSV) write("id,teamHandle,timestamp," + valueField + "\n");
+    }
+
+    void writeRow(Long id, ZonedDateTime timestamp, Object value) {
+        String formattedTimestamp = DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(timestamp.withZoneSameInstant(timeZone));
+
+        if (format == ExportFormat.CSV) {
+            write(id + "," + csv(teamHandle) + "," + formattedTimestamp + "," + (value != null ? value : "") + "\n");
+        } else {
+            write("{\"id\":" + id + ",\"teamHandle\":\"" + json(teamHandle) + "\",\"timestamp\":\"" + formattedTimestamp + "\",\"" + valueField + "\":" + value + "}\n");
+        }
+    }
+
+    void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(String line) {
+        try {
+            writer.write(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) return value;
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private static String json(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
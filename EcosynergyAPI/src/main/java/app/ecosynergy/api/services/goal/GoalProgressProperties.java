@@ -0,0 +1,39 @@
+package app.ecosynergy.api.services.goal;
+
+import app.ecosynergy.api.models.SensorType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "goals")
+public class GoalProgressProperties {
+    /**
+     * Sensor whose readings count towards the team goals. Progress is seeded from its rollups, so only
+     * MQ135 and MQ7 are supported.
+     */
+    private SensorType sensorType = SensorType.MQ135;
+
+    /**
+     * How long a team's totals are advanced in memory before they are reseeded from the rollups, which also
+     * hold the readings committed on other instances.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(1);
+
+    public SensorType getSensorType() {
+        return sensorType;
+    }
+
+    public void setSensorType(SensorType sensorType) {
+        this.sensorType = sensorType;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+}
@@ -0,0 +1,273 @@
+package app.ecosynergy.api.services.goal;
+
+import app.ecosynergy.api.data.projection.ReadingRollup;
+import app.ecosynergy.api.data.projection.ReadingSample;
+import app.ecosynergy.api.data.projection.TeamGoals;
+import app.ecosynergy.api.data.vo.v1.GoalProgressVO;
+import app.ecosynergy.api.data.vo.v1.TeamGoalProgressVO;
+import app.ecosynergy.api.exceptions.ResourceNotFoundException;
+import app.ecosynergy.api.models.GoalPeriod;
+import app.ecosynergy.api.models.RollupGranularity;
+import app.ecosynergy.api.repositories.GoalNotificationRepository;
+import app.ecosynergy.api.repositories.ReadingRollupRepository;
+import app.ecosynergy.api.repositories.TeamRepository;
+import app.ecosynergy.api.services.ingestion.ReadingsPersistedEvent;
+import app.ecosynergy.api.services.notification.TeamNotificationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Tracks how far each team is into its daily, weekly, monthly and annual goals. A team's running totals are
+ * seeded from its rollups and then advanced by every reading committed on this instance, rolling over at the
+ * period boundaries of the team's time zone, so raw readings are never scanned. Totals are reseeded every
+ * {@code goals.refresh-interval} to take in the readings of other instances. A goal notification is sent
+ * the first time any instance sees a period's total reach its goal, as recorded in goal_notifications.
+ */
+@Service
+public class GoalProgressService {
+    private static final Logger logger = Logger.getLogger(GoalProgressService.class.getName());
+
+    private final Map<String, TeamGoalState> states = new ConcurrentHashMap<>();
+
+    @Autowired
+    private GoalProgressProperties properties;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private ReadingRollupRepository rollupRepository;
+
+    @Autowired
+    private GoalNotificationRepository goalNotificationRepository;
+
+    @Autowired
+    private TeamNotificationService teamNotificationService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReadingsPersisted(ReadingsPersistedEvent event) {
+        if (event.sensorType() != properties.getSensorType()) return;
+
+        Map<String, List<ReadingSample>> readingsByTeam = new HashMap<>();
+        for (ReadingSample reading : event.readings()) {
+            if (reading.value() == null || reading.teamHandle() == null) continue;
+            readingsByTeam.computeIfAbsent(reading.teamHandle().toLowerCase(Locale.ROOT), h -> new ArrayList<>()).add(reading);
+        }
+
+        readingsByTeam.forEach((handle, readings) -> {
+            try {
+                Instant now = Instant.now();
+                Map<GoalPeriod, LocalDate> achieved = new EnumMap<>(GoalPeriod.class);
+
+                // Seeding and adding under the map's lock for the team keeps readings a concurrent load
+                // already seeded from being added on top of it
+                TeamGoalState state = states.compute(handle, (h, current) -> {
+                    TeamGoalState next = isFresh(current, now) ? current : load(h, readings, now);
+                    if (next != null) achieved.putAll(next.add(readings));
+                    return next;
+                });
+
+                if (state != null) notifyAchieved(state.goals.id(), achieved);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Could not update the goal progress of team " + handle, e);
+            }
+        });
+    }
+
+    public TeamGoalProgressVO getProgress(String teamHandle) {
+        String handle = teamHandle.toLowerCase(Locale.ROOT);
+
+        Instant now = Instant.now();
+        TeamGoalState state = states.compute(handle, (h, current) -> isFresh(current, now) ? current : load(h, List.of(), now));
+        if (state == null) throw new ResourceNotFoundException("Team not found with the given Handle: " + handle);
+
+        return state.toVO(properties.getSensorType().name());
+    }
+
+    /**
+     * Drops the totals of a team, so goal or time zone changes are picked up by reseeding on next use. Like
+     * {@link app.ecosynergy.api.services.TeamReferenceCache#evict(String)} it drops them again once the
+     * surrounding transaction completes.
+     */
+    public void evict(String teamHandle) {
+        if (teamHandle == null) return;
+
+        String handle = teamHandle.toLowerCase(Locale.ROOT);
+        states.remove(handle);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    states.remove(handle);
+                }
+            });
+        }
+    }
+
+    private boolean isFresh(TeamGoalState state, Instant now) {
+        return state != null && now.isBefore(state.loadedAt.plus(properties.getRefreshInterval()));
+    }
+
+    private TeamGoalState load(String handle, List<ReadingSample> committed, Instant now) {
+        Optional<TeamGoals> goals = teamRepository.findGoalsByHandle(handle);
+        if (goals.isEmpty()) return null;
+
+        TeamGoalState state = new TeamGoalState(goals.get(), now);
+        ZoneId timeZone = state.timeZone;
+
+        // Periods need not nest: early in January the current week began in the previous year
+        LocalDate firstDay = null;
+        LocalDate endDay = null;
+        for (Map.Entry<GoalPeriod, PeriodAccumulator> entry : state.accumulators.entrySet()) {
+            LocalDate start = entry.getValue().start;
+            LocalDate end = entry.getKey().next(start);
+            if (firstDay == null || start.isBefore(firstDay)) firstDay = start;
+            if (endDay == null || end.isAfter(endDay)) endDay = end;
+        }
+        Instant from = firstDay.atStartOfDay(timeZone).toInstant();
+        Instant to = endDay.atStartOfDay(timeZone).toInstant();
+
+        // Days are cut from the UTC-aligned rollups in the team's current time zone
+        RollupGranularity granularity = RollupGranularity.alignedTo(timeZone, from, to);
+        for (ReadingRollup rollup : rollupRepository.findRollups(properties.getSensorType(), handle, granularity, from, to)) {
+            state.seed(LocalDate.ofInstant(rollup.bucketStart(), timeZone), rollup.sum());
+        }
+
+        // The rollups already hold the readings that triggered the load; take them out again so they are
+        // counted once, by the regular path, and can still cross a goal
+        for (ReadingSample reading : committed) {
+            state.seed(reading.timestamp().withZoneSameInstant(timeZone).toLocalDate(), -reading.value());
+        }
+
+        // Goals reached before the load are not marked notified here: another instance may have reached them
+        // without notifying, and the next reading claims them like any other
+        return state;
+    }
+
+    private void notifyAchieved(Long teamId, Map<GoalPeriod, LocalDate> achieved) {
+        achieved.forEach((period, periodStart) -> {
+            if (goalNotificationRepository.markNotified(teamId, period, periodStart)) {
+                teamNotificationService.sendGoalAchievedNotification(teamId, period.getLabel());
+            }
+        });
+    }
+
+    private static final class TeamGoalState {
+        private final TeamGoals goals;
+        private final ZoneId timeZone;
+        private final Instant loadedAt;
+        private final Map<GoalPeriod, PeriodAccumulator> accumulators = new EnumMap<>(GoalPeriod.class);
+
+        private TeamGoalState(TeamGoals goals, Instant now) {
+            this.goals = goals;
+            this.loadedAt = now;
+            this.timeZone = goals.timeZone() != null ? goals.timeZone() : ZoneOffset.UTC;
+
+            LocalDate today = LocalDate.ofInstant(now, timeZone);
+            for (GoalPeriod period : GoalPeriod.values()) {
+                accumulators.put(period, new PeriodAccumulator(period.start(today)));
+            }
+        }
+
+        private synchronized void seed(LocalDate day, double value) {
+            accumulators.forEach((period, accumulator) -> {
+                if (accumulator.start.equals(period.start(day))) accumulator.total += value;
+            });
+        }
+
+        /**
+         * Periods whose goal this instance sees reached for the first time, by the start of the period.
+         */
+        private synchronized Map<GoalPeriod, LocalDate> add(List<ReadingSample> readings) {
+            for (ReadingSample reading : readings) {
+                LocalDate day = reading.timestamp().withZoneSameInstant(timeZone).toLocalDate();
+                accumulators.forEach((period, accumulator) -> accumulator.add(period.start(day), reading.value()));
+            }
+
+            Map<GoalPeriod, LocalDate> achieved = new EnumMap<>(GoalPeriod.class);
+            accumulators.forEach((period, accumulator) -> {
+                if (!accumulator.notified && reached(period, accumulator)) {
+                    accumulator.notified = true;
+                    achieved.put(period, accumulator.start);
+                }
+            });
+            return achieved;
+        }
+
+        private synchronized TeamGoalProgressVO toVO(String sensorType) {
+            LocalDate today = LocalDate.now(timeZone);
+
+            TeamGoalProgressVO vo = new TeamGoalProgressVO();
+            vo.setTeamHandle(goals.handle());
+            vo.setSensorType(sensorType);
+            vo.setTimeZone(timeZone);
+
+            accumulators.forEach((period, accumulator) -> {
+                accumulator.add(period.start(today), 0);
+
+                BigDecimal goal = goals.goal(period);
+
+                GoalProgressVO progress = new GoalProgressVO();
+                progress.setPeriod(period.name().toLowerCase(Locale.ROOT));
+                progress.setPeriodStart(accumulator.start.atStartOfDay(timeZone));
+                progress.setPeriodEnd(period.next(accumulator.start).atStartOfDay(timeZone));
+                progress.setGoal(goal);
+                progress.setTotal(accumulator.total);
+                progress.setProgress(hasGoal(goal) ? accumulator.total * 100 / goal.doubleValue() : null);
+                progress.setAchieved(reached(period, accumulator));
+                vo.getGoals().add(progress);
+            });
+
+            return vo;
+        }
+
+        private boolean reached(GoalPeriod period, PeriodAccumulator accumulator) {
+            BigDecimal goal = goals.goal(period);
+            return hasGoal(goal) && accumulator.total >= goal.doubleValue();
+        }
+
+        private static boolean hasGoal(BigDecimal goal) {
+            return goal != null && goal.signum() > 0;
+        }
+    }
+
+    private static final class PeriodAccumulator {
+        private LocalDate start;
+        private double total;
+        private boolean notified;
+
+        private PeriodAccumulator(LocalDate start) {
+            this.start = start;
+        }
+
+        /**
+         * Readings of an earlier period are ignored; a reading of a later one starts a new period.
+         */
+        private void add(LocalDate periodStart, double value) {
+            if (periodStart.isBefore(start)) return;
+
+            if (periodStart.isAfter(start)) {
+                start = periodStart;
+                total = 0;
+                notified = false;
+            }
+
+            total += value;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package app.ecosynergy.api.services.ingestion;
+
+import app.ecosynergy.api.models.FireReading;
+import app.ecosynergy.api.models.MQ135Reading;
+import app.ecosynergy.api.models.MQ7Reading;
+import app.ecosynergy.api.models.SensorType;
+import app.ecosynergy.api.repositories.ReadingBatchRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Opt-in write-behind path for sensor readings (ingestion.write-behind.enabled). Accepted readings are
+ * queued in memory and persisted by background flushers in batches, either when a batch fills up or when
+ * the flush interval elapses. The queue is drained before the application context shuts down. A batch
+ * that fails twice is split until the readings that cannot be stored are found; only those are dropped.
+ */
+@Component
+public class ReadingWriteBehindBuffer implements SmartLifecycle {
+    private static final Logger logger = Logger.getLogger(ReadingWriteBehindBuffer.class.getName());
+
+    private final IngestionProperties properties;
+    private final ReadingBatchRepository batchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<PendingReading> queue;
+    private final Timer flushTimer;
+    private final Counter flushedCounter;
+    private final Counter rejectedCounter;
+    private final Counter failedCounter;
+    private final List<Thread> flushers = new ArrayList<>();
+    private volatile boolean running;
+
+    public ReadingWriteBehindBuffer(IngestionProperties properties, ReadingBatchRepository batchRepository, TransactionTemplate transactionTemplate, ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.batchRepository = batchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getCapacity()));
+
+        Gauge.builder("ingestion.buffer.depth", queue, BlockingQueue::size)
+                .description("Readings waiting to be flushed")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("ingestion.buffer.flush")
+                .description("Time spent persisting one batch of buffered readings")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("ingestion.buffer.flushed").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("ingestion.buffer.dropped").tag("reason", "full").register(meterRegistry);
+        this.failedCounter = Counter.builder("ingestion.buffer.dropped").tag("reason", "flush_error").register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public boolean offer(MQ135Reading reading) {
+        return offer(new PendingReading(SensorType.MQ135, reading));
+    }
+
+    public boolean offer(MQ7Reading reading) {
+        return offer(new PendingReading(SensorType.MQ7, reading));
+    }
+
+    public boolean offer(FireReading reading) {
+        return offer(new PendingReading(SensorType.FIRE, reading));
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    private boolean offer(PendingReading pending) {
+        if (!running || !queue.offer(pending)) {
+            rejectedCounter.increment();
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled() || running) return;
+
+        running = true;
+        for (int i = 0; i < Math.max(1, properties.getFlusherThreads()); i++) {
+            Thread flusher = new Thread(this::runFlusher, "reading-flusher-" + i);
+            flusher.start();
+            flushers.add(flusher);
+        }
+        logger.info("Write-behind ingestion enabled with " + flushers.size() + " flusher(s)");
+    }
+
+    @Override
+    public void stop() {
+        if (!running) return;
+
+        running = false;
+        long deadline = System.nanoTime() + properties.getShutdownTimeout().toNanos();
+
+        for (Thread flusher : flushers) {
+            try {
+                flusher.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        flushers.clear();
+
+        if (!queue.isEmpty()) {
+            logger.warning("Write-behind buffer stopped with " + queue.size() + " readings not persisted");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // Lower than the embedded web server phases, so requests stop arriving before the queue is drained.
+        return Integer.MAX_VALUE - 4096;
+    }
+
+    private void runFlusher() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long intervalNanos = properties.getFlushInterval().toNanos();
+        List<PendingReading> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingReading first = queue.poll(intervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                long deadline = System.nanoTime() + intervalNanos;
+
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) break;
+
+                    PendingReading next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void flush(List<PendingReading> batch) {
+        long start = System.nanoTime();
+        try {
+            // A second attempt rides out transient failures such as a deadlock or a dropped connection
+            RuntimeException failure = persist(batch);
+            if (failure != null) failure = persist(batch);
+
+            if (failure == null) {
+                flushedCounter.increment(batch.size());
+            } else if (batch.size() > 1) {
+                isolateFailures(batch);
+            } else {
+                drop(batch.get(0), failure);
+            }
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Persists a batch that keeps failing by halves, so that only the readings that cannot be stored are
+     * dropped rather than everything flushed with them.
+     */
+    private void isolateFailures(List<PendingReading> readings) {
+        int middle = readings.size() / 2;
+
+        for (List<PendingReading> half : List.of(readings.subList(0, middle), readings.subList(middle, readings.size()))) {
+            if (half.isEmpty()) continue;
+
+            RuntimeException failure = persist(half);
+            if (failure == null) {
+                flushedCounter.increment(half.size());
+            } else if (half.size() > 1) {
+                isolateFailures(half);
+            } else {
+                drop(half.get(0), failure);
+            }
+        }
+    }
+
+    private void drop(PendingReading pending, RuntimeException failure) {
+        failedCounter.increment();
+        logger.warning("Dropping a buffered " + pending.type() + " reading that could not be persisted: " + failure.getMessage());
+    }
+
+    /**
+     * @return the failure, or null when the readings were persisted
+     */
+    private RuntimeException persist(List<PendingReading> batch) {
+        List<MQ135Reading> mq135Readings = new ArrayList<>();
+        List<MQ7Reading> mq7Readings = new ArrayList<>();
+        List<FireReading> fireReadings = new ArrayList<>();
+
+        for (PendingReading pending : batch) {
+            switch (pending.type()) {
+                case MQ135 -> mq135Readings.add((MQ135Reading) pending.reading());
+                case MQ7 -> mq7Readings.add((MQ7Reading) pending.reading());
+                case FIRE -> fireReadings.add((FireReading) pending.reading());
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                batchRepository.insertMQ135Readings(mq135Readings);
+                batchRepository.insertMQ7Readings(mq7Readings);
+                batchRepository.insertFireReadings(fireReadings);
+
+                if (!mq135Readings.isEmpty()) eventPublisher.publishEvent(ReadingsPersistedEvent.ofMQ135Readings(mq135Readings));
+                if (!mq7Readings.isEmpty()) eventPublisher.publishEvent(ReadingsPersistedEvent.ofMQ7Readings(mq7Readings));
+                if (!fireReadings.isEmpty()) eventPublisher.publishEvent(ReadingsPersistedEvent.ofFireReadings(fireReadings));
+            });
+            return null;
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    record PendingReading(SensorType type, Object reading) {
+    }
+}
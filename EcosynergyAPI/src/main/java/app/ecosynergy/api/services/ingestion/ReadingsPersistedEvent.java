@@ -0,0 +1,32 @@
+package app.ecosynergy.api.services.ingestion;
+
+import app.ecosynergy.api.data.projection.ReadingSample;
+import app.ecosynergy.api.models.FireReading;
+import app.ecosynergy.api.models.MQ135Reading;
+import app.ecosynergy.api.models.MQ7Reading;
+import app.ecosynergy.api.models.SensorType;
+
+import java.util.List;
+
+/**
+ * Published once readings have been written, inside the writing transaction when there is one.
+ */
+public record ReadingsPersistedEvent(SensorType sensorType, List<ReadingSample> readings) {
+    public static ReadingsPersistedEvent ofMQ135Readings(List<MQ135Reading> readings) {
+        return new ReadingsPersistedEvent(SensorType.MQ135, readings.stream()
+                .map(r -> new ReadingSample(r.getId(), r.getTeam().getHandle(), r.getTimestamp(), r.getValue()))
+                .toList());
+    }
+
+    public static ReadingsPersistedEvent ofMQ7Readings(List<MQ7Reading> readings) {
+        return new ReadingsPersistedEvent(SensorType.MQ7, readings.stream()
+                .map(r -> new ReadingSample(r.getId(), r.getTeam().getHandle(), r.getTimestamp(), r.getValue()))
+                .toList());
+    }
+
+    public static ReadingsPersistedEvent ofFireReadings(List<FireReading> readings) {
+        return new ReadingsPersistedEvent(SensorType.FIRE, readings.stream()
+                .map(r -> new ReadingSample(r.getId(), r.getTeam().getHandle(), r.getTimestamp(), Boolean.TRUE.equals(r.getFire()) ? 1.0 : 0.0))
+                .toList());
+    }
+}
@@ -1,73 +1,57 @@
 package app.ecosynergy.api.services.notification;
 
 import app.ecosynergy.api.models.Invite;
+import app.ecosynergy.api.models.NotificationPreference;
 import app.ecosynergy.api.models.User;
 import app.ecosynergy.api.models.UserToken;
+import app.ecosynergy.api.services.outbox.OutboxService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 @Service
 public class InvitationNotificationService {
 
     @Autowired
-    private NotificationService notificationService;
+    private OutboxService outboxService;
 
     public void sendInviteNotification(User recipient, Invite invite) {
-        String title = "Novo Convite para a Equipe!";
-        String body = "@" + invite.getSender().getUserName() + " te convidou para se juntar à equipe " + invite.getTeam().getName() + ".";
+        Notification notification = buildNotification(NotificationTemplate.INVITE_RECEIVED, invite.getSender(), invite);
 
-        Map<String, String> params = setParams(invite, title, body);
-
-        for (UserToken recipientToken : recipient.getTokens()) {
-            recipient.getNotificationPreferences().forEach(notificationPreference -> {
-                if(notificationPreference.getPlatform() == recipientToken.getPlatform() && notificationPreference.isInviteReceived()) {
-                    notificationService.sendNotificationToUser(recipientToken.getToken(), params);
-                }
-            });
-        }
+        outboxService.enqueuePush(tokensOf(recipient, NotificationPreference::isInviteReceived), notification);
     }
 
     public void sendInviteAcceptedNotification(User sender, Invite invite) {
-        String title = "Convite Aceito";
-        String body = "@" + invite.getRecipient().getUserName() + " aceitou seu convite para se juntar à equipe " + invite.getTeam().getName() + "!";
-
-        Map<String, String> params = setParams(invite, title, body);
+        Notification notification = buildNotification(NotificationTemplate.INVITE_ACCEPTED, invite.getRecipient(), invite);
 
-        for (UserToken senderToken : sender.getTokens()) {
-            sender.getNotificationPreferences().forEach(notificationPreference -> {
-                if(notificationPreference.getPlatform() == senderToken.getPlatform() && notificationPreference.isInviteStatus()) {
-                    notificationService.sendNotificationToUser(senderToken.getToken(), params);
-                }
-            });
-        }
+        outboxService.enqueuePush(tokensOf(sender, NotificationPreference::isInviteStatus), notification);
     }
 
     public void sendInviteDeclinedNotification(User sender, Invite invite) {
-        String title = "Convite Recusado";
-        String body = "@" + invite.getRecipient().getUserName() + " recusou seu convite para se juntar à equipe " + invite.getTeam().getName() + ".";
+        Notification notification = buildNotification(NotificationTemplate.INVITE_DECLINED, invite.getRecipient(), invite);
 
-        Map<String, String> params = setParams(invite, title, body);
-
-        for (UserToken senderToken : sender.getTokens()) {
-            sender.getNotificationPreferences().forEach(notificationPreference -> {
-                if(notificationPreference.getPlatform() == senderToken.getPlatform() && notificationPreference.isInviteStatus()) {
-                    notificationService.sendNotificationToUser(senderToken.getToken(), params);
-                }
-            });
-        }
+        outboxService.enqueuePush(tokensOf(sender, NotificationPreference::isInviteStatus), notification);
     }
 
-    private Map<String, String> setParams(Invite invite, String title, String body) {
-        Map<String, String> params = new HashMap<>();
-        params.put("title", title);
-        params.put("body", body);
-        params.put("type", "invite");
-        params.put("inviteId", invite.getId().toString());
-        params.put("status", invite.getStatus().name());
+    private Notification buildNotification(NotificationTemplate template, User actor, Invite invite) {
+        return Notification.of(
+                template,
+                Map.of("user", actor.getUserName(), "team", invite.getTeam().getName()),
+                Map.of("inviteId", invite.getId().toString(), "status", invite.getStatus().name())
+        );
+    }
 
-        return params;
+    /**
+     * Tokens of the platforms on which the user enabled the given preference.
+     */
+    private List<String> tokensOf(User user, Predicate<NotificationPreference> enabled) {
+        return user.getTokens().stream()
+                .filter(token -> user.getNotificationPreferences().stream()
+                        .anyMatch(preference -> preference.getPlatform() == token.getPlatform() && enabled.test(preference)))
+                .map(UserToken::getToken)
+                .toList();
     }
 }
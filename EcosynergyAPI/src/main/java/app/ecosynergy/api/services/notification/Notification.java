@@ -0,0 +1,45 @@
+package app.ecosynergy.api.services.notification;
+
+import app.ecosynergy.api.models.NotificationType;
+import com.google.firebase.messaging.Message;
+import com.google.firebase.messaging.MulticastMessage;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One push notification, built once per event and shared by all of its recipients. {@code data} is the
+ * complete FCM data payload: title, body, type and any extra keys the clients use to deep-link.
+ */
+public record Notification(NotificationType type, String title, String body, Map<String, String> data) {
+    public Notification(NotificationType type, String title, String body, Map<String, String> data) {
+        Map<String, String> payload = new HashMap<>(data);
+        payload.put("title", title);
+        payload.put("body", body);
+        payload.put("type", type.getValue());
+
+        this.type = type;
+        this.title = title;
+        this.body = body;
+        this.data = Map.copyOf(payload);
+    }
+
+    public static Notification of(NotificationTemplate template, Map<String, String> values, Map<String, String> data) {
+        return new Notification(template.getType(), template.getTitle(), template.renderBody(values), data);
+    }
+
+    public Message toMessage(String token) {
+        return Message.builder()
+                .setToken(token)
+                .putAllData(data)
+                .build();
+    }
+
+    public MulticastMessage toMulticastMessage(List<String> tokens) {
+        return MulticastMessage.builder()
+                .addAllTokens(tokens)
+                .putAllData(data)
+                .build();
+    }
+}
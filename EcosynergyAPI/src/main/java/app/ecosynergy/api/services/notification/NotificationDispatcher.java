@@ -0,0 +1,283 @@
+package app.ecosynergy.api.services.notification;
+
+import app.ecosynergy.api.services.TokenService;
+import app.ecosynergy.api.services.resilience.CircuitBreaker;
+import com.google.firebase.messaging.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Delivers push notifications off the caller's thread. Messages wait in a bounded queue and are sent by at
+ * most {@code notifications.dispatch.concurrency} virtual threads, so a slow FCM round trip never holds up a
+ * request and a burst of notifications cannot exhaust memory. Delivery failures are handled here, per
+ * token: dead tokens are deleted together once the send completes and transient failures are retried with
+ * backoff. Callers only learn whether the message was accepted. {@link #sendNow} instead sends on the
+ * caller's thread and hands the tokens worth retrying back to it.
+ * <p>
+ * FCM calls are bounded by the Firebase connect and read timeouts, and a circuit breaker refuses new
+ * notifications while FCM keeps failing, so an outage drops pushes instead of filling the queue.
+ */
+@Component
+public class NotificationDispatcher {
+    private static final Logger logger = Logger.getLogger(NotificationDispatcher.class.getName());
+
+    private final FirebaseMessaging fcm;
+    private final TokenService tokenService;
+    private final NotificationDispatchProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService retryScheduler;
+    private final Timer sendTimer;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter rejectedCounter;
+    private final Counter circuitOpenCounter;
+    private final Counter retriedCounter;
+    private final Counter wastedCounter;
+    private final Counter prunedCounter;
+    private final CircuitBreaker circuitBreaker;
+
+    public NotificationDispatcher(FirebaseMessaging fcm, TokenService tokenService, NotificationDispatchProperties properties, MeterRegistry meterRegistry) {
+        this.fcm = fcm;
+        this.tokenService = tokenService;
+        this.properties = properties;
+
+        int concurrency = Math.max(1, properties.getConcurrency());
+        this.executor = new ThreadPoolExecutor(
+                concurrency,
+                concurrency,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                Thread.ofVirtual().name("notification-dispatch-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("notification-retry").factory());
+
+        Gauge.builder("notifications.dispatch.queue", executor, e -> e.getQueue().size())
+                .description("Notifications waiting to be sent")
+                .register(meterRegistry);
+        Gauge.builder("notifications.dispatch.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Notifications being sent")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("notifications.dispatch.send")
+                .description("Time spent delivering one notification to FCM")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("notifications.dispatch.sent").register(meterRegistry);
+        this.failedCounter = Counter.builder("notifications.dispatch.dropped").tag("reason", "send_error").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("notifications.dispatch.dropped").tag("reason", "full").register(meterRegistry);
+        this.circuitOpenCounter = Counter.builder("notifications.dispatch.dropped").tag("reason", "circuit_open").register(meterRegistry);
+        this.retriedCounter = Counter.builder("notifications.dispatch.retried")
+                .description("Sends retried after a transient FCM failure")
+                .register(meterRegistry);
+        this.wastedCounter = Counter.builder("notifications.dispatch.wasted")
+                .description("Sends spent on tokens FCM reported as no longer valid")
+                .register(meterRegistry);
+        this.prunedCounter = Counter.builder("notifications.tokens.pruned").register(meterRegistry);
+        this.circuitBreaker = new CircuitBreaker("fcm", properties.getCircuitBreaker(), meterRegistry);
+    }
+
+    /**
+     * Queues a notification for one device and returns at once. Returns false if the queue is full, the
+     * FCM circuit is open or the dispatcher is shutting down; the notification is then dropped.
+     */
+    public boolean dispatch(Notification notification, String token) {
+        return dispatch(notification, List.of(token));
+    }
+
+    /**
+     * Queues a notification for several devices, sent as one multicast request. At most
+     * {@link NotificationService#MAX_MULTICAST_TOKENS} tokens are allowed.
+     */
+    public boolean dispatch(Notification notification, List<String> tokens) {
+        return submit(notification, tokens, 0);
+    }
+
+    /**
+     * Sends a notification on the caller's thread and waits for FCM's answer, for callers that keep the
+     * message themselves until it is delivered. Dead tokens are deleted as usual but nothing is retried
+     * here. At most {@link NotificationService#MAX_MULTICAST_TOKENS} tokens are allowed.
+     *
+     * @return the tokens that failed transiently, or all of them when the FCM circuit is open
+     */
+    public List<String> sendNow(Notification notification, List<String> tokens) {
+        if (!circuitBreaker.tryAcquire()) {
+            circuitOpenCounter.increment();
+            return tokens;
+        }
+
+        return deliver(notification, tokens);
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        int pendingRetries = retryScheduler.shutdownNow().size();
+        if (pendingRetries > 0) logger.warning("Dropping " + pendingRetries + " notification retries scheduled after shutdown");
+
+        executor.shutdown();
+
+        try {
+            if (!executor.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warning("Dropping " + executor.shutdownNow().size() + " notifications that were not sent before shutdown");
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean submit(Notification notification, List<String> tokens, int retry) {
+        if (!circuitBreaker.tryAcquire()) {
+            circuitOpenCounter.increment();
+            return false;
+        }
+
+        try {
+            executor.execute(() -> send(notification, tokens, retry));
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            logger.warning("Notification queue is full, dropping a notification");
+            return false;
+        }
+    }
+
+    private void send(Notification notification, List<String> tokens, int retry) {
+        scheduleRetry(notification, deliver(notification, tokens), retry);
+    }
+
+    /**
+     * Makes one FCM call for the tokens and prunes the dead ones.
+     *
+     * @return the tokens that failed transiently
+     */
+    private List<String> deliver(Notification notification, List<String> tokens) {
+        List<String> deadTokens = new ArrayList<>();
+        List<String> retryTokens = new ArrayList<>();
+        List<String> invalidTokens = new ArrayList<>();
+        int successCount = 0;
+        boolean reachable = true;
+        Timer.Sample sample = Timer.start();
+
+        try {
+            if (tokens.size() == 1) {
+                try {
+                    String response = fcm.send(notification.toMessage(tokens.getFirst()));
+                    successCount = 1;
+                    sentCounter.increment();
+                    logger.info("Mensagem enviada: " + response);
+                } catch (FirebaseMessagingException e) {
+                    recordFailure(tokens.getFirst(), e, deadTokens, retryTokens, invalidTokens);
+                }
+            } else {
+                BatchResponse response = fcm.sendEachForMulticast(notification.toMulticastMessage(tokens));
+                logger.info("Notificações enviadas: " + response.getSuccessCount());
+
+                successCount = response.getSuccessCount();
+                if (response.getSuccessCount() > 0) sentCounter.increment(response.getSuccessCount());
+
+                List<SendResponse> responses = response.getResponses();
+                for (int i = 0; i < responses.size(); i++) {
+                    SendResponse result = responses.get(i);
+                    if (!result.isSuccessful()) recordFailure(tokens.get(i), result.getException(), deadTokens, retryTokens, invalidTokens);
+                }
+            }
+        } catch (FirebaseMessagingException e) {
+            // The multicast request as a whole failed, so no token was tried
+            if (SendFailure.classify(e) == SendFailure.TRANSIENT) {
+                reachable = false;
+                retryTokens.addAll(tokens);
+            } else {
+                failedCounter.increment(tokens.size());
+                logger.warning(e.getMessage());
+            }
+        } catch (RuntimeException e) {
+            reachable = false;
+            failedCounter.increment(tokens.size());
+            logger.log(Level.WARNING, "Could not send a notification", e);
+        } finally {
+            sample.stop(sendTimer);
+        }
+
+        // Dead tokens and rejected messages still mean FCM answered; only a send where every token failed
+        // transiently counts against the circuit
+        if (reachable && retryTokens.size() < tokens.size()) {
+            circuitBreaker.onSuccess();
+        } else {
+            circuitBreaker.onFailure();
+        }
+
+        // A message FCM cannot accept fails for every token alike; unless FCM named the token, it is only to
+        // blame when others went through
+        if (successCount > 0) {
+            wastedCounter.increment(invalidTokens.size());
+            deadTokens.addAll(invalidTokens);
+        } else if (!invalidTokens.isEmpty()) {
+            logger.warning("FCM rejected a notification to " + invalidTokens.size() + " device(s) as invalid");
+        }
+
+        pruneTokens(deadTokens);
+        return retryTokens;
+    }
+
+    private void recordFailure(String token, FirebaseMessagingException e, List<String> deadTokens, List<String> retryTokens, List<String> invalidTokens) {
+        switch (SendFailure.classify(e)) {
+            case DEAD_TOKEN -> {
+                failedCounter.increment();
+                wastedCounter.increment();
+                deadTokens.add(token);
+            }
+            case INVALID_ARGUMENT -> {
+                failedCounter.increment();
+                invalidTokens.add(token);
+            }
+            case TRANSIENT -> retryTokens.add(token);
+            case PERMANENT -> {
+                failedCounter.increment();
+                logger.info("Erro ao enviar notificação: " + e);
+            }
+        }
+    }
+
+    private void scheduleRetry(Notification notification, List<String> tokens, int retry) {
+        if (tokens.isEmpty()) return;
+
+        if (retry >= properties.getMaxRetries()) {
+            failedCounter.increment(tokens.size());
+            logger.warning("Giving up on a notification to " + tokens.size() + " device(s) after " + retry + " retries");
+            return;
+        }
+
+        long delayMillis = properties.getRetryBackoff().toMillis() << Math.min(retry, 20);
+        retriedCounter.increment(tokens.size());
+
+        try {
+            retryScheduler.schedule(() -> submit(notification, tokens, retry + 1), delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            failedCounter.increment(tokens.size());
+        }
+    }
+
+    private void pruneTokens(List<String> tokens) {
+        if (tokens.isEmpty()) return;
+
+        try {
+            prunedCounter.increment(tokenService.removeByTokens(tokens));
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Could not remove " + tokens.size() + " dead FCM tokens", e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package app.ecosynergy.api.services.notification;
+
+import app.ecosynergy.api.data.projection.NotificationRecipient;
+import app.ecosynergy.api.repositories.TeamMemberRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Who receives each kind of team alert, per team. A team is loaded with one query the first time it raises
+ * an alert and kept until one of its inputs changes: membership or name (evict by team), or a member's
+ * devices or preferences (evict by user). Alert fan-out then is a single map lookup.
+ */
+@Component
+public class NotificationRecipientIndex {
+    private final Map<Long, TeamRecipients> teams = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> teamsByUser = new ConcurrentHashMap<>();
+
+    @Autowired
+    private TeamMemberRepository teamMemberRepository;
+
+    public Optional<TeamRecipients> find(Long teamId) {
+        if (teamId == null) return Optional.empty();
+
+        TeamRecipients recipients = teams.get(teamId);
+        if (recipients != null) return Optional.of(recipients);
+
+        List<NotificationRecipient> rows = teamMemberRepository.findRecipientsByTeamId(teamId);
+        if (rows.isEmpty()) return Optional.empty();
+
+        recipients = TeamRecipients.of(teamId, rows);
+        rows.forEach(row -> teamsByUser.computeIfAbsent(row.userId(), id -> ConcurrentHashMap.newKeySet()).add(teamId));
+        teams.put(teamId, recipients);
+
+        return Optional.of(recipients);
+    }
+
+    /**
+     * Drops a team now and again after the surrounding transaction completes, so a concurrent alert that
+     * reloaded the team before the change committed does not keep the old recipients.
+     */
+    public void evictTeam(Long teamId) {
+        if (teamId == null) return;
+
+        teams.remove(teamId);
+        afterCompletion(() -> teams.remove(teamId));
+    }
+
+    /**
+     * Drops every team the user belongs to, for changes to the user's devices or preferences.
+     */
+    public void evictUser(Long userId) {
+        if (userId == null) return;
+
+        Runnable evict = () -> {
+            Set<Long> teamIds = teamsByUser.remove(userId);
+            if (teamIds != null) teamIds.forEach(teams::remove);
+        };
+
+        evict.run();
+        afterCompletion(evict);
+    }
+
+    public void clear() {
+        teams.clear();
+        teamsByUser.clear();
+    }
+
+    private static void afterCompletion(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Recipients of one team, already de-duplicated by token. Fire recipients are sorted by their debounce
+     * interval, so the devices due for an alert are a prefix of the list.
+     */
+    public record TeamRecipients(Long teamId, String teamName, List<FireRecipient> fireRecipients, List<String> goalTokens) {
+        static TeamRecipients of(Long teamId, List<NotificationRecipient> rows) {
+            Map<String, Integer> fireIntervals = new LinkedHashMap<>();
+            Set<String> goalTokens = new LinkedHashSet<>();
+
+            for (NotificationRecipient row : rows) {
+                if (row.token() == null) continue;
+
+                if (Boolean.TRUE.equals(row.fireDetection())) {
+                    int interval = row.fireIntervalMinutes() != null ? row.fireIntervalMinutes() : 0;
+                    fireIntervals.merge(row.token(), interval, Math::min);
+                }
+                if (Boolean.TRUE.equals(row.teamGoalReached())) goalTokens.add(row.token());
+            }
+
+            List<FireRecipient> fireRecipients = new ArrayList<>(fireIntervals.size());
+            fireIntervals.forEach((token, interval) -> fireRecipients.add(new FireRecipient(token, interval)));
+            fireRecipients.sort(Comparator.comparingInt(FireRecipient::fireIntervalMinutes));
+
+            return new TeamRecipients(teamId, rows.getFirst().teamName(), List.copyOf(fireRecipients), List.copyOf(goalTokens));
+        }
+
+        public List<String> fireTokens(long minutesSinceLastFire) {
+            List<String> tokens = new ArrayList<>();
+
+            for (FireRecipient recipient : fireRecipients) {
+                if (recipient.fireIntervalMinutes() > minutesSinceLastFire) break;
+                tokens.add(recipient.token());
+            }
+
+            return tokens;
+        }
+    }
+
+    public record FireRecipient(String token, int fireIntervalMinutes) {
+    }
+}
@@ -1,78 +1,76 @@
 package app.ecosynergy.api.services.notification;
 
-import app.ecosynergy.api.services.TokenService;
-import com.google.firebase.messaging.*;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
-import java.util.logging.Logger;
+import java.util.Objects;
 
+/**
+ * Splits a {@link Notification}'s recipients into FCM-sized groups and hands them to the
+ * {@link NotificationDispatcher}, which delivers them in the background.
+ */
 @Service
 public class NotificationService {
 
-    private static final Logger logger = Logger.getLogger(NotificationService.class.getName());
-    private final FirebaseMessaging fcm;
-    @Autowired
-    private TokenService tokenService;
+    public static final int MAX_MULTICAST_TOKENS = 500;
 
-    public NotificationService(FirebaseMessaging fcm) {
-        this.fcm = fcm;
+    private final NotificationDispatcher dispatcher;
+
+    public NotificationService(NotificationDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
     }
 
-    public void sendNotificationToUser(String firebaseToken, Map<String, String> params) {
-        StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
+    public boolean send(String firebaseToken, Notification notification) {
+        if (firebaseToken == null) return true;
+
+        return dispatcher.dispatch(notification, firebaseToken);
+    }
 
-        StackTraceElement caller = stackTrace[2];
+    /**
+     * Sends the same notification to many devices. Duplicate tokens are dropped and the rest go out in
+     * multicast requests of up to {@value #MAX_MULTICAST_TOKENS} tokens, so a team-wide alert costs one FCM
+     * call per chunk instead of one per device.
+     *
+     * @return false when the dispatcher rejected at least one chunk because its queue was full
+     */
+    public boolean send(Collection<String> firebaseTokens, Notification notification) {
+        List<String> tokens = distinct(firebaseTokens);
 
-        String type = switch (caller.getClassName().split("\\.")[caller.getClassName().split("\\.").length - 1]) {
-            case "InviteService" -> "invite";
-            case "FireReadingService" -> "fire";
-            case "TeamService" -> "team";
-            default -> caller.getClassName().split("\\.")[4];
-        };
+        if (tokens.size() == 1) return send(tokens.getFirst(), notification);
 
-        Message.Builder messageBuilder = Message.builder()
-                .setToken(firebaseToken);
+        boolean accepted = true;
+        for (int from = 0; from < tokens.size(); from += MAX_MULTICAST_TOKENS) {
+            List<String> chunk = tokens.subList(from, Math.min(from + MAX_MULTICAST_TOKENS, tokens.size()));
 
-        params.forEach(messageBuilder::putData);
+            accepted &= dispatcher.dispatch(notification, chunk);
+        }
+        return accepted;
+    }
 
-        messageBuilder.putData("type", params.get("type") != null ? params.get("type") : type);
+    /**
+     * Sends the notification on the caller's thread, chunked like {@link #send(Collection, Notification)},
+     * and waits for FCM to answer for every token.
+     *
+     * @return the tokens worth trying again later, empty once every token was delivered or given up on
+     */
+    public List<String> sendNow(Collection<String> firebaseTokens, Notification notification) {
+        List<String> tokens = distinct(firebaseTokens);
 
-        Message message = messageBuilder.build();
+        List<String> undelivered = new ArrayList<>();
+        for (int from = 0; from < tokens.size(); from += MAX_MULTICAST_TOKENS) {
+            List<String> chunk = tokens.subList(from, Math.min(from + MAX_MULTICAST_TOKENS, tokens.size()));
 
-        try {
-            String response = fcm.send(message);
-            logger.info("Mensagem enviada: " + response);
-        } catch (FirebaseMessagingException e) {
-            tokenService.removeAllTokens();
-            logger.warning(e.getMessage());
-        } catch (Exception e) {
-            logger.warning(e.getMessage());
+            undelivered.addAll(dispatcher.sendNow(notification, chunk));
         }
+        return undelivered;
     }
 
-    public void sendNotificationToUsers(List<String> firebaseTokens, String title, String body) {
-        MulticastMessage message = MulticastMessage.builder()
-                .putData("title", title)
-                .putData("body", body)
-                .addAllTokens(firebaseTokens)
-                .build();
-
-        try {
-            BatchResponse response = fcm.sendMulticast(message);
-            logger.info("Notificações enviadas: " + response.getSuccessCount());
-
-            if (response.getFailureCount() > 0) {
-                response.getResponses().forEach(r -> {
-                    if (!r.isSuccessful()) {
-                        logger.info("Erro ao enviar notificação: " + r.getException());
-                    }
-                });
-            }
-        } catch (Exception e) {
-            logger.warning(e.getMessage());
-        }
+    private static List<String> distinct(Collection<String> firebaseTokens) {
+        return firebaseTokens.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
     }
 }
@@ -0,0 +1,73 @@
+package app.ecosynergy.api.services.notification;
+
+import app.ecosynergy.api.models.NotificationType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Title and body of every push notification the API sends. Bodies reference values as {@code {name}}; they
+ * are split into literal and placeholder parts once, when the enum is initialized, so rendering is a single
+ * pass over those parts.
+ */
+public enum NotificationTemplate {
+    FIRE_DETECTED(NotificationType.FIRE, "Fogo Detectado!", "Fogo foi detectado pela equipe {team}. Por favor, tome medidas imediatamente!"),
+    GOAL_ACHIEVED(NotificationType.TEAM, "Meta Atingida!", "A equipe {team} atingiu a meta {goal}!"),
+    MEMBER_ADDED(NotificationType.TEAM, "Bem-vindo à equipe!", "Você entrou na equipe {team}. Estamos animados por tê-lo conosco!"),
+    MEMBER_REMOVED(NotificationType.TEAM, "Você foi removido da equipe", "@{user} te removeu da equipe {team}."),
+    MEMBER_PROMOTED(NotificationType.TEAM, "Você foi promovido!", "@{user} te promoveu para o cargo de {role} na equipe {team}."),
+    INVITE_RECEIVED(NotificationType.INVITE, "Novo Convite para a Equipe!", "@{user} te convidou para se juntar à equipe {team}."),
+    INVITE_ACCEPTED(NotificationType.INVITE, "Convite Aceito", "@{user} aceitou seu convite para se juntar à equipe {team}!"),
+    INVITE_DECLINED(NotificationType.INVITE, "Convite Recusado", "@{user} recusou seu convite para se juntar à equipe {team}.");
+
+    private final NotificationType type;
+    private final String title;
+    private final String[] literals;
+    private final String[] placeholders;
+
+    NotificationTemplate(NotificationType type, String title, String body) {
+        this.type = type;
+        this.title = title;
+
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int position = 0;
+
+        while (true) {
+            int open = body.indexOf('{', position);
+            int close = open < 0 ? -1 : body.indexOf('}', open);
+            if (close < 0) break;
+
+            literals.add(body.substring(position, open));
+            placeholders.add(body.substring(open + 1, close));
+            position = close + 1;
+        }
+        literals.add(body.substring(position));
+
+        this.literals = literals.toArray(String[]::new);
+        this.placeholders = placeholders.toArray(String[]::new);
+    }
+
+    public NotificationType getType() {
+        return type;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Fills in the body; missing values render as empty strings.
+     */
+    public String renderBody(Map<String, String> values) {
+        StringBuilder body = new StringBuilder(literals[0]);
+
+        for (int i = 0; i < placeholders.length; i++) {
+            body.append(values.getOrDefault(placeholders[i], ""));
+            body.append(literals[i + 1]);
+        }
+
+        return body.toString();
+    }
+}
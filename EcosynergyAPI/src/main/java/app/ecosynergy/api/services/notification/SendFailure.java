@@ -0,0 +1,63 @@
+package app.ecosynergy.api.services.notification;
+
+import com.google.firebase.ErrorCode;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+
+import java.util.Locale;
+
+/**
+ * How a failed FCM send should be handled, derived from the error FCM returned for that token.
+ */
+public enum SendFailure {
+    /**
+     * The token will never work again (app uninstalled, token rotated, or not a valid token for this project)
+     * and should be deleted.
+     */
+    DEAD_TOKEN,
+
+    /**
+     * FCM rejected the request as invalid without blaming the token, so it is either the token or the message
+     * itself. It is only a dead token when other tokens of the same multicast went through; otherwise it is
+     * permanent.
+     */
+    INVALID_ARGUMENT,
+
+    /**
+     * FCM is overloaded or briefly unavailable; the same send may succeed later.
+     */
+    TRANSIENT,
+
+    /**
+     * Anything else, such as a credentials problem, that retrying will not fix.
+     */
+    PERMANENT;
+
+    public static SendFailure classify(FirebaseMessagingException e) {
+        if (e == null) return PERMANENT;
+
+        MessagingErrorCode messagingErrorCode = e.getMessagingErrorCode();
+        if (messagingErrorCode != null) {
+            return switch (messagingErrorCode) {
+                case UNREGISTERED, SENDER_ID_MISMATCH -> DEAD_TOKEN;
+                // FCM reports a malformed or foreign token as an invalid argument naming the registration token
+                case INVALID_ARGUMENT -> blamesToken(e) ? DEAD_TOKEN : INVALID_ARGUMENT;
+                case UNAVAILABLE, INTERNAL, QUOTA_EXCEEDED -> TRANSIENT;
+                default -> PERMANENT;
+            };
+        }
+
+        ErrorCode errorCode = e.getErrorCode();
+        if (errorCode == null) return PERMANENT;
+
+        return switch (errorCode) {
+            case UNAVAILABLE, INTERNAL, DEADLINE_EXCEEDED, RESOURCE_EXHAUSTED, ABORTED, UNKNOWN -> TRANSIENT;
+            default -> PERMANENT;
+        };
+    }
+
+    private static boolean blamesToken(FirebaseMessagingException e) {
+        String message = e.getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains("registration token");
+    }
+}
@@ -1,12 +1,13 @@
 package app.ecosynergy.api.services.notification;
 
 import app.ecosynergy.api.models.Team;
-import app.ecosynergy.api.models.TeamMember;
 import app.ecosynergy.api.models.UserToken;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.*;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 import static app.ecosynergy.api.models.Role.COMMON_USER;
 
@@ -16,63 +17,56 @@ public class TeamNotificationService {
     @Autowired
     private NotificationService notificationService;
 
-    private final String type = "team";
+    @Autowired
+    private NotificationRecipientIndex recipientIndex;
 
     public void sendMemberAddedNotification(List<UserToken> newMemberTokens, Team team) {
-        String title = "Bem-vindo à equipe!";
-        String body = "Você entrou na equipe " + team.getName() + ". Estamos animados por tê-lo conosco!";
-
-        Map<String, String> params = setParams(team, title, body);
+        Notification notification = Notification.of(
+                NotificationTemplate.MEMBER_ADDED,
+                Map.of("team", team.getName()),
+                Map.of("teamId", team.getId().toString())
+        );
 
-        for (UserToken newMemberToken : newMemberTokens) {
-            notificationService.sendNotificationToUser(newMemberToken.getToken(), params);
-        }
+        notificationService.send(tokensOf(newMemberTokens), notification);
     }
 
     public void sendMemberRemovedNotification(List<UserToken> removedMemberTokens, String removerName, Team team) {
-        String title = "Você foi removido da equipe";
-        String body = "@" + removerName + " te removeu da equipe " + team.getName() + ".";
-
-        Map<String, String> params = new HashMap<>();
-        params.put("title", title);
-        params.put("body", body);
-        params.put("type", type);
+        Notification notification = Notification.of(
+                NotificationTemplate.MEMBER_REMOVED,
+                Map.of("user", removerName, "team", team.getName()),
+                Map.of()
+        );
 
-        for (UserToken removedMemberToken : removedMemberTokens) {
-            notificationService.sendNotificationToUser(removedMemberToken.getToken(), params);
-        }
+        notificationService.send(tokensOf(removedMemberTokens), notification);
     }
 
     public void sendMemberPromotedNotification(List<UserToken> promotedMemberTokens, String promoterName, Team team, String newRole) {
-        String title = "Você foi promovido!";
-        String body = "@" + promoterName + " te promoveu para o cargo de " + (Objects.equals(newRole, COMMON_USER.name()) ? "USUÁRIO COMUM" : "ADMINISTRADOR") + " na equipe " + team.getName() + ".";
+        String role = Objects.equals(newRole, COMMON_USER.name()) ? "USUÁRIO COMUM" : "ADMINISTRADOR";
 
-        Map<String, String> params = setParams(team, title, body);
+        Notification notification = Notification.of(
+                NotificationTemplate.MEMBER_PROMOTED,
+                Map.of("user", promoterName, "role", role, "team", team.getName()),
+                Map.of("teamId", team.getId().toString())
+        );
 
-        for (UserToken promotedMemberToken : promotedMemberTokens) {
-            notificationService.sendNotificationToUser(promotedMemberToken.getToken(), params);
-        }
+        notificationService.send(tokensOf(promotedMemberTokens), notification);
     }
 
-    public void sendGoalAchievedNotification(Set<TeamMember> members, Team team, String goalType) {
-        String title = "Meta Atingida!";
-        String body = "A equipe " + team.getName() + " atingiu a meta " + goalType + "!";
+    public void sendGoalAchievedNotification(Long teamId, String goalType) {
+        recipientIndex.find(teamId).ifPresent(recipients -> {
+            if (recipients.goalTokens().isEmpty()) return;
 
-        Map<String, String> params = setParams(team, title, body);
+            Notification notification = Notification.of(
+                    NotificationTemplate.GOAL_ACHIEVED,
+                    Map.of("team", recipients.teamName(), "goal", goalType),
+                    Map.of("teamId", teamId.toString())
+            );
 
-        team.getTeamMembers().forEach(teamMember -> teamMember.getUser().getTokens().forEach(userToken -> teamMember.getUser().getNotificationPreferences().forEach(notificationPreference -> {
-            if(notificationPreference.getPlatform() == userToken.getPlatform() && notificationPreference.isTeamGoalReached()) {
-                notificationService.sendNotificationToUser(userToken.getToken(), params);
-            }
-        })));
+            notificationService.send(recipients.goalTokens(), notification);
+        });
     }
 
-    private Map<String, String> setParams(Team team, String title, String body) {
-        Map<String, String> params = new HashMap<>();
-        params.put("title", title);
-        params.put("body", body);
-        params.put("type", type);
-        params.put("teamId", team.getId().toString());
-        return params;
+    private List<String> tokensOf(List<UserToken> userTokens) {
+        return userTokens.stream().map(UserToken::getToken).toList();
     }
-}
\ No newline at end of file
+}
@@ -6,9 +6,9 @@ import app.ecosynergy.api.exceptions.ResourceNotFoundException;
 import app.ecosynergy.api.mapper.DozerMapper;
 import app.ecosynergy.api.models.NotificationPreference;
 import app.ecosynergy.api.models.Platform;
-import app.ecosynergy.api.models.User;
 import app.ecosynergy.api.repositories.NotificationPreferenceRepository;
 import app.ecosynergy.api.services.UserService;
+import app.ecosynergy.api.services.notification.NotificationRecipientIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -22,10 +22,11 @@ public class NotificationPreferenceService {
     @Autowired
     private UserService userService;
 
-    public List<NotificationPreferenceVO> getNotificationPreferences() {
-        User currentUser = userService.getCurrentUser();
+    @Autowired
+    private NotificationRecipientIndex recipientIndex;
 
-        List<NotificationPreference> notificationPreferences = notificationPreferenceRepository.findByUserId(currentUser.getId());
+    public List<NotificationPreferenceVO> getNotificationPreferences() {
+        List<NotificationPreference> notificationPreferences = notificationPreferenceRepository.findByUserId(userService.getCurrentUserId());
 
         return DozerMapper.parseListObjects(notificationPreferences, NotificationPreferenceVO.class);
     }
@@ -33,10 +34,10 @@ public class NotificationPreferenceService {
     public NotificationPreferenceVO getNotificationPreferenceByPlatform(Platform platform) {
         if(platform == null) throw new RequiredObjectIsNullException();
 
-        User currentUser = userService.getCurrentUser();
+        Long currentUserId = userService.getCurrentUserId();
 
-        NotificationPreference notificationPreference = notificationPreferenceRepository.findByUserIdAndPlatform(currentUser.getId(), platform)
-                .orElseThrow(() -> new ResourceNotFoundException("Notification Preference not found with the given User ID: " + currentUser.getId() + " and the given platform: " + platform.name()));
+        NotificationPreference notificationPreference = notificationPreferenceRepository.findByUserIdAndPlatform(currentUserId, platform)
+                .orElseThrow(() -> new ResourceNotFoundException("Notification Preference not found with the given User ID: " + currentUserId + " and the given platform: " + platform.name()));
 
         return DozerMapper.parseObject(notificationPreference, NotificationPreferenceVO.class);
     }
@@ -44,10 +45,10 @@ public class NotificationPreferenceService {
     public NotificationPreferenceVO updateNotificationPreference(NotificationPreferenceVO notificationPreferenceVO) {
         if(notificationPreferenceVO == null) throw new RequiredObjectIsNullException();
 
-        User currentUser = userService.getCurrentUser();
+        Long currentUserId = userService.getCurrentUserId();
 
-        NotificationPreference notificationPreference = notificationPreferenceRepository.findByUserIdAndPlatform(currentUser.getId(), notificationPreferenceVO.getPlatform())
-                .orElseThrow(() -> new ResourceNotFoundException("Notification Preference not found with the given User ID: " + currentUser.getId() + " and the given platform: " + notificationPreferenceVO.getPlatform()));
+        NotificationPreference notificationPreference = notificationPreferenceRepository.findByUserIdAndPlatform(currentUserId, notificationPreferenceVO.getPlatform())
+                .orElseThrow(() -> new ResourceNotFoundException("Notification Preference not found with the given User ID: " + currentUserId + " and the given platform: " + notificationPreferenceVO.getPlatform()));
 
         notificationPreference.setFireDetection(notificationPreferenceVO.isFireDetection());
         notificationPreference.setFireIntervalMinutes(notificationPreferenceVO.getFireIntervalMinutes());
@@ -56,6 +57,7 @@ public class NotificationPreferenceService {
         notificationPreference.setTeamGoalReached(notificationPreferenceVO.isTeamGoalReached());
 
         notificationPreference = notificationPreferenceRepository.save(notificationPreference);
+        recipientIndex.evictUser(currentUserId);
 
         return DozerMapper.parseObject(notificationPreference, NotificationPreferenceVO.class);
     }
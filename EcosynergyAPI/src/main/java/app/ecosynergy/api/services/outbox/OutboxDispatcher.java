@@ -0,0 +1,249 @@
+package app.ecosynergy.api.services.outbox;
+
+import app.ecosynergy.api.data.projection.OutboxMessage;
+import app.ecosynergy.api.models.OutboxChannel;
+import app.ecosynergy.api.repositories.OutboxRepository;
+import app.ecosynergy.api.services.EmailService;
+import app.ecosynergy.api.services.notification.NotificationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.mail.MailException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Delivers outbox messages from a single background thread. It wakes up when a message is committed or
+ * when the poll interval elapses, claims due messages in batches and deletes each one once delivered.
+ * Pushes are sent on this thread, so a message is only deleted once FCM has answered for its tokens; a
+ * push that reached some devices is kept with only the tokens worth retrying. Failed deliveries are retried with exponential backoff until the maximum number of attempts is reached;
+ * after that the row is kept, marked as failed, for inspection.
+ */
+@Component
+public class OutboxDispatcher implements SmartLifecycle {
+    private static final Logger logger = Logger.getLogger(OutboxDispatcher.class.getName());
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxProperties properties;
+    private final OutboxRepository outboxRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EmailService emailService;
+    private final NotificationService notificationService;
+    private final ObjectMapper objectMapper;
+    private final Semaphore wakeUp = new Semaphore(0);
+    private final Map<OutboxChannel, Counter> deliveredCounters = new EnumMap<>(OutboxChannel.class);
+    private final Map<OutboxChannel, Counter> retriedCounters = new EnumMap<>(OutboxChannel.class);
+    private final Map<OutboxChannel, Counter> failedCounters = new EnumMap<>(OutboxChannel.class);
+    private volatile boolean running;
+    private Thread worker;
+
+    public OutboxDispatcher(OutboxProperties properties, OutboxRepository outboxRepository, TransactionTemplate transactionTemplate, EmailService emailService, NotificationService notificationService, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.outboxRepository = outboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.emailService = emailService;
+        this.notificationService = notificationService;
+        this.objectMapper = objectMapper;
+
+        for (OutboxChannel channel : OutboxChannel.values()) {
+            String tag = channel.name().toLowerCase();
+            deliveredCounters.put(channel, Counter.builder("outbox.delivered").tag("channel", tag).register(meterRegistry));
+            retriedCounters.put(channel, Counter.builder("outbox.retried").tag("channel", tag).register(meterRegistry));
+            failedCounters.put(channel, Counter.builder("outbox.failed").tag("channel", tag).register(meterRegistry));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEnqueued(OutboxEnqueuedEvent event) {
+        wakeUp.release();
+    }
+
+    @Override
+    public void start() {
+        if (running) return;
+
+        running = true;
+        worker = new Thread(this::run, "outbox-dispatcher");
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) return;
+
+        running = false;
+        wakeUp.release();
+
+        try {
+            worker.join(Math.max(1, properties.getShutdownTimeout().toMillis()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        worker = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        long pollMillis = Math.max(1, properties.getPollInterval().toMillis());
+
+        while (running) {
+            try {
+                wakeUp.tryAcquire(pollMillis, TimeUnit.MILLISECONDS);
+                wakeUp.drainPermits();
+
+                while (running && dispatchDue() >= properties.getBatchSize()) {
+                    // A full batch means more messages are probably due
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Outbox dispatch failed, it will be retried on the next poll", e);
+            }
+        }
+    }
+
+    /**
+     * Claims one batch of due messages and delivers them.
+     *
+     * @return the number of messages claimed
+     */
+    public int dispatchDue() {
+        Instant now = Instant.now();
+        int batchSize = Math.max(1, properties.getBatchSize());
+
+        List<OutboxMessage> claimed = transactionTemplate.execute(status ->
+                outboxRepository.claimDue(now, now.plus(properties.getLease()), batchSize));
+        if (claimed == null) return 0;
+
+        List<OutboxMessage> emails = new ArrayList<>();
+        for (OutboxMessage message : claimed) {
+            if (message.channel() == OutboxChannel.EMAIL) {
+                emails.add(message);
+            } else {
+                deliverPush(message);
+            }
+        }
+        deliverEmails(emails);
+
+        return claimed.size();
+    }
+
+    /**
+     * Sends the batch's emails together, so they share pooled SMTP connections.
+     */
+    private void deliverEmails(List<OutboxMessage> messages) {
+        if (messages.isEmpty()) return;
+
+        Map<MimeMessage, OutboxMessage> emails = new LinkedHashMap<>();
+        for (OutboxMessage message : messages) {
+            try {
+                OutboxService.EmailPayload email = objectMapper.readValue(message.payload(), OutboxService.EmailPayload.class);
+                emails.put(emailService.createEmail(email.to(), email.subject(), email.htmlContent(), email.preHeader()), message);
+            } catch (JsonProcessingException e) {
+                fail(message, message.attempts() + 1, "Unreadable payload: " + e.getOriginalMessage());
+            } catch (MessagingException e) {
+                fail(message, message.attempts() + 1, e.getMessage());
+            }
+        }
+
+        Map<MimeMessage, MessagingException> failures;
+        try {
+            failures = emailService.sendEmails(new ArrayList<>(emails.keySet()));
+        } catch (MailException e) {
+            emails.values().forEach(message -> retryOrFail(message, e.getMessage()));
+            return;
+        }
+
+        emails.forEach((email, message) -> {
+            MessagingException failure = failures.get(email);
+            if (failure == null) {
+                delivered(message);
+            } else {
+                retryOrFail(message, failure.getMessage());
+            }
+        });
+    }
+
+    private void deliverPush(OutboxMessage message) {
+        OutboxService.PushPayload push;
+        try {
+            push = objectMapper.readValue(message.payload(), OutboxService.PushPayload.class);
+        } catch (JsonProcessingException e) {
+            fail(message, message.attempts() + 1, "Unreadable payload: " + e.getOriginalMessage());
+            return;
+        }
+
+        List<String> undelivered = notificationService.sendNow(push.tokens(), push.toNotification());
+        if (undelivered.isEmpty()) {
+            delivered(message);
+            return;
+        }
+
+        // Devices that already got the push, or whose token is dead, must not get it again
+        if (!undelivered.equals(push.tokens())) {
+            try {
+                outboxRepository.updatePayload(message.id(), objectMapper.writeValueAsString(push.withTokens(undelivered)));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Could not serialize PUSH outbox message " + message.id(), e);
+            }
+        }
+        retryOrFail(message, "FCM unavailable for " + undelivered.size() + " of " + push.tokens().size() + " device(s)");
+    }
+
+    private void delivered(OutboxMessage message) {
+        outboxRepository.delete(message.id());
+        deliveredCounters.get(message.channel()).increment();
+    }
+
+    private void retryOrFail(OutboxMessage message, String error) {
+        int attempts = message.attempts() + 1;
+
+        if (attempts >= properties.getMaxAttempts()) {
+            fail(message, attempts, error);
+            return;
+        }
+
+        outboxRepository.reschedule(message.id(), attempts, Instant.now().plus(backoff(attempts)), truncate(error));
+        retriedCounters.get(message.channel()).increment();
+    }
+
+    private void fail(OutboxMessage message, int attempts, String error) {
+        outboxRepository.markFailed(message.id(), attempts, truncate(error));
+        failedCounters.get(message.channel()).increment();
+        logger.warning("Giving up on " + message.channel() + " outbox message " + message.id() + " after " + attempts + " attempt(s): " + error);
+    }
+
+    /**
+     * Doubles with every attempt, starting at the initial backoff and capped at the maximum.
+     */
+    private Duration backoff(int attempts) {
+        Duration max = properties.getMaxBackoff();
+        Duration delay = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 30));
+
+        return delay.compareTo(max) > 0 ? max : delay;
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) return error;
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
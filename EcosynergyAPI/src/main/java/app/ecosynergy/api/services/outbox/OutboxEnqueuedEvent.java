@@ -0,0 +1,8 @@
+package app.ecosynergy.api.services.outbox;
+
+/**
+ * Published whenever a message is written to the outbox, so the dispatcher can deliver it as soon as the
+ * surrounding transaction commits instead of waiting for its next poll.
+ */
+public record OutboxEnqueuedEvent() {
+}
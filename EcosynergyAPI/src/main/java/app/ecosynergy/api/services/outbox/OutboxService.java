@@ -0,0 +1,75 @@
+package app.ecosynergy.api.services.outbox;
+
+import app.ecosynergy.api.models.NotificationType;
+import app.ecosynergy.api.models.OutboxChannel;
+import app.ecosynergy.api.repositories.OutboxRepository;
+import app.ecosynergy.api.services.notification.Notification;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Records emails and push notifications in the outbox table. The row joins the caller's transaction, so a
+ * message exists exactly when the change that triggered it commits; the {@link OutboxDispatcher} delivers it
+ * afterwards, outside of any request.
+ */
+@Service
+public class OutboxService {
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public void enqueueEmail(String to, String subject, String htmlContent, String preHeader) {
+        enqueue(OutboxChannel.EMAIL, new EmailPayload(to, subject, htmlContent, preHeader));
+    }
+
+    public void enqueuePush(Collection<String> tokens, Notification notification) {
+        List<String> recipients = tokens.stream().filter(Objects::nonNull).distinct().toList();
+        if (recipients.isEmpty()) return;
+
+        enqueue(OutboxChannel.PUSH, new PushPayload(
+                recipients,
+                notification.type(),
+                notification.title(),
+                notification.body(),
+                notification.data()
+        ));
+    }
+
+    private void enqueue(OutboxChannel channel, Object payload) {
+        try {
+            outboxRepository.insert(channel, objectMapper.writeValueAsString(payload), Instant.now());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + channel + " outbox message", e);
+        }
+
+        eventPublisher.publishEvent(new OutboxEnqueuedEvent());
+    }
+
+    public record EmailPayload(String to, String subject, String htmlContent, String preHeader) {
+    }
+
+    public record PushPayload(List<String> tokens, NotificationType type, String title, String body, Map<String, String> data) {
+        public Notification toNotification() {
+            return new Notification(type, title, body, data);
+        }
+
+        public PushPayload withTokens(List<String> tokens) {
+            return new PushPayload(tokens, type, title, body, data);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package app.ecosynergy.api.services.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.logging.Logger;
+
+/**
+ * Stops calling an external service after {@code failure-threshold} consecutive failures, so that callers
+ * fail at once instead of each waiting for their own timeout. After {@code open-duration} a single trial
+ * call is let through: its success closes the circuit again, its failure keeps it open for another period.
+ * A trial that never reports back stops blocking after one more period.
+ */
+public class CircuitBreaker {
+    private static final Logger logger = Logger.getLogger(CircuitBreaker.class.getName());
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier clock;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final Counter rejectedCounter;
+    private final AtomicLong retryAt = new AtomicLong();
+
+    public CircuitBreaker(String name, CircuitBreakerProperties properties, MeterRegistry meterRegistry) {
+        this(name, properties, meterRegistry, System::nanoTime);
+    }
+
+    public CircuitBreaker(String name, CircuitBreakerProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, properties.getFailureThreshold());
+        this.openNanos = properties.getOpenDuration().toNanos();
+        this.clock = clock;
+
+        Gauge.builder("circuit.state", state, s -> s.get().ordinal())
+                .description("0 closed, 1 open, 2 half-open")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("circuit.rejected")
+                .description("Calls refused because the circuit was open")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns whether a call may be made now. Every permitted call must be followed by
+     * {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    public boolean tryAcquire() {
+        if (state.get() == State.CLOSED) return true;
+
+        long now = clock.getAsLong();
+        long at = retryAt.get();
+        if (now - at >= 0 && retryAt.compareAndSet(at, now + openNanos)) {
+            state.set(State.HALF_OPEN);
+            return true;
+        }
+
+        rejectedCounter.increment();
+        return false;
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state.getAndSet(State.CLOSED) != State.CLOSED) logger.info("Circuit " + name + " closed");
+    }
+
+    public void onFailure() {
+        if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            retryAt.set(clock.getAsLong() + openNanos);
+            if (state.getAndSet(State.OPEN) != State.OPEN) logger.warning("Circuit " + name + " opened");
+        }
+    }
+
+    public State getState() {
+        return state.get();
+    }
+}
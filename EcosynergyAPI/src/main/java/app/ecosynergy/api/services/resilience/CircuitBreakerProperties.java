@@ -0,0 +1,27 @@
+package app.ecosynergy.api.services.resilience;
+
+import java.time.Duration;
+
+/**
+ * Circuit breaker settings, nested under the properties of each external service that has one.
+ */
+public class CircuitBreakerProperties {
+    private int failureThreshold = 5;
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+
+    public void setOpenDuration(Duration openDuration) {
+        this.openDuration = openDuration;
+    }
+}
@@ -0,0 +1,50 @@
+package app.ecosynergy.api.services.retention;
+
+import app.ecosynergy.api.models.SensorType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "readings.retention")
+public class ReadingRetentionProperties {
+    private boolean enabled = false;
+    private int chunkSize = 5000;
+    private Duration pause = Duration.ofMillis(100);
+    private Map<SensorType, Duration> maxAge = new EnumMap<>(SensorType.class);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Duration getPause() {
+        return pause;
+    }
+
+    public void setPause(Duration pause) {
+        this.pause = pause;
+    }
+
+    public Map<SensorType, Duration> getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Map<SensorType, Duration> maxAge) {
+        this.maxAge = maxAge;
+    }
+}
@@ -0,0 +1,64 @@
+package app.ecosynergy.api.services.retention;
+
+import app.ecosynergy.api.models.SensorType;
+import app.ecosynergy.api.repositories.ReadingRetentionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Purges raw readings older than the retention configured for their sensor type. Rows go in small
+ * auto-committed chunks with a pause in between, so ingestion never waits behind a long delete. Rollups are
+ * kept, so the stats of purged periods remain available.
+ */
+@Service
+public class ReadingRetentionService {
+    private static final Logger logger = Logger.getLogger(ReadingRetentionService.class.getName());
+
+    @Autowired
+    private ReadingRetentionProperties properties;
+
+    @Autowired
+    private ReadingRetentionRepository retentionRepository;
+
+    @Scheduled(cron = "${readings.retention.cron:0 30 3 * * *}")
+    public void purgeExpiredReadings() {
+        if (!properties.isEnabled()) return;
+
+        for (SensorType sensorType : SensorType.values()) {
+            Duration maxAge = properties.getMaxAge().get(sensorType);
+            if (maxAge == null || maxAge.isZero() || maxAge.isNegative()) continue;
+
+            try {
+                long deleted = purge(sensorType, Instant.now().minus(maxAge));
+                if (deleted > 0) logger.info("Purged " + deleted + " " + sensorType + " readings older than " + maxAge.toDays() + " days");
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Purge of expired " + sensorType + " readings failed, it will be retried on the next run", e);
+            }
+        }
+    }
+
+    public long purge(SensorType sensorType, Instant cutoff) {
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        long total = 0;
+
+        while (true) {
+            int deleted = retentionRepository.deleteOlderThan(sensorType, cutoff, chunkSize);
+            total += deleted;
+
+            if (deleted < chunkSize) return total;
+
+            try {
+                Thread.sleep(properties.getPause().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return total;
+            }
+        }
+    }
+}
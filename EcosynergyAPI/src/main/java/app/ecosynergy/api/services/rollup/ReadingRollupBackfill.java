@@ -0,0 +1,82 @@
+package app.ecosynergy.api.services.rollup;
+
+import app.ecosynergy.api.data.projection.ReadingSample;
+import app.ecosynergy.api.models.SensorType;
+import app.ecosynergy.api.repositories.ReadingRollupRepository;
+import app.ecosynergy.api.repositories.ReadingRollupRepository.BackfillState;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * One-off job that rolls up the readings that existed before the rollup tables did. It walks each reading
+ * table by id up to the watermark captured by the migration, one chunk per transaction, and records its
+ * progress in the same transaction, so it resumes where it stopped after a restart.
+ */
+@Component
+public class ReadingRollupBackfill {
+    private static final Logger logger = Logger.getLogger(ReadingRollupBackfill.class.getName());
+
+    @Autowired
+    private RollupBackfillProperties properties;
+
+    @Autowired
+    private ReadingRollupRepository rollupRepository;
+
+    @Autowired
+    private ReadingRollupService rollupService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!properties.isEnabled()) return;
+
+        Thread.ofVirtual().name("rollup-backfill").start(() -> {
+            try {
+                backfill(SensorType.MQ135);
+                backfill(SensorType.MQ7);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, "Rollup backfill stopped, it will resume on the next start", e);
+            }
+        });
+    }
+
+    public void backfill(SensorType sensorType) {
+        long processed = 0;
+
+        while (true) {
+            Integer chunk = transactionTemplate.execute(status -> backfillChunk(sensorType));
+            if (chunk == null || chunk == 0) break;
+            processed += chunk;
+        }
+
+        if (processed > 0) logger.info("Rolled up " + processed + " existing " + sensorType + " readings");
+    }
+
+    private int backfillChunk(SensorType sensorType) {
+        Optional<BackfillState> stateOpt = rollupRepository.lockBackfillState(sensorType);
+        if (stateOpt.isEmpty() || stateOpt.get().completed()) return 0;
+
+        BackfillState state = stateOpt.get();
+        List<ReadingSample> readings = rollupRepository.findBackfillChunk(sensorType, state.lastId(), state.maxId(), properties.getChunkSize());
+
+        if (readings.isEmpty()) {
+            rollupRepository.updateBackfillState(sensorType, state.maxId(), true);
+            return 0;
+        }
+
+        rollupService.apply(sensorType, readings);
+        rollupRepository.updateBackfillState(sensorType, readings.getLast().id(), false);
+
+        return readings.size();
+    }
+}
@@ -0,0 +1,76 @@
+package app.ecosynergy.api.services.rollup;
+
+import app.ecosynergy.api.data.projection.ReadingRollup;
+import app.ecosynergy.api.data.projection.ReadingSample;
+import app.ecosynergy.api.models.RollupGranularity;
+import app.ecosynergy.api.models.SensorType;
+import app.ecosynergy.api.repositories.ReadingRollupRepository;
+import app.ecosynergy.api.services.ingestion.ReadingsPersistedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Keeps the minute and hour rollups of MQ135 and MQ7 readings up to date. Readings are folded into
+ * per-bucket deltas first, so a batch of readings costs one upsert per touched bucket.
+ */
+@Service
+public class ReadingRollupService {
+    private static final Comparator<ReadingRollup> LOCK_ORDER = Comparator
+            .comparing(ReadingRollup::teamHandle)
+            .thenComparing(ReadingRollup::granularity)
+            .thenComparing(ReadingRollup::bucketStart);
+
+    @Autowired
+    private ReadingRollupRepository rollupRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onReadingsPersisted(ReadingsPersistedEvent event) {
+        if (event.sensorType() == SensorType.FIRE) return;
+
+        apply(event.sensorType(), event.readings());
+    }
+
+    public void apply(SensorType sensorType, List<ReadingSample> readings) {
+        Map<BucketKey, Accumulator> buckets = new HashMap<>();
+
+        for (ReadingSample reading : readings) {
+            if (reading.value() == null || reading.teamHandle() == null) continue;
+
+            Instant timestamp = reading.timestamp().toInstant();
+
+            for (RollupGranularity granularity : RollupGranularity.values()) {
+                BucketKey key = new BucketKey(reading.teamHandle(), granularity, granularity.bucketStart(timestamp));
+                buckets.computeIfAbsent(key, k -> new Accumulator()).add(reading.value());
+            }
+        }
+
+        List<ReadingRollup> rollups = new ArrayList<>(buckets.size());
+        buckets.forEach((key, acc) -> rollups.add(new ReadingRollup(sensorType, key.teamHandle(), key.granularity(), key.bucketStart(), acc.count, acc.sum, acc.min, acc.max)));
+
+        // Upserting in a fixed order keeps concurrent writers from deadlocking on the same buckets
+        rollups.sort(LOCK_ORDER);
+        rollupRepository.merge(rollups);
+    }
+
+    private record BucketKey(String teamHandle, RollupGranularity granularity, Instant bucketStart) {
+    }
+
+    private static final class Accumulator {
+        private long count;
+        private double sum;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        void add(double value) {
+            count++;
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+    }
+}
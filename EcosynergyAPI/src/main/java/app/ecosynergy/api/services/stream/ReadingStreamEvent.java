@@ -0,0 +1,9 @@
+package app.ecosynergy.api.services.stream;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.ZonedDateTime;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ReadingStreamEvent(String sensorType, Long id, String teamHandle, ZonedDateTime timestamp, Double value, Boolean fire) {
+}
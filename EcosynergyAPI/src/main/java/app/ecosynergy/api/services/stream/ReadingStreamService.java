@@ -0,0 +1,234 @@
+package app.ecosynergy.api.services.stream;
+
+import app.ecosynergy.api.data.projection.ReadingSample;
+import app.ecosynergy.api.data.projection.TeamReference;
+import app.ecosynergy.api.exceptions.ServiceUnavailableException;
+import app.ecosynergy.api.models.SensorType;
+import app.ecosynergy.api.services.TeamReferenceCache;
+import app.ecosynergy.api.services.ingestion.ReadingsPersistedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes committed readings to the Server-Sent Event subscribers of their team. Each subscriber owns a
+ * bounded queue, so a slow client only loses its own oldest events instead of holding up ingestion. Queues
+ * are drained by a small pool of {@code reading-stream.writer-threads} platform threads, one subscriber at
+ * a time, so an idle connection costs no thread at all.
+ * <p>
+ * The writers are deliberately not virtual threads: {@code SseEmitter.send} is synchronized, and a virtual
+ * thread blocked on a slow client's socket inside it would pin its carrier, so a few stalled clients could
+ * starve every other virtual thread in the application.
+ */
+@Service
+public class ReadingStreamService {
+    private static final int MAX_EVENTS_PER_TURN = 64;
+
+    private final Map<String, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ReadingStreamProperties properties;
+    private final TeamReferenceCache teamReferenceCache;
+    private final Counter droppedCounter;
+    private final ExecutorService writers;
+    private final ScheduledExecutorService heartbeats;
+
+    public ReadingStreamService(ReadingStreamProperties properties, TeamReferenceCache teamReferenceCache, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.teamReferenceCache = teamReferenceCache;
+
+        Gauge.builder("reading.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open reading stream connections")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("reading.stream.dropped")
+                .description("Readings discarded because a subscriber fell behind")
+                .register(meterRegistry);
+
+        // At most one drain task per subscriber is ever queued, so the queue is bounded by max-subscribers
+        this.writers = Executors.newFixedThreadPool(Math.max(1, properties.getWriterThreads()), Thread.ofPlatform().name("reading-stream-writer-", 0).daemon().factory());
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("reading-stream-heartbeat").daemon().factory());
+
+        // Checking twice per interval keeps every connection within one interval of its last write
+        long checkMillis = Math.max(1, properties.getHeartbeatInterval().toMillis() / 2);
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public SseEmitter subscribe(String teamHandle) {
+        TeamReference team = teamReferenceCache.get(teamHandle);
+
+        if (subscriberCount.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceUnavailableException("Too many open reading streams, please retry later");
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(team.handle(), emitter, new ArrayBlockingQueue<>(Math.max(1, properties.getBufferSize())));
+
+        subscribers.computeIfAbsent(team.handle(), h -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        subscriber.comment("subscribed");
+        schedule(subscriber);
+
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReadingsPersisted(ReadingsPersistedEvent event) {
+        if (subscribers.isEmpty()) return;
+
+        for (ReadingSample sample : event.readings()) {
+            Set<Subscriber> teamSubscribers = subscribers.get(sample.teamHandle());
+            if (teamSubscribers == null || teamSubscribers.isEmpty()) continue;
+
+            ReadingStreamEvent streamEvent = toStreamEvent(event.sensorType(), sample);
+            for (Subscriber subscriber : teamSubscribers) {
+                subscriber.offer(streamEvent);
+                schedule(subscriber);
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        heartbeats.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(this::unsubscribe));
+        writers.shutdownNow();
+    }
+
+    private void sendHeartbeats() {
+        long idleNanos = properties.getHeartbeatInterval().toNanos();
+        long now = System.nanoTime();
+
+        subscribers.values().forEach(set -> set.forEach(subscriber -> {
+            if (now - subscriber.lastSentAt >= idleNanos) {
+                subscriber.comment("heartbeat");
+                schedule(subscriber);
+            }
+        }));
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.closed.get() || !subscriber.scheduled.compareAndSet(false, true)) return;
+
+        try {
+            writers.execute(() -> drain(subscriber));
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            subscriber.scheduled.set(false);
+        }
+    }
+
+    /**
+     * Sends what the subscriber has pending, a bounded number of events per turn so that a busy team does
+     * not keep a writer from the other subscribers.
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            String comment = subscriber.pendingComment.getAndSet(null);
+            if (comment != null) subscriber.emitter.send(SseEmitter.event().comment(comment));
+
+            ReadingStreamEvent event;
+            for (int sent = 0; sent < MAX_EVENTS_PER_TURN && !subscriber.closed.get() && (event = subscriber.queue.poll()) != null; sent++) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .name(event.sensorType().toLowerCase())
+                        .id(String.valueOf(event.id()))
+                        .data(event, MediaType.APPLICATION_JSON));
+            }
+            subscriber.lastSentAt = System.nanoTime();
+        } catch (IOException | IllegalStateException e) {
+            // The client went away
+            unsubscribe(subscriber);
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+
+        if (!subscriber.queue.isEmpty() || subscriber.pendingComment.get() != null) schedule(subscriber);
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) return;
+
+        subscribers.computeIfPresent(subscriber.teamHandle, (handle, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+        subscriberCount.decrementAndGet();
+        subscriber.queue.clear();
+
+        try {
+            subscriber.emitter.complete();
+        } catch (IllegalStateException ignored) {
+            // Already completed by the container
+        }
+    }
+
+    private ReadingStreamEvent toStreamEvent(SensorType sensorType, ReadingSample sample) {
+        ZoneId timeZone = teamReferenceCache.find(sample.teamHandle())
+                .map(TeamReference::timeZone)
+                .orElse(ZoneOffset.UTC);
+
+        boolean isFire = sensorType == SensorType.FIRE;
+
+        return new ReadingStreamEvent(
+                sensorType.name(),
+                sample.id(),
+                sample.teamHandle(),
+                sample.timestamp().withZoneSameInstant(timeZone),
+                isFire ? null : sample.value(),
+                isFire ? sample.value() != null && sample.value() > 0 : null
+        );
+    }
+
+    private final class Subscriber {
+        private final String teamHandle;
+        private final SseEmitter emitter;
+        private final BlockingQueue<ReadingStreamEvent> queue;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicReference<String> pendingComment = new AtomicReference<>();
+        private volatile long lastSentAt = System.nanoTime();
+
+        private Subscriber(String teamHandle, SseEmitter emitter, BlockingQueue<ReadingStreamEvent> queue) {
+            this.teamHandle = teamHandle;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        /**
+         * Never blocks the publishing thread: when the queue is full the oldest pending event is dropped.
+         */
+        private void offer(ReadingStreamEvent event) {
+            while (!queue.offer(event)) {
+                if (queue.poll() != null) droppedCounter.increment();
+            }
+        }
+
+        private void comment(String comment) {
+            pendingComment.compareAndSet(null, comment);
+        }
+    }
+}
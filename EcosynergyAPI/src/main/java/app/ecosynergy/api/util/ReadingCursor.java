@@ -0,0 +1,58 @@
+package app.ecosynergy.api.util;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of a reading in (timestamp, id) order, exchanged with clients as an opaque base64url token.
+ * A page continues strictly after (ascending) or before (descending) the cursor.
+ */
+public record ReadingCursor(ZonedDateTime timestamp, Long id) {
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private static final ZonedDateTime MIN_TIMESTAMP = Instant.EPOCH.atZone(ZoneOffset.UTC);
+    private static final ZonedDateTime MAX_TIMESTAMP = Instant.parse("9999-12-31T23:59:59Z").atZone(ZoneOffset.UTC);
+
+    public static ReadingCursor of(ZonedDateTime timestamp, Long id) {
+        return new ReadingCursor(timestamp.withZoneSameInstant(ZoneOffset.UTC), id);
+    }
+
+    public static ReadingCursor start(Sort.Direction direction) {
+        return direction.isAscending()
+                ? new ReadingCursor(MIN_TIMESTAMP, 0L)
+                : new ReadingCursor(MAX_TIMESTAMP, Long.MAX_VALUE);
+    }
+
+    public static ReadingCursor decode(String cursor, Sort.Direction direction) {
+        if (cursor == null || cursor.isBlank()) return start(direction);
+
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(',');
+
+            Instant timestamp = Instant.parse(decoded.substring(0, separator));
+            long id = Long.parseLong(decoded.substring(separator + 1));
+
+            return new ReadingCursor(timestamp.atZone(ZoneOffset.UTC), id);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null) return DEFAULT_LIMIT;
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    public String encode() {
+        String raw = timestamp.toInstant() + "," + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,10 +1,20 @@
 package app.ecosynergy.api.util;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
 import java.util.regex.Pattern;
 
 public class ValidationUtils {
     private static final String EMAIL_REGEX = "^[\\w-.]+@([\\w-]+\\.)+[\\w-]{2,4}$";
 
+    // Range of the MySQL TIMESTAMP columns readings are stored in
+    private static final Instant MIN_READING_TIMESTAMP = Instant.parse("1970-01-01T00:00:01Z");
+    private static final Instant MAX_READING_TIMESTAMP = Instant.parse("2038-01-19T03:14:07Z");
+    private static final Duration MAX_READING_CLOCK_SKEW = Duration.ofMinutes(5);
+
+    public static final String INVALID_READING_TIMESTAMP_MESSAGE = "Timestamp is out of range or in the future";
+
     public static boolean isValidEmail(String email) {
         Pattern pattern = Pattern.compile(EMAIL_REGEX);
         return pattern.matcher(email).matches();
@@ -27,4 +37,16 @@ public class ValidationUtils {
         }
         return formattedName.toString().trim();
     }
+
+    /**
+     * Whether a reading's timestamp can be stored and is not ahead of now by more than a device clock's
+     * plausible drift.
+     */
+    public static boolean isReadingTimestampValid(ZonedDateTime timestamp) {
+        Instant instant = timestamp.toInstant();
+
+        return !instant.isBefore(MIN_READING_TIMESTAMP)
+                && !instant.isAfter(MAX_READING_TIMESTAMP)
+                && !instant.isAfter(Instant.now().plus(MAX_READING_CLOCK_SKEW));
+    }
 }
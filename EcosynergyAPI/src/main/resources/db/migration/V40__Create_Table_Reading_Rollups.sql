@@ -0,0 +1,29 @@
+CREATE TABLE IF NOT EXISTS reading_rollups (
+    sensor_type VARCHAR(10) NOT NULL CHECK (sensor_type IN ('MQ135', 'MQ7')),
+    team_handle VARCHAR(255) NOT NULL,
+    granularity VARCHAR(10) NOT NULL CHECK (granularity IN ('MINUTE', 'HOUR', 'DAY')),
+    bucket_start TIMESTAMP NOT NULL,
+    reading_count BIGINT NOT NULL,
+    value_sum DOUBLE NOT NULL,
+    value_min DOUBLE NOT NULL,
+    value_max DOUBLE NOT NULL,
+
+    PRIMARY KEY (sensor_type, team_handle, granularity, bucket_start),
+
+    CONSTRAINT fk_reading_rollups_team
+        FOREIGN KEY (team_handle)
+            REFERENCES teams(handle)
+            ON DELETE CASCADE
+            ON UPDATE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS reading_rollup_backfill (
+    sensor_type VARCHAR(10) PRIMARY KEY,
+    max_id BIGINT NOT NULL,
+    last_id BIGINT NOT NULL DEFAULT 0,
+    completed_at TIMESTAMP NULL
+);
+
+-- Readings created after this migration are rolled up as they are written, so the backfill stops at the current maximum id
+INSERT INTO reading_rollup_backfill (sensor_type, max_id) SELECT 'MQ135', COALESCE(MAX(id), 0) FROM mq135_readings;
+INSERT INTO reading_rollup_backfill (sensor_type, max_id) SELECT 'MQ7', COALESCE(MAX(id), 0) FROM mq7_readings;
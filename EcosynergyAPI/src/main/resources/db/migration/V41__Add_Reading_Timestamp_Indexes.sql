@@ -0,0 +1,16 @@
+-- InnoDB appends the primary key to every secondary index, so these also serve the (timestamp, id) cursor order.
+-- The single column indexes MySQL created for the team foreign keys become redundant and are dropped by it.
+ALTER TABLE mq135_readings
+    ADD INDEX idx_mq135_readings_team_timestamp (team_handle, timestamp),
+    ADD INDEX idx_mq135_readings_timestamp (timestamp),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+ALTER TABLE mq7_readings
+    ADD INDEX idx_mq7_readings_team_timestamp (team_handle, timestamp),
+    ADD INDEX idx_mq7_readings_timestamp (timestamp),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+ALTER TABLE fire_readings
+    ADD INDEX idx_fire_readings_team_timestamp (team_handle, timestamp),
+    ADD INDEX idx_fire_readings_timestamp (timestamp),
+    ALGORITHM = INPLACE, LOCK = NONE;
@@ -0,0 +1,13 @@
+CREATE TABLE IF NOT EXISTS outbox_messages (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    channel VARCHAR(10) NOT NULL CHECK (channel IN ('EMAIL', 'PUSH')),
+    payload MEDIUMTEXT NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP(3) NOT NULL,
+    last_error VARCHAR(500) NULL,
+    failed_at TIMESTAMP NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    -- Messages that exhausted their attempts keep failed_at set and drop out of the dispatcher's scan
+    INDEX idx_outbox_messages_due (failed_at, next_attempt_at)
+);
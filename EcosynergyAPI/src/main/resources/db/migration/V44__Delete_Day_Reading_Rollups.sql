@@ -0,0 +1,3 @@
+-- Daily totals are now folded from hour rollups in the team's current time zone; stored days were cut at the
+-- midnight of whatever time zone the team had when the readings came in
+DELETE FROM reading_rollups WHERE granularity = 'DAY';
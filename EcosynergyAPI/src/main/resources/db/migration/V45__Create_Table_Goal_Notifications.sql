@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS goal_notifications (
+    team_id BIGINT(20) NOT NULL,
+    period VARCHAR(10) NOT NULL CHECK (period IN ('DAILY', 'WEEKLY', 'MONTHLY', 'ANNUAL')),
+    period_start DATE NOT NULL,
+    notified_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    -- One row per reached goal period, whichever instance saw the goal reached first inserts it
+    PRIMARY KEY (team_id, period, period_start),
+
+    CONSTRAINT fk_goal_notifications_team
+        FOREIGN KEY (team_id)
+            REFERENCES teams(id)
+            ON DELETE CASCADE
+);
@@ -0,0 +1,4 @@
+-- Lets every instance poll for revocations made on the others
+ALTER TABLE `users`
+ADD COLUMN `token_version_changed_at` TIMESTAMP(3) NULL,
+ADD INDEX `idx_users_token_version_changed_at` (`token_version_changed_at`);
@@ -0,0 +1,127 @@
+package app.ecosynergy.api.benchmarks;
+
+import app.ecosynergy.api.services.email.CompiledEmailTemplate;
+import app.ecosynergy.api.services.email.EmailTemplate;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering the invite email from the compiled template with the string concatenation it replaced.
+ * Run {@link #main} from the IDE or with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=app.ecosynergy.api.benchmarks.EmailTemplateBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+    private CompiledEmailTemplate template;
+    private String recipientFullName;
+    private String teamName;
+
+    @Setup
+    public void setup() throws IOException {
+        try (InputStream in = new ClassPathResource(EmailTemplate.INVITE.getPath()).getInputStream()) {
+            template = CompiledEmailTemplate.compile(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        recipientFullName = "Ana Beatriz Souza";
+        teamName = "Ecosynergy";
+    }
+
+    @Benchmark
+    public String compiledTemplate() {
+        return template.render(Map.of(
+                "recipientFirstName", recipientFullName.split(" ")[0],
+                "teamName", teamName
+        ));
+    }
+
+    @Benchmark
+    public String stringConcatenation() {
+        return concatenatedInvite(recipientFullName, teamName);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EmailTemplateBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static String concatenatedInvite(String recipientFullName, String teamName) {
+        return "<html>\n" +
+                "<head>\n" +
+                "    <meta charset=\"UTF-8\">\n" +
+                "    <meta name=\"viewport\" content=\"width=device-width, initial-scale=1.0\">\n" +
+                "    <title>Email de Envio de Convite Ecosynergy</title>\n" +
+                "    <link href=\"https://fonts.googleapis.com/css2?family=Poppins:wght@300;400;600&display=swap\" rel=\"stylesheet\">\n" +
+                "</head>\n" +
+                "<body style=\"margin: 0; padding: 0; background-color: #f9f9f9; font-family: 'Poppins', sans-serif;\">\n" +
+                "    <table style=\"width: 100%; background-color: #f9f9f9; padding: 20px; text-align: center;\">\n" +
+                "        <tr>\n" +
+                "            <td style=\"text-align: center;\">\n" +
+                "                <table style=\"max-width: 600px; width: 100%; background-color: #ffffff; padding: 20px; border-radius: 8px; box-shadow: 0 2px 4px rgba(0, 0, 0, 0.1); margin: 0 auto; text-align: start;\">\n" +
+                "                    <tr>\n" +
+                "                        <td style=\"padding: 20px 0; text-align: center;\">\n" +
+                "                            <img src=\"https://github.com/Ecosynergy/VisualIdentity/blob/master/Logo_Symbol_Transparent_Wtih_Shine.png?raw=true\" alt=\"Logo Ecosynergy\" style=\"max-width: 200px; height: auto; display: block; margin: 0 auto;\">\n" +
+                "                        </td>\n" +
+                "                    </tr>\n" +
+                "                    <tr>\n" +
+                "                        <td style=\"padding: 20px; font-size: 16px; line-height: 24px; color: #333333;\">\n" +
+                "                            <p style=\"margin: 0 0 15px;\"><i>Olá, " + recipientFullName.split(" ")[0] + ".</i></p>\n" +
+                "                            <h1 style=\"margin: 0 0 20px; font-size: 22px; font-weight: 400; color: #333333; font-weight: bold;\">\n" +
+                "                                Você foi convidado para se juntar à equipe " + teamName + " no Ecosynergy.\n" +
+                "                            </h1>\n" +
+                "                            <p style=\"margin: 0 0 15px;\">A equipe está aguardando sua resposta para iniciar a colaboração.</p>\n" +
+                "                            <table style=\"width: 100%; background-color: #e2e1e1; padding: 20px; margin: 20px 0; border-radius: 6px; text-align: start;\">\n" +
+                "                                <tr>\n" +
+                "                                    <td>\n" +
+                "                                        <p style=\"margin: 0; font-size: 16px;\">\n" +
+                "                                            Se você ainda não conhece o\n" +
+                "                                            <strong>Ecosynergy</strong>, somos uma solução de\n" +
+                "                                            monitoramento ambiental dedicada a\n" +
+                "                                            ajudar empresas a reduzir suas\n" +
+                "                                            emissões e tomar o ambiente industrial\n" +
+                "                                            mais sustentável.\n" +
+                "                                        </p>\n" +
+                "                                        <p style=\"margin: 10px 0; font-size: 16px;\">\n" +
+                "                                            A equipe " + teamName + " acredita que,<br>\n" +
+                "                                            juntos, podemos contribuir para um<br>\n" +
+                "                                            futuro mais verde e responsável.\n" +
+                "                                        </p>\n" +
+                "                                    </td>\n" +
+                "                                </tr>\n" +
+                "                            </table>\n" +
+                "                            <p style=\"margin: 0 0 15px;\">Quando estiver pronto, clique no botão abaixo para aceitar ou recusar o convite:</p>\n" +
+                "                            <table style=\"width: 100%; margin: 20px 0;\">\n" +
+                "                                <tr>\n" +
+                "                                    <td style=\"text-align: center;\">\n" +
+                "                                        <a href=\"http://ec2-44-220-83-117.compute-1.amazonaws.com/redirect/home/\" style=\"display: inline-block; padding: 10px 20px; font-size: 16px; color: #000; background-color: #28a745; text-decoration: none; border-radius: 5px; font-family: 'Poppins', sans-serif; text-align: center; font-weight: 600; cursor: pointer\">\n" +
+                "                                            ACESSAR PLATAFORMA ECOSYNERGY\n" +
+                "                                        </a>\n" +
+                "                                    </td>\n" +
+                "                                </tr>\n" +
+                "                            </table>\n" +
+                "                        </td>\n" +
+                "                    </tr>\n" +
+                "                    <tr>\n" +
+                "                        <td style=\"padding: 20px; font-size: 14px; color: #777777; text-align: center;\">\n" +
+                "                            <p style=\"margin: 0;\">Atenciosamente,<br><strong>Ecosynergy</strong></p>\n" +
+                "                        </td>\n" +
+                "                    </tr>\n" +
+                "                </table>\n" +
+                "            </td>\n" +
+                "        </tr>\n" +
+                "    </table>\n" +
+                "</body>\n" +
+                "</html>";
+    }
+}
@@ -0,0 +1,94 @@
+package app.ecosynergy.api.benchmarks;
+
+import app.ecosynergy.api.data.projection.UserSnapshot;
+import app.ecosynergy.api.security.SecurityProperties;
+import app.ecosynergy.api.security.jwt.JwtTokenProvider;
+import app.ecosynergy.api.services.UserSnapshotCache;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures what {@code JwtTokenFilter} spends on one request's token: with the verified-token cache, with
+ * the shared verifier only, and as it was before, building a verifier per call and verifying twice.
+ * Run {@link #main} from the IDE or with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=app.ecosynergy.api.benchmarks.JwtFilterBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+    private JwtTokenProvider cachingProvider;
+    private JwtTokenProvider verifyingProvider;
+    private String token;
+    private byte[] secret;
+
+    @Setup
+    public void setup() {
+        UserSnapshotCache users = new UserSnapshotCache() {
+            private final Optional<UserSnapshot> user = Optional.of(new UserSnapshot(7L, "gabriel", "Gabriel Ben", "gabriel@ecosynergy.com", 0));
+
+            @Override
+            public Optional<UserSnapshot> find(Long userId) {
+                return user;
+            }
+        };
+
+        SecurityProperties uncached = new SecurityProperties();
+        uncached.setTokenCacheSize(0);
+
+        cachingProvider = new JwtTokenProvider(users, new SecurityProperties());
+        verifyingProvider = new JwtTokenProvider(users, uncached);
+        ReflectionTestUtils.invokeMethod(cachingProvider, "init");
+        ReflectionTestUtils.invokeMethod(verifyingProvider, "init");
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try {
+            token = cachingProvider.createAccessToken(7L, "gabriel", List.of("ADMIN", "COMMON_USER"), 0).getAccessToken();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        secret = Base64.getEncoder().encodeToString("secret".getBytes()).getBytes();
+    }
+
+    @Benchmark
+    public Authentication cachedToken() {
+        return cachingProvider.getAuthentication(token);
+    }
+
+    @Benchmark
+    public Authentication sharedVerifier() {
+        return verifyingProvider.getAuthentication(token);
+    }
+
+    @Benchmark
+    public DecodedJWT verifierPerCall() {
+        // validateToken followed by getAuthentication, each building its own verifier
+        DecodedJWT validated = JWT.require(Algorithm.HMAC256(secret)).build().verify(token);
+        if (validated.getExpiresAt().before(new Date())) throw new IllegalStateException();
+
+        return JWT.require(Algorithm.HMAC256(secret)).build().verify(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
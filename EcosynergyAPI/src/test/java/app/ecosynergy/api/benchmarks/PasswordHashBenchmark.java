@@ -0,0 +1,71 @@
+package app.ecosynergy.api.benchmarks;
+
+import app.ecosynergy.api.security.PasswordEncoders;
+import app.ecosynergy.api.security.PasswordHashingProperties;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the CPU one sign-in spends verifying a password, for each encoding an operator could set as
+ * {@code security.password-hashing.encoding-id}, and for a sign-in that also rehashes a legacy password
+ * into that encoding. Hashing is single-threaded, so the time per operation is the core time it takes.
+ * Run {@link #main} from the IDE or with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=app.ecosynergy.api.benchmarks.PasswordHashBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordHashBenchmark {
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"pbkdf2", "pbkdf2-100000", "pbkdf2-310000", "bcrypt-10", "bcrypt-12"})
+    public String encoding;
+
+    private PasswordEncoder encoder;
+    private String hash;
+    private String legacyHash;
+
+    @Setup
+    public void setup() {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setPbkdf2Iterations(Map.of("pbkdf2-100000", 100000, "pbkdf2-310000", 310000));
+
+        if (encoding.startsWith("bcrypt-")) {
+            properties.setEncodingId(PasswordEncoders.BCRYPT_ID);
+            properties.setBcryptStrength(Integer.parseInt(encoding.substring("bcrypt-".length())));
+        } else {
+            properties.setEncodingId(encoding);
+        }
+
+        encoder = PasswordEncoders.create(properties);
+        hash = encoder.encode(PASSWORD);
+        legacyHash = PasswordEncoders.create(new PasswordHashingProperties()).encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean signIn() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    /**
+     * The one sign-in per user that verifies the legacy hash and stores a new one.
+     */
+    @Benchmark
+    public String upgradingSignIn() {
+        if (!encoder.matches(PASSWORD, legacyHash)) throw new IllegalStateException();
+        return encoder.upgradeEncoding(legacyHash) ? encoder.encode(PASSWORD) : legacyHash;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PasswordHashBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,119 @@
+package app.ecosynergy.api.unittests.mockito.services;
+
+import app.ecosynergy.api.exceptions.ServiceUnavailableException;
+import app.ecosynergy.api.security.BoundedPasswordEncoder;
+import app.ecosynergy.api.security.PasswordHashingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PasswordHashingProperties properties;
+
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setup() {
+        properties = new PasswordHashingProperties();
+        properties.setConcurrency(1);
+        properties.setQueueCapacity(1);
+        properties.setTimeout(Duration.ofSeconds(5));
+
+        meterRegistry = new SimpleMeterRegistry();
+        encoder = new BoundedPasswordEncoder(new SlowEncoder(), properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    void hashesOnThePool() {
+        release.countDown();
+
+        assertEquals("hash:secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "hash:secret"));
+        assertFalse(encoder.matches("wrong", "hash:secret"));
+
+        assertEquals(1, meterRegistry.timer("password.hash.duration", "operation", "encode").count());
+        assertEquals(2, meterRegistry.timer("password.hash.duration", "operation", "matches").count());
+        assertEquals(3, meterRegistry.timer("password.hash.queue.wait").count());
+    }
+
+    @Test
+    void rejectsWhenTheQueueIsFull() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> running = callers.submit(() -> encoder.encode("first"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> queued = callers.submit(() -> encoder.encode("second"));
+            awaitQueued();
+
+            assertThrows(ServiceUnavailableException.class, () -> encoder.encode("third"));
+            assertEquals(1, meterRegistry.counter("password.hash.rejected", "reason", "full").count());
+
+            release.countDown();
+            assertEquals("hash:first", running.get(5, TimeUnit.SECONDS));
+            assertEquals("hash:second", queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void givesUpAfterTheTimeout() {
+        properties.setTimeout(Duration.ofMillis(50));
+
+        assertThrows(ServiceUnavailableException.class, () -> encoder.encode("secret"));
+        assertEquals(1, meterRegistry.counter("password.hash.rejected", "reason", "timeout").count());
+    }
+
+    private void awaitQueued() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("password.hash.queue").gauge().value() < 1) {
+            if (System.nanoTime() > deadline) fail("Hash was never queued");
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Blocks every hash until the test releases it.
+     */
+    private class SlowEncoder implements PasswordEncoder {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return encodedPassword.equals("hash:" + rawPassword);
+        }
+
+        private void await() {
+            started.countDown();
+            try {
+                if (!release.await(5, TimeUnit.SECONDS)) throw new IllegalStateException("Never released");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package app.ecosynergy.api.unittests.mockito.services;
+
+import app.ecosynergy.api.services.email.CompiledEmailTemplate;
+import app.ecosynergy.api.services.email.EmailTemplate;
+import app.ecosynergy.api.services.email.EmailTemplateProperties;
+import app.ecosynergy.api.services.email.EmailTemplateRenderer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailTemplateRendererTest {
+
+    @Test
+    void everyTemplateRendersWithoutLeftoverPlaceholders() {
+        EmailTemplateRenderer renderer = new EmailTemplateRenderer(new EmailTemplateProperties());
+        Map<String, String> values = Map.of(
+                "firstName", "Ana",
+                "code", "123456",
+                "recipientFirstName", "Bruno",
+                "recipientFullName", "Bruno Lima",
+                "senderFirstName", "Ana",
+                "teamName", "Ecosynergy"
+        );
+
+        for (EmailTemplate template : EmailTemplate.values()) {
+            String html = renderer.render(template, values);
+
+            assertTrue(html.startsWith("<html>"), template.name());
+            assertTrue(html.endsWith("</html>"), template.name());
+            assertFalse(html.contains("{{"), template.name());
+        }
+
+        String invite = renderer.render(EmailTemplate.INVITE, values);
+        assertTrue(invite.contains("<i>Olá, Bruno.</i>"));
+        assertTrue(invite.contains("Você foi convidado para se juntar à equipe Ecosynergy no Ecosynergy."));
+    }
+
+    @Test
+    void valuesAreEscapedAndMissingValuesAreEmpty() {
+        CompiledEmailTemplate template = CompiledEmailTemplate.compile("<p>{{ name }} / {{team}} / {{missing}}</p>");
+
+        assertEquals("<p>Ana &lt;b&gt; &amp; &quot;Co&quot; / Eco&#39;s / </p>",
+                template.render(Map.of("name", "Ana <b> & \"Co\"", "team", "Eco's")));
+        assertEquals("no placeholders", CompiledEmailTemplate.compile("no placeholders").render(Map.of()));
+    }
+
+    @Test
+    void renderCacheReusesIdenticalBodies() {
+        EmailTemplateProperties properties = new EmailTemplateProperties();
+        properties.setCacheSize(2);
+        EmailTemplateRenderer renderer = new EmailTemplateRenderer(properties);
+
+        String first = renderer.render(EmailTemplate.WELCOME, Map.of("firstName", "Ana"));
+
+        assertSame(first, renderer.render(EmailTemplate.WELCOME, Map.of("firstName", "Ana")));
+        assertNotSame(first, renderer.render(EmailTemplate.WELCOME, Map.of("firstName", "Bruno")));
+    }
+}
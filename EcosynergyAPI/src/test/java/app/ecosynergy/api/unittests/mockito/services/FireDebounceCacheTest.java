@@ -0,0 +1,86 @@
+package app.ecosynergy.api.unittests.mockito.services;
+
+import app.ecosynergy.api.models.FireReading;
+import app.ecosynergy.api.repositories.FireReadingRepository;
+import app.ecosynergy.api.services.FireDebounceCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class FireDebounceCacheTest {
+    @InjectMocks
+    private FireDebounceCache cache;
+
+    @Mock
+    private FireReadingRepository repository;
+
+    @BeforeEach
+    void setupMocks() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void recordFireLoadsOnceAndReturnsPreviousFire() {
+        ZonedDateTime stored = ZonedDateTime.parse("2024-05-01T10:00:00Z");
+        FireReading latest = new FireReading();
+        latest.setTimestamp(stored);
+        when(repository.findLatestByTeamId(1L)).thenReturn(Optional.of(latest));
+
+        ZonedDateTime first = stored.plusMinutes(5);
+        ZonedDateTime second = stored.plusMinutes(20);
+
+        assertEquals(stored, cache.recordFire(1L, first));
+        assertEquals(first, cache.recordFire(1L, second));
+        // A late reading does not move the last fire back
+        assertEquals(second, cache.recordFire(1L, stored.plusMinutes(1)));
+        assertEquals(second, cache.recordFire(1L, second.plusMinutes(1)));
+
+        verify(repository, times(1)).findLatestByTeamId(1L);
+    }
+
+    @Test
+    void recordFireOfTeamWithoutFires() {
+        when(repository.findLatestByTeamId(2L)).thenReturn(Optional.empty());
+
+        ZonedDateTime timestamp = ZonedDateTime.parse("2024-05-01T10:00:00Z");
+
+        assertNull(cache.recordFire(2L, timestamp));
+        assertEquals(timestamp, cache.recordFire(2L, timestamp.plusMinutes(1)));
+    }
+
+    @Test
+    void concurrentFiresEachSeeTheirPredecessor() throws Exception {
+        when(repository.findLatestByTeamId(3L)).thenReturn(Optional.empty());
+
+        ZonedDateTime base = ZonedDateTime.parse("2024-05-01T10:00:00Z");
+        List<Callable<ZonedDateTime>> fires = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            ZonedDateTime timestamp = base.plusSeconds(i);
+            fires.add(() -> cache.recordFire(3L, timestamp));
+        }
+
+        int firstFires = 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Future<ZonedDateTime> previous : executor.invokeAll(fires)) {
+                if (previous.get() == null) firstFires++;
+            }
+        }
+
+        assertEquals(1, firstFires);
+        verify(repository, times(1)).findLatestByTeamId(3L);
+    }
+}
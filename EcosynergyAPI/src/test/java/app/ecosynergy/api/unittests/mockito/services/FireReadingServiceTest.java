@@ -1,26 +1,35 @@
 package app.ecosynergy.api.unittests.mockito.services;
 
+import app.ecosynergy.api.data.projection.TeamReference;
+import app.ecosynergy.api.data.vo.v1.BatchItemResultVO;
 import app.ecosynergy.api.data.vo.v1.FireReadingVO;
-import app.ecosynergy.api.data.vo.v1.TeamVO;
 import app.ecosynergy.api.exceptions.RequiredObjectIsNullException;
-import app.ecosynergy.api.mapper.DozerMapper;
+import app.ecosynergy.api.exceptions.ServiceUnavailableException;
 import app.ecosynergy.api.models.FireReading;
 import app.ecosynergy.api.repositories.FireReadingRepository;
-import app.ecosynergy.api.repositories.TeamRepository;
+import app.ecosynergy.api.repositories.ReadingBatchRepository;
+import app.ecosynergy.api.services.FireDebounceCache;
 import app.ecosynergy.api.services.FireReadingService;
-import app.ecosynergy.api.services.TeamService;
+import app.ecosynergy.api.services.TeamReferenceCache;
+import app.ecosynergy.api.services.ingestion.ReadingWriteBehindBuffer;
+import app.ecosynergy.api.services.notification.FireSensorNotificationService;
 import app.ecosynergy.api.unittests.mapper.mocks.MockFireReading;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
 
 class FireReadingServiceTest {
     MockFireReading input;
@@ -29,13 +38,25 @@ class FireReadingServiceTest {
     private FireReadingService service;
 
     @Mock
-    private TeamService teamService;
+    private TeamReferenceCache teamReferenceCache;
 
     @Mock
-    private TeamRepository teamRepository;
+    private FireSensorNotificationService fireSensorNotificationService;
 
     @Mock
     private FireReadingRepository repository;
+
+    @Mock
+    private FireDebounceCache fireDebounceCache;
+
+    @Mock
+    private ReadingBatchRepository batchRepository;
+
+    @Mock
+    private ReadingWriteBehindBuffer writeBehindBuffer;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     
     @BeforeEach
     void setupMocks(){
@@ -47,7 +68,7 @@ class FireReadingServiceTest {
     void findById() {
         FireReading reading = input.mockEntity(1);
 
-        when(teamService.findByHandle(any(String.class))).thenReturn(DozerMapper.parseObject(reading.getTeam(), TeamVO.class));
+        when(teamReferenceCache.get(any(String.class))).thenReturn(reference(reading));
         when(repository.findByIdWithTeam(reading.getId())).thenReturn(Optional.of(reading));
 
         FireReadingVO result = service.findById(reading.getId());
@@ -67,9 +88,9 @@ class FireReadingServiceTest {
         FireReadingVO vo = input.mockVO(1);
         vo.setKey(1L);
 
-        when(teamRepository.findByHandleWithMembers(any(String.class))).thenReturn(Optional.of(entity.getTeam()));
+        when(teamReferenceCache.get(any(String.class))).thenReturn(reference(entity));
         when(repository.save(any(FireReading.class))).thenReturn(entity);
-        when(repository.findLatestByTeamId(any(Long.class))).thenReturn(Optional.of(entity));
+        when(fireDebounceCache.recordFire(any(Long.class), any())).thenReturn(entity.getTimestamp());
 
         FireReadingVO result = service.create(vo);
 
@@ -83,6 +104,21 @@ class FireReadingServiceTest {
         assertFalse(result.getFire());
     }
 
+    @Test
+    void createEvictsTheFireWhenItCannotBeBuffered() {
+        FireReading entity = input.mockEntity(2);
+
+        when(teamReferenceCache.get(any(String.class))).thenReturn(reference(entity));
+        when(writeBehindBuffer.isEnabled()).thenReturn(true);
+        when(writeBehindBuffer.offer(any(FireReading.class))).thenReturn(false);
+
+        assertThrows(ServiceUnavailableException.class, () -> service.create(input.mockVO(2)));
+
+        verify(fireDebounceCache).recordFire(eq(entity.getTeam().getId()), any());
+        verify(fireDebounceCache).evict(entity.getTeam().getId());
+        verify(fireSensorNotificationService, never()).sendFireDetectedNotification(any(), any());
+    }
+
     @Test
     void createWithNullFireReading() {
         Exception exception = assertThrows(RequiredObjectIsNullException.class, () -> service.create(null));
@@ -92,4 +128,52 @@ class FireReadingServiceTest {
 
         assertTrue(actualMessage.contains(expectedMessage));
     }
-}
\ No newline at end of file
+
+    @Test
+    void createAll() {
+        FireReading entity = input.mockEntity(1);
+
+        FireReadingVO valid = input.mockVO(1);
+        FireReadingVO unknownTeam = input.mockVO(2);
+        unknownTeam.setTeamHandle("unknown");
+        FireReadingVO incomplete = input.mockVO(3);
+        incomplete.setFire(null);
+
+        List<FireReadingVO> readings = new ArrayList<>();
+        readings.add(valid);
+        readings.add(unknownTeam);
+        readings.add(incomplete);
+
+        when(teamReferenceCache.find("ecosynergyofc")).thenReturn(Optional.of(reference(entity)));
+        when(teamReferenceCache.find("unknown")).thenReturn(Optional.empty());
+        doAnswer(invocation -> {
+            List<FireReading> accepted = invocation.getArgument(0);
+            for (int i = 0; i < accepted.size(); i++) accepted.get(i).setId(100L + i);
+            return null;
+        }).when(batchRepository).insertFireReadings(anyList());
+
+        List<BatchItemResultVO> results = service.createAll(readings);
+
+        assertEquals(3, results.size());
+
+        assertEquals(BatchItemResultVO.Status.CREATED, results.get(0).getStatus());
+        assertEquals(100L, results.get(0).getId());
+        assertEquals("ecosynergyofc", results.get(0).getTeamHandle());
+
+        assertEquals(BatchItemResultVO.Status.REJECTED, results.get(1).getStatus());
+        assertNull(results.get(1).getId());
+        assertTrue(results.get(1).getMessage().contains("unknown"));
+
+        assertEquals(BatchItemResultVO.Status.REJECTED, results.get(2).getStatus());
+        assertEquals(2, results.get(2).getIndex());
+    }
+
+    @Test
+    void createAllWithNullList() {
+        assertThrows(RequiredObjectIsNullException.class, () -> service.createAll(null));
+    }
+
+    private TeamReference reference(FireReading reading) {
+        return new TeamReference(reading.getTeam().getId(), reading.getTeam().getHandle(), reading.getTeam().getTimeZone());
+    }
+}
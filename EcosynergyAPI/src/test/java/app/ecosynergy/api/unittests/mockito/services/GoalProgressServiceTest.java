@@ -0,0 +1,170 @@
+package app.ecosynergy.api.unittests.mockito.services;
+
+import app.ecosynergy.api.data.projection.ReadingRollup;
+import app.ecosynergy.api.data.projection.ReadingSample;
+import app.ecosynergy.api.data.projection.TeamGoals;
+import app.ecosynergy.api.data.vo.v1.GoalProgressVO;
+import app.ecosynergy.api.data.vo.v1.TeamGoalProgressVO;
+import app.ecosynergy.api.exceptions.ResourceNotFoundException;
+import app.ecosynergy.api.models.GoalPeriod;
+import app.ecosynergy.api.models.RollupGranularity;
+import app.ecosynergy.api.models.SensorType;
+import app.ecosynergy.api.repositories.GoalNotificationRepository;
+import app.ecosynergy.api.repositories.ReadingRollupRepository;
+import app.ecosynergy.api.repositories.TeamRepository;
+import app.ecosynergy.api.services.goal.GoalProgressProperties;
+import app.ecosynergy.api.services.goal.GoalProgressService;
+import app.ecosynergy.api.services.ingestion.ReadingsPersistedEvent;
+import app.ecosynergy.api.services.notification.TeamNotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class GoalProgressServiceTest {
+    private static final ZoneId TIME_ZONE = ZoneId.of("America/Sao_Paulo");
+
+    @InjectMocks
+    private GoalProgressService service;
+
+    @Spy
+    private GoalProgressProperties properties = new GoalProgressProperties();
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    @Mock
+    private ReadingRollupRepository rollupRepository;
+
+    @Mock
+    private GoalNotificationRepository goalNotificationRepository;
+
+    @Mock
+    private TeamNotificationService teamNotificationService;
+
+    @BeforeEach
+    void setupMocks() {
+        MockitoAnnotations.openMocks(this);
+
+        TeamGoals goals = new TeamGoals(1L, "ecosynergyofc", TIME_ZONE, new BigDecimal("75"), new BigDecimal("1000"), null, null);
+        when(teamRepository.findGoalsByHandle("ecosynergyofc")).thenReturn(Optional.of(goals));
+    }
+
+    @Test
+    void goalIsNotifiedOncePerPeriod() {
+        // The rollups of today already include the reading that triggers the seeding
+        mockTodayRollup(80.0);
+        when(goalNotificationRepository.markNotified(eq(1L), any(), any())).thenReturn(true);
+
+        service.onReadingsPersisted(event(10.0));
+        service.onReadingsPersisted(event(5.0));
+
+        verify(teamNotificationService, times(1)).sendGoalAchievedNotification(1L, "diária");
+        verify(teamNotificationService, never()).sendGoalAchievedNotification(any(), eq("semanal"));
+        verify(goalNotificationRepository).markNotified(1L, GoalPeriod.DAILY, LocalDate.now(TIME_ZONE));
+        verify(rollupRepository, times(1)).findRollups(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void goalReachedBeforeSeedingIsNotNotifiedAgain() {
+        mockTodayRollup(100.0);
+        // Another instance already recorded the notification
+        when(goalNotificationRepository.markNotified(eq(1L), any(), any())).thenReturn(false);
+
+        service.onReadingsPersisted(event(5.0));
+
+        verify(goalNotificationRepository).markNotified(1L, GoalPeriod.DAILY, LocalDate.now(TIME_ZONE));
+        verify(teamNotificationService, never()).sendGoalAchievedNotification(any(), any());
+    }
+
+    @Test
+    void goalReachedAcrossInstancesIsNotifiedOnceReseeded() {
+        properties.setRefreshInterval(Duration.ZERO);
+        // Readings committed on other instances reach the goal only through the rollups
+        mockTodayRollup(100.0);
+        when(goalNotificationRepository.markNotified(eq(1L), any(), any())).thenReturn(true, false);
+
+        service.onReadingsPersisted(event(5.0));
+        service.onReadingsPersisted(event(5.0));
+
+        verify(rollupRepository, times(2)).findRollups(any(), any(), any(), any(), any());
+        verify(teamNotificationService, times(1)).sendGoalAchievedNotification(1L, "diária");
+    }
+
+    @Test
+    void seedingCoversEveryCurrentPeriod() {
+        service.getProgress("ecosynergyofc");
+
+        LocalDate today = LocalDate.now(TIME_ZONE);
+        LocalDate weekStart = GoalPeriod.WEEKLY.start(today);
+        LocalDate yearStart = GoalPeriod.ANNUAL.start(today);
+        Instant from = (weekStart.isBefore(yearStart) ? weekStart : yearStart).atStartOfDay(TIME_ZONE).toInstant();
+        Instant to = GoalPeriod.ANNUAL.next(yearStart).atStartOfDay(TIME_ZONE).toInstant();
+
+        verify(rollupRepository).findRollups(SensorType.MQ135, "ecosynergyofc", RollupGranularity.HOUR, from, to);
+    }
+
+    @Test
+    void readingsOfOtherSensorsAreIgnored() {
+        service.onReadingsPersisted(new ReadingsPersistedEvent(SensorType.MQ7,
+                List.of(new ReadingSample(1L, "ecosynergyofc", ZonedDateTime.now(TIME_ZONE), 500.0))));
+
+        verifyNoInteractions(rollupRepository, teamNotificationService);
+    }
+
+    @Test
+    void getProgress() {
+        mockTodayRollup(30.0);
+
+        TeamGoalProgressVO progress = service.getProgress("EcosynergyOfc");
+
+        assertEquals("ecosynergyofc", progress.getTeamHandle());
+        assertEquals(TIME_ZONE, progress.getTimeZone());
+        assertEquals(4, progress.getGoals().size());
+
+        GoalProgressVO daily = progress.getGoals().getFirst();
+        assertEquals("daily", daily.getPeriod());
+        assertEquals(LocalDate.now(TIME_ZONE).atStartOfDay(TIME_ZONE), daily.getPeriodStart());
+        assertEquals(30.0, daily.getTotal());
+        assertEquals(40.0, daily.getProgress(), 1e-9);
+        assertFalse(daily.isAchieved());
+
+        GoalProgressVO monthly = progress.getGoals().get(2);
+        assertEquals(30.0, monthly.getTotal());
+        assertNull(monthly.getProgress());
+    }
+
+    @Test
+    void getProgressWithUnknownTeam() {
+        when(teamRepository.findGoalsByHandle("unknown")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> service.getProgress("unknown"));
+    }
+
+    private void mockTodayRollup(double sum) {
+        ReadingRollup rollup = new ReadingRollup(SensorType.MQ135, "ecosynergyofc", RollupGranularity.HOUR,
+                LocalDate.now(TIME_ZONE).atStartOfDay(TIME_ZONE).toInstant(), 3, sum, 1.0, sum);
+        when(rollupRepository.findRollups(eq(SensorType.MQ135), eq("ecosynergyofc"), eq(RollupGranularity.HOUR), any(), any()))
+                .thenReturn(List.of(rollup));
+    }
+
+    private static ReadingsPersistedEvent event(double value) {
+        return new ReadingsPersistedEvent(SensorType.MQ135,
+                List.of(new ReadingSample(1L, "ecosynergyofc", ZonedDateTime.now(TIME_ZONE), value)));
+    }
+}
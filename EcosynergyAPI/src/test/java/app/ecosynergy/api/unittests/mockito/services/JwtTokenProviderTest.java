@@ -0,0 +1,138 @@
+package app.ecosynergy.api.unittests.mockito.services;
+
+import app.ecosynergy.api.data.projection.UserSnapshot;
+import app.ecosynergy.api.data.vo.v1.security.TokenVO;
+import app.ecosynergy.api.exceptions.InvalidJwtAuthenticationException;
+import app.ecosynergy.api.security.AuthenticatedUser;
+import app.ecosynergy.api.security.SecurityProperties;
+import app.ecosynergy.api.security.jwt.JwtTokenProvider;
+import app.ecosynergy.api.services.UserSnapshotCache;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class JwtTokenProviderTest {
+    @Mock
+    private UserSnapshotCache userSnapshotCache;
+
+    private JwtTokenProvider provider;
+
+    private final UserSnapshot user = new UserSnapshot(7L, "gabriel", "Gabriel Ben", "gabriel@ecosynergy.com", 0);
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.openMocks(this);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        provider = new JwtTokenProvider(userSnapshotCache, new SecurityProperties());
+        ReflectionTestUtils.invokeMethod(provider, "init");
+    }
+
+    @AfterEach
+    void clearRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void principalIsBuiltFromClaims() {
+        when(userSnapshotCache.find(7L)).thenReturn(Optional.of(user));
+        TokenVO token = provider.createAccessToken(7L, "gabriel", List.of("ADMIN"), 0);
+
+        Authentication authentication = provider.getAuthentication(token.getAccessToken());
+
+        AuthenticatedUser principal = (AuthenticatedUser) authentication.getPrincipal();
+        assertEquals(7L, principal.id());
+        assertEquals("gabriel", principal.getName());
+        assertEquals(List.of("ADMIN"), principal.roles());
+        assertEquals("ADMIN", authentication.getAuthorities().iterator().next().getAuthority());
+        verify(userSnapshotCache, never()).findByUserName(anyString());
+    }
+
+    @Test
+    void renamedOrDeletedUserIsRejected() {
+        TokenVO token = provider.createAccessToken(7L, "old-name", List.of(), 0);
+
+        when(userSnapshotCache.find(7L)).thenReturn(Optional.of(user));
+        assertThrows(InvalidJwtAuthenticationException.class, () -> provider.getAuthentication(token.getAccessToken()));
+
+        when(userSnapshotCache.find(7L)).thenReturn(Optional.empty());
+        assertThrows(InvalidJwtAuthenticationException.class, () -> provider.getAuthentication(token.getAccessToken()));
+    }
+
+    @Test
+    void revokedTokenIsRejectedAtOnce() {
+        when(userSnapshotCache.find(7L)).thenReturn(Optional.of(user));
+        TokenVO token = provider.createAccessToken(7L, "gabriel", List.of(), 0);
+        provider.getAuthentication(token.getAccessToken());
+
+        when(userSnapshotCache.find(7L)).thenReturn(Optional.of(new UserSnapshot(7L, "gabriel", "Gabriel Ben", "gabriel@ecosynergy.com", 1)));
+
+        InvalidJwtAuthenticationException e = assertThrows(InvalidJwtAuthenticationException.class, () -> provider.getAuthentication(token.getAccessToken()));
+        assertEquals("Token has been revoked", e.getMessage());
+        assertThrows(InvalidJwtAuthenticationException.class, () -> provider.refreshToken(token.getRefreshToken()));
+    }
+
+    @Test
+    void cachedTokenDoesNotVouchForATamperedCopy() {
+        when(userSnapshotCache.find(7L)).thenReturn(Optional.of(user));
+        String token = provider.createAccessToken(7L, "gabriel", List.of("COMMON_USER"), 0).getAccessToken();
+        provider.getAuthentication(token);
+
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                new String(Base64.getUrlDecoder().decode(parts[1])).replace("COMMON_USER", "ADMIN").getBytes());
+        String forged = parts[0] + "." + forgedPayload + "." + parts[2];
+
+        assertThrows(InvalidJwtAuthenticationException.class, () -> provider.getAuthentication(forged));
+    }
+
+    @Test
+    void cachedTokenIsRejectedOnceExpired() throws Exception {
+        when(userSnapshotCache.find(7L)).thenReturn(Optional.of(user));
+        String secret = Base64.getEncoder().encodeToString("secret".getBytes());
+        String token = JWT.create()
+                .withClaim("uid", 7L)
+                .withSubject("gabriel")
+                .withExpiresAt(new Date(System.currentTimeMillis() + 1000))
+                .sign(Algorithm.HMAC256(secret.getBytes()));
+        provider.getAuthentication(token);
+
+        Thread.sleep(1100);
+
+        assertThrows(InvalidJwtAuthenticationException.class, () -> provider.getAuthentication(token));
+    }
+
+    @Test
+    void tokenWithoutUserIdIsResolvedByUsername() {
+        when(userSnapshotCache.findByUserName("gabriel")).thenReturn(Optional.of(user));
+        String secret = Base64.getEncoder().encodeToString("secret".getBytes());
+        String legacyToken = JWT.create()
+                .withClaim("roles", List.of("ADMIN"))
+                .withSubject("gabriel")
+                .withExpiresAt(new Date(System.currentTimeMillis() + 60000))
+                .sign(Algorithm.HMAC256(secret.getBytes()));
+
+        AuthenticatedUser principal = (AuthenticatedUser) provider.getAuthentication(legacyToken).getPrincipal();
+
+        assertEquals(7L, principal.id());
+        verify(userSnapshotCache, never()).find(any());
+    }
+}
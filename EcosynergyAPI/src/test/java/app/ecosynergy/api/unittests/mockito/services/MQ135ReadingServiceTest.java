@@ -1,25 +1,40 @@
 package app.ecosynergy.api.unittests.mockito.services;
 
+import app.ecosynergy.api.data.projection.TeamReference;
+import app.ecosynergy.api.data.vo.v1.BatchItemResultVO;
+import app.ecosynergy.api.data.vo.v1.CursorPageVO;
 import app.ecosynergy.api.data.vo.v1.MQ135ReadingVO;
-import app.ecosynergy.api.data.vo.v1.TeamVO;
+import app.ecosynergy.api.exceptions.InvalidUserDataException;
 import app.ecosynergy.api.exceptions.RequiredObjectIsNullException;
-import app.ecosynergy.api.mapper.DozerMapper;
+import app.ecosynergy.api.exceptions.ServiceUnavailableException;
 import app.ecosynergy.api.models.MQ135Reading;
 import app.ecosynergy.api.repositories.MQ135ReadingRepository;
+import app.ecosynergy.api.repositories.ReadingBatchRepository;
 import app.ecosynergy.api.services.MQ135ReadingService;
-import app.ecosynergy.api.services.TeamService;
+import app.ecosynergy.api.services.TeamReferenceCache;
+import app.ecosynergy.api.services.ingestion.ReadingWriteBehindBuffer;
 import app.ecosynergy.api.unittests.mapper.mocks.MockMQ135Reading;
+import app.ecosynergy.api.util.ReadingCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.when;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
 
 class MQ135ReadingServiceTest {
     MockMQ135Reading input;
@@ -28,11 +43,20 @@ class MQ135ReadingServiceTest {
     private MQ135ReadingService service;
 
     @Mock
-    private TeamService teamService;
+    private TeamReferenceCache teamReferenceCache;
 
     @Mock
     private MQ135ReadingRepository repository;
-    
+
+    @Mock
+    private ReadingBatchRepository batchRepository;
+
+    @Mock
+    private ReadingWriteBehindBuffer writeBehindBuffer;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @BeforeEach
     void setupMocks(){
         input = new MockMQ135Reading();
@@ -43,7 +67,7 @@ class MQ135ReadingServiceTest {
     void findById() {
         MQ135Reading reading = input.mockEntity(1);
 
-        when(teamService.findByHandle(any(String.class))).thenReturn(DozerMapper.parseObject(reading.getTeam(), TeamVO.class));
+        when(teamReferenceCache.get(any(String.class))).thenReturn(reference(reading));
         when(repository.findByIdWithTeam(reading.getId())).thenReturn(Optional.of(reading));
         MQ135ReadingVO result = service.findById(reading.getId());
 
@@ -64,7 +88,7 @@ class MQ135ReadingServiceTest {
 
         MQ135ReadingVO vo = input.mockVO(1);
 
-        when(teamService.findByHandle(any(String.class))).thenReturn(DozerMapper.parseObject(entity.getTeam(), TeamVO.class));
+        when(teamReferenceCache.get(any(String.class))).thenReturn(reference(entity));
         when(repository.save(any(MQ135Reading.class))).thenReturn(entity);
 
         MQ135ReadingVO result = service.create(vo);
@@ -78,6 +102,49 @@ class MQ135ReadingServiceTest {
         assertEquals(1, result.getValue());
     }
 
+    @Test
+    void createWithWriteBehind() {
+        MQ135Reading entity = input.mockEntity(1);
+
+        MQ135ReadingVO vo = input.mockVO(1);
+
+        when(teamReferenceCache.get(any(String.class))).thenReturn(reference(entity));
+        when(writeBehindBuffer.isEnabled()).thenReturn(true);
+        when(writeBehindBuffer.offer(any(MQ135Reading.class))).thenReturn(true);
+
+        MQ135ReadingVO result = service.create(vo);
+        assertNotNull(result);
+        assertNull(result.getKey());
+        assertNotNull(result.getTeamHandle());
+        assertEquals(1, result.getValue());
+        verify(repository, never()).save(any(MQ135Reading.class));
+    }
+
+    @Test
+    void createWithWriteBehindFull() {
+        MQ135Reading entity = input.mockEntity(1);
+
+        when(teamReferenceCache.get(any(String.class))).thenReturn(reference(entity));
+        when(writeBehindBuffer.isEnabled()).thenReturn(true);
+        when(writeBehindBuffer.offer(any(MQ135Reading.class))).thenReturn(false);
+
+        assertThrows(ServiceUnavailableException.class, () -> service.create(input.mockVO(1)));
+    }
+
+    @Test
+    void createWithWriteBehindRejectsIncompleteReadings() {
+        when(writeBehindBuffer.isEnabled()).thenReturn(true);
+
+        MQ135ReadingVO noValue = input.mockVO(1);
+        noValue.setValue(null);
+        MQ135ReadingVO future = input.mockVO(2);
+        future.setTimestamp(ZonedDateTime.now().plusDays(1));
+
+        assertThrows(RequiredObjectIsNullException.class, () -> service.create(noValue));
+        assertThrows(InvalidUserDataException.class, () -> service.create(future));
+        verify(writeBehindBuffer, never()).offer(any(MQ135Reading.class));
+    }
+
     @Test
     void createWithNullMQ135Reading() {
         Exception exception = assertThrows(RequiredObjectIsNullException.class, () -> service.create(null));
@@ -87,4 +154,112 @@ class MQ135ReadingServiceTest {
 
         assertTrue(actualMessage.contains(expectedMessage));
     }
-}
\ No newline at end of file
+
+    @Test
+    void createAll() {
+        MQ135Reading entity = input.mockEntity(1);
+
+        MQ135ReadingVO valid = input.mockVO(1);
+        MQ135ReadingVO unknownTeam = input.mockVO(2);
+        unknownTeam.setTeamHandle("unknown");
+        MQ135ReadingVO incomplete = input.mockVO(3);
+        incomplete.setValue(null);
+
+        List<MQ135ReadingVO> readings = new ArrayList<>();
+        readings.add(valid);
+        readings.add(unknownTeam);
+        readings.add(incomplete);
+
+        when(teamReferenceCache.find("ecosynergyofc")).thenReturn(Optional.of(reference(entity)));
+        when(teamReferenceCache.find("unknown")).thenReturn(Optional.empty());
+        doAnswer(invocation -> {
+            List<MQ135Reading> accepted = invocation.getArgument(0);
+            for (int i = 0; i < accepted.size(); i++) accepted.get(i).setId(100L + i);
+            return null;
+        }).when(batchRepository).insertMQ135Readings(anyList());
+
+        List<BatchItemResultVO> results = service.createAll(readings);
+
+        assertEquals(3, results.size());
+
+        assertEquals(BatchItemResultVO.Status.CREATED, results.get(0).getStatus());
+        assertEquals(100L, results.get(0).getId());
+        assertEquals("ecosynergyofc", results.get(0).getTeamHandle());
+
+        assertEquals(BatchItemResultVO.Status.REJECTED, results.get(1).getStatus());
+        assertNull(results.get(1).getId());
+        assertTrue(results.get(1).getMessage().contains("unknown"));
+
+        assertEquals(BatchItemResultVO.Status.REJECTED, results.get(2).getStatus());
+        assertEquals(2, results.get(2).getIndex());
+    }
+
+    @Test
+    void createAllRejectsTimestampsOutsideTheStorableRange() {
+        MQ135Reading entity = input.mockEntity(1);
+
+        MQ135ReadingVO beforeEpoch = input.mockVO(1);
+        beforeEpoch.setTimestamp(ZonedDateTime.parse("1969-12-31T23:59:59Z"));
+        MQ135ReadingVO tooFar = input.mockVO(2);
+        tooFar.setTimestamp(ZonedDateTime.parse("2040-01-01T00:00:00Z"));
+        MQ135ReadingVO ahead = input.mockVO(3);
+        ahead.setTimestamp(ZonedDateTime.now().plusHours(1));
+        MQ135ReadingVO valid = input.mockVO(4);
+
+        when(teamReferenceCache.find("ecosynergyofc")).thenReturn(Optional.of(reference(entity)));
+
+        List<BatchItemResultVO> results = service.createAll(List.of(beforeEpoch, tooFar, ahead, valid));
+
+        assertEquals(BatchItemResultVO.Status.REJECTED, results.get(0).getStatus());
+        assertEquals(BatchItemResultVO.Status.REJECTED, results.get(1).getStatus());
+        assertEquals(BatchItemResultVO.Status.REJECTED, results.get(2).getStatus());
+        assertEquals(BatchItemResultVO.Status.CREATED, results.get(3).getStatus());
+        verify(batchRepository).insertMQ135Readings(argThat(accepted -> accepted.size() == 1));
+    }
+
+    @Test
+    void createAllWithNullList() {
+        assertThrows(RequiredObjectIsNullException.class, () -> service.createAll(null));
+    }
+
+    @Test
+    void findAllByCursor() {
+        List<MQ135Reading> readings = input.mockEntityList();
+        MQ135Reading last = readings.get(1);
+
+        when(teamReferenceCache.get(any(String.class))).thenReturn(reference(last));
+        when(repository.findAfter(any(), eq(0L), any())).thenReturn(new SliceImpl<>(readings.subList(0, 2), PageRequest.of(0, 2), true));
+
+        CursorPageVO<MQ135ReadingVO> page = service.findAllByCursor(null, 2, Sort.Direction.ASC);
+
+        assertEquals(2, page.getSize());
+        assertEquals(ReadingCursor.of(last.getTimestamp(), last.getId()).encode(), page.getNextCursor());
+        assertTrue(page.getLink("next").isPresent());
+        assertEquals(last.getId(), ReadingCursor.decode(page.getNextCursor(), Sort.Direction.ASC).id());
+        verify(repository, never()).count();
+    }
+
+    @Test
+    void findAllByCursorLastPage() {
+        List<MQ135Reading> readings = input.mockEntityList();
+        ReadingCursor after = ReadingCursor.of(readings.get(0).getTimestamp(), readings.get(0).getId());
+
+        when(teamReferenceCache.get(any(String.class))).thenReturn(reference(readings.get(1)));
+        when(repository.findBefore(any(), eq(readings.get(0).getId()), any())).thenReturn(new SliceImpl<>(readings.subList(1, 2), PageRequest.of(0, 50), false));
+
+        CursorPageVO<MQ135ReadingVO> page = service.findAllByCursor(after.encode(), null, Sort.Direction.DESC);
+
+        assertEquals(1, page.getSize());
+        assertNull(page.getNextCursor());
+        assertTrue(page.getLink("next").isEmpty());
+    }
+
+    @Test
+    void findAllByCursorWithInvalidCursor() {
+        assertThrows(IllegalArgumentException.class, () -> service.findAllByCursor("not-a-cursor", 10, Sort.Direction.ASC));
+    }
+
+    private TeamReference reference(MQ135Reading reading) {
+        return new TeamReference(reading.getTeam().getId(), reading.getTeam().getHandle(), reading.getTeam().getTimeZone());
+    }
+}
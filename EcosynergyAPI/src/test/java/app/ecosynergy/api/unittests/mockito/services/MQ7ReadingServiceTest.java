@@ -1,23 +1,30 @@
 package app.ecosynergy.api.unittests.mockito.services;
 
+import app.ecosynergy.api.data.projection.TeamReference;
+import app.ecosynergy.api.data.vo.v1.BatchItemResultVO;
 import app.ecosynergy.api.data.vo.v1.MQ7ReadingVO;
-import app.ecosynergy.api.data.vo.v1.TeamVO;
 import app.ecosynergy.api.exceptions.RequiredObjectIsNullException;
-import app.ecosynergy.api.mapper.DozerMapper;
 import app.ecosynergy.api.models.MQ7Reading;
 import app.ecosynergy.api.repositories.MQ7ReadingRepository;
+import app.ecosynergy.api.repositories.ReadingBatchRepository;
 import app.ecosynergy.api.services.MQ7ReadingService;
-import app.ecosynergy.api.services.TeamService;
+import app.ecosynergy.api.services.TeamReferenceCache;
+import app.ecosynergy.api.services.ingestion.ReadingWriteBehindBuffer;
 import app.ecosynergy.api.unittests.mapper.mocks.MockMQ7Reading;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -28,11 +35,20 @@ class MQ7ReadingServiceTest {
     private MQ7ReadingService service;
 
     @Mock
-    private TeamService teamService;
+    private TeamReferenceCache teamReferenceCache;
 
     @Mock
     private MQ7ReadingRepository repository;
-    
+
+    @Mock
+    private ReadingBatchRepository batchRepository;
+
+    @Mock
+    private ReadingWriteBehindBuffer writeBehindBuffer;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @BeforeEach
     void setupMocks() {
         input = new MockMQ7Reading();
@@ -43,7 +59,7 @@ class MQ7ReadingServiceTest {
     void findById() {
         MQ7Reading reading = input.mockEntity(1);
 
-        when(teamService.findByHandle(any(String.class))).thenReturn(DozerMapper.parseObject(reading.getTeam(), TeamVO.class));
+        when(teamReferenceCache.get(any(String.class))).thenReturn(reference(reading));
         when(repository.findByIdWithTeam(reading.getId())).thenReturn(Optional.of(reading));
 
         MQ7ReadingVO result = service.findById(reading.getId());
@@ -62,7 +78,7 @@ class MQ7ReadingServiceTest {
         MQ7ReadingVO vo = input.mockVO(1);
         vo.setKey(1L);
 
-        when(teamService.findByHandle(any(String.class))).thenReturn(DozerMapper.parseObject(entity.getTeam(), TeamVO.class));
+        when(teamReferenceCache.get(any(String.class))).thenReturn(reference(entity));
         when(repository.save(any(MQ7Reading.class))).thenReturn(entity);
 
         var result = service.create(vo);
@@ -85,4 +101,52 @@ class MQ7ReadingServiceTest {
         String actualMessage = exception.getMessage();
         assertTrue(actualMessage.contains(expectedMessage));
     }
-}
\ No newline at end of file
+
+    @Test
+    void createAll() {
+        MQ7Reading entity = input.mockEntity(1);
+
+        MQ7ReadingVO valid = input.mockVO(1);
+        MQ7ReadingVO unknownTeam = input.mockVO(2);
+        unknownTeam.setTeamHandle("unknown");
+        MQ7ReadingVO incomplete = input.mockVO(3);
+        incomplete.setValue(null);
+
+        List<MQ7ReadingVO> readings = new ArrayList<>();
+        readings.add(valid);
+        readings.add(unknownTeam);
+        readings.add(incomplete);
+
+        when(teamReferenceCache.find("ecosynergyofc")).thenReturn(Optional.of(reference(entity)));
+        when(teamReferenceCache.find("unknown")).thenReturn(Optional.empty());
+        doAnswer(invocation -> {
+            List<MQ7Reading> accepted = invocation.getArgument(0);
+            for (int i = 0; i < accepted.size(); i++) accepted.get(i).setId(100L + i);
+            return null;
+        }).when(batchRepository).insertMQ7Readings(anyList());
+
+        List<BatchItemResultVO> results = service.createAll(readings);
+
+        assertEquals(3, results.size());
+
+        assertEquals(BatchItemResultVO.Status.CREATED, results.get(0).getStatus());
+        assertEquals(100L, results.get(0).getId());
+        assertEquals("ecosynergyofc", results.get(0).getTeamHandle());
+
+        assertEquals(BatchItemResultVO.Status.REJECTED, results.get(1).getStatus());
+        assertNull(results.get(1).getId());
+        assertTrue(results.get(1).getMessage().contains("unknown"));
+
+        assertEquals(BatchItemResultVO.Status.REJECTED, results.get(2).getStatus());
+        assertEquals(2, results.get(2).getIndex());
+    }
+
+    @Test
+    void createAllWithNullList() {
+        assertThrows(RequiredObjectIsNullException.class, () -> service.createAll(null));
+    }
+
+    private TeamReference reference(MQ7Reading reading) {
+        return new TeamReference(reading.getTeam().getId(), reading.getTeam().getHandle(), reading.getTeam().getTimeZone());
+    }
+}
@@ -0,0 +1,251 @@
+package app.ecosynergy.api.unittests.mockito.services;
+
+import app.ecosynergy.api.models.NotificationType;
+import app.ecosynergy.api.services.TokenService;
+import app.ecosynergy.api.services.notification.Notification;
+import app.ecosynergy.api.services.notification.NotificationDispatchProperties;
+import app.ecosynergy.api.services.notification.NotificationDispatcher;
+import com.google.firebase.messaging.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class NotificationDispatcherTest {
+    @Mock
+    private FirebaseMessaging fcm;
+
+    @Mock
+    private TokenService tokenService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private NotificationDispatcher dispatcher;
+
+    private final Notification notification = new Notification(NotificationType.FIRE, "Fogo Detectado!", "corpo", Map.of("teamId", "1"));
+
+    @BeforeEach
+    void setupMocks() {
+        MockitoAnnotations.openMocks(this);
+
+        NotificationDispatchProperties properties = new NotificationDispatchProperties();
+        properties.setConcurrency(1);
+        properties.setQueueCapacity(1);
+        properties.setRetryBackoff(Duration.ofMillis(10));
+
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new NotificationDispatcher(fcm, tokenService, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void shutdown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void dispatchReturnsBeforeDelivery() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(fcm.send(any(Message.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return "projects/ecosynergy/messages/1";
+        });
+
+        assertTrue(dispatcher.dispatch(notification, "token-1"));
+        verify(fcm, timeout(1000)).send(any(Message.class));
+
+        // One message in flight and one queued fill the dispatcher, the next one is dropped
+        assertTrue(dispatcher.dispatch(notification, "token-2"));
+        assertFalse(dispatcher.dispatch(notification, "token-3"));
+        assertEquals(1, meterRegistry.counter("notifications.dispatch.dropped", "reason", "full").count());
+
+        release.countDown();
+        dispatcher.shutdown();
+
+        verify(fcm, times(2)).send(any(Message.class));
+        assertEquals(2, meterRegistry.counter("notifications.dispatch.sent").count());
+    }
+
+    @Test
+    void unregisteredTokenIsRemoved() throws Exception {
+        FirebaseMessagingException unregistered = failure(MessagingErrorCode.UNREGISTERED);
+        when(fcm.send(any(Message.class))).thenThrow(unregistered);
+        when(tokenService.removeByTokens(List.of("stale-token"))).thenReturn(1);
+
+        assertTrue(dispatcher.dispatch(notification, "stale-token"));
+        dispatcher.shutdown();
+
+        verify(tokenService).removeByTokens(List.of("stale-token"));
+        assertEquals(1, meterRegistry.counter("notifications.dispatch.dropped", "reason", "send_error").count());
+        assertEquals(1, meterRegistry.counter("notifications.dispatch.wasted").count());
+        assertEquals(1, meterRegistry.counter("notifications.tokens.pruned").count());
+    }
+
+    @Test
+    void multicastRemovesOnlyDeadTokensInOneBatch() throws Exception {
+        List<SendResponse> results = List.of(success(), failed(MessagingErrorCode.UNREGISTERED), success(), failed(MessagingErrorCode.INVALID_ARGUMENT));
+        BatchResponse response = mock(BatchResponse.class);
+        when(response.getSuccessCount()).thenReturn(2);
+        when(response.getResponses()).thenReturn(results);
+        when(fcm.sendEachForMulticast(any(MulticastMessage.class))).thenReturn(response);
+
+        assertTrue(dispatcher.dispatch(notification, List.of("token-1", "stale-token", "token-3", "bad-token")));
+        dispatcher.shutdown();
+
+        verify(fcm, times(1)).sendEachForMulticast(any(MulticastMessage.class));
+        verify(tokenService).removeByTokens(List.of("stale-token", "bad-token"));
+        verifyNoMoreInteractions(tokenService);
+        assertEquals(2, meterRegistry.counter("notifications.dispatch.sent").count());
+        assertEquals(2, meterRegistry.counter("notifications.dispatch.wasted").count());
+    }
+
+    @Test
+    void invalidMessageKeepsTheTokens() throws Exception {
+        List<SendResponse> results = List.of(failed(MessagingErrorCode.INVALID_ARGUMENT), failed(MessagingErrorCode.INVALID_ARGUMENT));
+        BatchResponse response = mock(BatchResponse.class);
+        when(response.getSuccessCount()).thenReturn(0);
+        when(response.getResponses()).thenReturn(results);
+        when(fcm.sendEachForMulticast(any(MulticastMessage.class))).thenReturn(response);
+
+        assertTrue(dispatcher.dispatch(notification, List.of("token-1", "token-2")));
+        dispatcher.shutdown();
+
+        verifyNoInteractions(tokenService);
+        assertEquals(2, meterRegistry.counter("notifications.dispatch.dropped", "reason", "send_error").count());
+        assertEquals(0, meterRegistry.counter("notifications.dispatch.wasted").count());
+    }
+
+    @Test
+    void invalidSingleTokenIsRemoved() throws Exception {
+        FirebaseMessagingException invalidToken = failure(MessagingErrorCode.INVALID_ARGUMENT);
+        when(invalidToken.getMessage()).thenReturn("The registration token is not a valid FCM registration token");
+        when(fcm.send(any(Message.class))).thenThrow(invalidToken);
+        when(tokenService.removeByTokens(List.of("bad-token"))).thenReturn(1);
+
+        assertTrue(dispatcher.dispatch(notification, "bad-token"));
+        dispatcher.shutdown();
+
+        verify(tokenService).removeByTokens(List.of("bad-token"));
+        assertEquals(1, meterRegistry.counter("notifications.dispatch.wasted").count());
+        assertEquals(1, meterRegistry.counter("notifications.tokens.pruned").count());
+    }
+
+    @Test
+    void invalidMessageToSingleTokenKeepsTheToken() throws Exception {
+        FirebaseMessagingException invalidMessage = failure(MessagingErrorCode.INVALID_ARGUMENT);
+        when(invalidMessage.getMessage()).thenReturn("Invalid value at 'message.data[0].value'");
+        when(fcm.send(any(Message.class))).thenThrow(invalidMessage);
+
+        assertTrue(dispatcher.dispatch(notification, "token-1"));
+        dispatcher.shutdown();
+
+        verifyNoInteractions(tokenService);
+        assertEquals(1, meterRegistry.counter("notifications.dispatch.dropped", "reason", "send_error").count());
+        assertEquals(0, meterRegistry.counter("notifications.dispatch.wasted").count());
+    }
+
+    @Test
+    void transientFailuresAreRetriedForTheFailedTokensOnly() throws Exception {
+        List<SendResponse> results = List.of(success(), failed(MessagingErrorCode.UNAVAILABLE));
+        BatchResponse first = mock(BatchResponse.class);
+        when(first.getSuccessCount()).thenReturn(1);
+        when(first.getResponses()).thenReturn(results);
+        when(fcm.sendEachForMulticast(any(MulticastMessage.class))).thenReturn(first);
+        when(fcm.send(any(Message.class))).thenReturn("projects/ecosynergy/messages/2");
+
+        assertTrue(dispatcher.dispatch(notification, List.of("token-1", "token-2")));
+
+        verify(fcm, timeout(1000)).send(any(Message.class));
+        dispatcher.shutdown();
+
+        verify(fcm, times(1)).sendEachForMulticast(any(MulticastMessage.class));
+        verifyNoInteractions(tokenService);
+        assertEquals(1, meterRegistry.counter("notifications.dispatch.retried").count());
+        assertEquals(2, meterRegistry.counter("notifications.dispatch.sent").count());
+    }
+
+    @Test
+    void transientFailuresGiveUpAfterMaxRetries() throws Exception {
+        FirebaseMessagingException quotaExceeded = failure(MessagingErrorCode.QUOTA_EXCEEDED);
+        when(fcm.send(any(Message.class))).thenThrow(quotaExceeded);
+
+        assertTrue(dispatcher.dispatch(notification, "token-1"));
+
+        verify(fcm, timeout(2000).times(4)).send(any(Message.class));
+        Thread.sleep(50);
+        dispatcher.shutdown();
+
+        assertEquals(3, meterRegistry.counter("notifications.dispatch.retried").count());
+        assertEquals(1, meterRegistry.counter("notifications.dispatch.dropped", "reason", "send_error").count());
+        verifyNoInteractions(tokenService);
+    }
+
+    @Test
+    void sendNowReturnsOnlyTheTransientFailures() throws Exception {
+        List<SendResponse> results = List.of(success(), failed(MessagingErrorCode.UNAVAILABLE), failed(MessagingErrorCode.UNREGISTERED));
+        BatchResponse response = mock(BatchResponse.class);
+        when(response.getSuccessCount()).thenReturn(1);
+        when(response.getResponses()).thenReturn(results);
+        when(fcm.sendEachForMulticast(any(MulticastMessage.class))).thenReturn(response);
+
+        assertEquals(List.of("token-2"), dispatcher.sendNow(notification, List.of("token-1", "token-2", "stale-token")));
+
+        verify(tokenService).removeByTokens(List.of("stale-token"));
+        assertEquals(0, meterRegistry.counter("notifications.dispatch.retried").count());
+    }
+
+    @Test
+    void openCircuitRejectsNotificationsWithoutCallingFcm() throws Exception {
+        NotificationDispatchProperties properties = new NotificationDispatchProperties();
+        properties.setMaxRetries(0);
+        properties.getCircuitBreaker().setFailureThreshold(2);
+        properties.getCircuitBreaker().setOpenDuration(Duration.ofMinutes(1));
+        NotificationDispatcher guarded = new NotificationDispatcher(fcm, tokenService, properties, meterRegistry);
+
+        FirebaseMessagingException unavailable = failure(MessagingErrorCode.UNAVAILABLE);
+        when(fcm.send(any(Message.class))).thenThrow(unavailable);
+
+        assertTrue(guarded.dispatch(notification, "token-1"));
+        verify(fcm, timeout(1000).times(1)).send(any(Message.class));
+        assertTrue(guarded.dispatch(notification, "token-2"));
+        verify(fcm, timeout(1000).times(2)).send(any(Message.class));
+        Thread.sleep(50);
+
+        assertFalse(guarded.dispatch(notification, "token-3"));
+        guarded.shutdown();
+
+        verify(fcm, times(2)).send(any(Message.class));
+        assertEquals(1, meterRegistry.counter("notifications.dispatch.dropped", "reason", "circuit_open").count());
+        assertEquals(1, meterRegistry.counter("circuit.rejected", "name", "fcm").count());
+    }
+
+    private static FirebaseMessagingException failure(MessagingErrorCode code) {
+        FirebaseMessagingException exception = mock(FirebaseMessagingException.class);
+        when(exception.getMessagingErrorCode()).thenReturn(code);
+        return exception;
+    }
+
+    private static SendResponse success() {
+        SendResponse response = mock(SendResponse.class);
+        when(response.isSuccessful()).thenReturn(true);
+        return response;
+    }
+
+    private static SendResponse failed(MessagingErrorCode code) {
+        FirebaseMessagingException exception = failure(code);
+        SendResponse response = mock(SendResponse.class);
+        when(response.getException()).thenReturn(exception);
+        return response;
+    }
+}
@@ -0,0 +1,80 @@
+package app.ecosynergy.api.unittests.mockito.services;
+
+import app.ecosynergy.api.data.projection.NotificationRecipient;
+import app.ecosynergy.api.models.Platform;
+import app.ecosynergy.api.repositories.TeamMemberRepository;
+import app.ecosynergy.api.services.notification.NotificationRecipientIndex;
+import app.ecosynergy.api.services.notification.NotificationRecipientIndex.TeamRecipients;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class NotificationRecipientIndexTest {
+    @InjectMocks
+    private NotificationRecipientIndex index;
+
+    @Mock
+    private TeamMemberRepository teamMemberRepository;
+
+    @BeforeEach
+    void setupMocks() {
+        MockitoAnnotations.openMocks(this);
+
+        when(teamMemberRepository.findRecipientsByTeamId(1L)).thenReturn(List.of(
+                new NotificationRecipient("Ecosynergy", 10L, "web-10", Platform.WEB, true, 30, true),
+                new NotificationRecipient("Ecosynergy", 10L, "android-10", Platform.ANDROID, true, 5, false),
+                new NotificationRecipient("Ecosynergy", 11L, "web-11", Platform.WEB, false, 10, true),
+                // The same device registered twice keeps its shortest interval
+                new NotificationRecipient("Ecosynergy", 12L, "web-10", Platform.WEB, true, 0, true),
+                new NotificationRecipient("Ecosynergy", 13L, null, null, null, null, null)
+        ));
+    }
+
+    @Test
+    void findBuildsDeduplicatedRecipients() {
+        TeamRecipients recipients = index.find(1L).orElseThrow();
+
+        assertEquals("Ecosynergy", recipients.teamName());
+        assertEquals(List.of("web-10", "web-11"), recipients.goalTokens());
+        assertEquals(List.of("web-10"), recipients.fireTokens(0));
+        assertEquals(List.of("web-10", "android-10"), recipients.fireTokens(10));
+
+        index.find(1L);
+        verify(teamMemberRepository, times(1)).findRecipientsByTeamId(1L);
+    }
+
+    @Test
+    void evictUserReloadsTheirTeams() {
+        index.find(1L);
+
+        // User 13 has no device yet, but still belongs to the team
+        index.evictUser(13L);
+        index.find(1L);
+
+        index.evictUser(99L);
+        index.find(1L);
+
+        verify(teamMemberRepository, times(2)).findRecipientsByTeamId(1L);
+    }
+
+    @Test
+    void evictTeamReloadsIt() {
+        index.find(1L);
+        index.evictTeam(1L);
+        index.find(1L);
+
+        verify(teamMemberRepository, times(2)).findRecipientsByTeamId(1L);
+    }
+
+    @Test
+    void findUnknownTeam() {
+        assertTrue(index.find(2L).isEmpty());
+    }
+}
@@ -0,0 +1,109 @@
+package app.ecosynergy.api.unittests.mockito.services;
+
+import app.ecosynergy.api.models.NotificationType;
+import app.ecosynergy.api.services.notification.Notification;
+import app.ecosynergy.api.services.notification.NotificationDispatcher;
+import app.ecosynergy.api.services.notification.NotificationService;
+import app.ecosynergy.api.services.notification.NotificationTemplate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class NotificationServiceTest {
+    @InjectMocks
+    private NotificationService service;
+
+    @Mock
+    private NotificationDispatcher dispatcher;
+
+    private final Notification fireDetected = Notification.of(
+            NotificationTemplate.FIRE_DETECTED,
+            Map.of("team", "Ecosynergy"),
+            Map.of("teamId", "1")
+    );
+
+    @BeforeEach
+    void setupMocks() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendToTokensDeduplicatesAndChunks() {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 1100; i++) tokens.add("token-" + i);
+        tokens.addAll(tokens.subList(0, 300));
+        tokens.add(null);
+
+        service.send(tokens, fireDetected);
+
+        ArgumentCaptor<List<String>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(dispatcher, times(3)).dispatch(eq(fireDetected), chunks.capture());
+
+        assertEquals(List.of(500, 500, 100), chunks.getAllValues().stream().map(List::size).toList());
+        assertEquals("token-0", chunks.getAllValues().getFirst().getFirst());
+        assertEquals("token-1099", chunks.getAllValues().getLast().getLast());
+    }
+
+    @Test
+    void sendToSingleTokenUsesPlainMessage() {
+        service.send(List.of("token-1", "token-1"), fireDetected);
+
+        verify(dispatcher, times(1)).dispatch(fireDetected, "token-1");
+        verify(dispatcher, never()).dispatch(any(Notification.class), anyList());
+    }
+
+    @Test
+    void sendNowCollectsTheUndeliveredTokensOfEveryChunk() {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 600; i++) tokens.add("token-" + i);
+        when(dispatcher.sendNow(eq(fireDetected), anyList())).thenReturn(List.of("token-1"), List.of("token-599"));
+
+        assertEquals(List.of("token-1", "token-599"), service.sendNow(tokens, fireDetected));
+
+        verify(dispatcher, times(2)).sendNow(eq(fireDetected), anyList());
+        verify(dispatcher, never()).dispatch(any(Notification.class), anyList());
+    }
+
+    @Test
+    void sendToNoTokens() {
+        service.send(List.of(), fireDetected);
+        service.send((String) null, fireDetected);
+
+        verifyNoInteractions(dispatcher);
+    }
+
+    @Test
+    void templateRendersBodyAndPayload() {
+        assertEquals(NotificationType.FIRE, fireDetected.type());
+        assertEquals("Fogo Detectado!", fireDetected.title());
+        assertEquals("Fogo foi detectado pela equipe Ecosynergy. Por favor, tome medidas imediatamente!", fireDetected.body());
+        assertEquals(Map.of(
+                "title", "Fogo Detectado!",
+                "body", "Fogo foi detectado pela equipe Ecosynergy. Por favor, tome medidas imediatamente!",
+                "type", "fire",
+                "teamId", "1"
+        ), fireDetected.data());
+
+        Notification promoted = Notification.of(
+                NotificationTemplate.MEMBER_PROMOTED,
+                Map.of("user", "andinho", "role", "ADMINISTRADOR", "team", "Ecosynergy"),
+                Map.of()
+        );
+        assertEquals("@andinho te promoveu para o cargo de ADMINISTRADOR na equipe Ecosynergy.", promoted.body());
+        assertEquals("team", promoted.data().get("type"));
+    }
+}
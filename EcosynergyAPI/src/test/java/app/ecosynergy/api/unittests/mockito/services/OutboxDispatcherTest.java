@@ -0,0 +1,156 @@
+package app.ecosynergy.api.unittests.mockito.services;
+
+import app.ecosynergy.api.data.projection.OutboxMessage;
+import app.ecosynergy.api.models.NotificationType;
+import app.ecosynergy.api.models.OutboxChannel;
+import app.ecosynergy.api.repositories.OutboxRepository;
+import app.ecosynergy.api.services.EmailService;
+import app.ecosynergy.api.services.notification.Notification;
+import app.ecosynergy.api.services.notification.NotificationService;
+import app.ecosynergy.api.services.outbox.OutboxDispatcher;
+import app.ecosynergy.api.services.outbox.OutboxProperties;
+import app.ecosynergy.api.services.outbox.OutboxService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxDispatcherTest {
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private OutboxProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setupMocks() {
+        MockitoAnnotations.openMocks(this);
+
+        properties = new OutboxProperties();
+        properties.setMaxAttempts(3);
+        properties.setInitialBackoff(Duration.ofSeconds(10));
+        properties.setMaxBackoff(Duration.ofSeconds(30));
+
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new OutboxDispatcher(properties, outboxRepository, new TransactionTemplate(transactionManager), emailService, notificationService, objectMapper, meterRegistry);
+    }
+
+    @Test
+    void deliveredMessagesAreDeleted() throws Exception {
+        String email = objectMapper.writeValueAsString(new OutboxService.EmailPayload("ana@ecosynergy.com", "Convite", "<html></html>", "Confira"));
+        String push = objectMapper.writeValueAsString(new OutboxService.PushPayload(List.of("token-1"), NotificationType.INVITE, "Convite Aceito", "corpo", Map.of("inviteId", "7")));
+        when(outboxRepository.claimDue(any(), any(), anyInt())).thenReturn(List.of(
+                new OutboxMessage(1L, OutboxChannel.EMAIL, email, 0),
+                new OutboxMessage(2L, OutboxChannel.PUSH, push, 0)
+        ));
+        MimeMessage mimeMessage = mock(MimeMessage.class);
+        when(emailService.createEmail("ana@ecosynergy.com", "Convite", "<html></html>", "Confira")).thenReturn(mimeMessage);
+        when(emailService.sendEmails(List.of(mimeMessage))).thenReturn(Map.of());
+        when(notificationService.sendNow(anyCollection(), any(Notification.class))).thenReturn(List.of());
+
+        assertEquals(2, dispatcher.dispatchDue());
+
+        verify(emailService).sendEmails(List.of(mimeMessage));
+        ArgumentCaptor<Notification> notification = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationService).sendNow(eq(List.of("token-1")), notification.capture());
+        assertEquals("7", notification.getValue().data().get("inviteId"));
+        assertEquals("invite", notification.getValue().data().get("type"));
+
+        verify(outboxRepository).delete(1L);
+        verify(outboxRepository).delete(2L);
+        assertEquals(1, meterRegistry.counter("outbox.delivered", "channel", "email").count());
+    }
+
+    @Test
+    void failedDeliveryBacksOffThenGivesUp() throws Exception {
+        String email = objectMapper.writeValueAsString(new OutboxService.EmailPayload("ana@ecosynergy.com", "Convite", "<html></html>", "Confira"));
+        when(outboxRepository.claimDue(any(), any(), anyInt())).thenReturn(
+                List.of(new OutboxMessage(1L, OutboxChannel.EMAIL, email, 1)),
+                List.of(new OutboxMessage(1L, OutboxChannel.EMAIL, email, 2))
+        );
+        MimeMessage mimeMessage = mock(MimeMessage.class);
+        when(emailService.createEmail(any(), any(), any(), any())).thenReturn(mimeMessage);
+        when(emailService.sendEmails(anyList())).thenReturn(Map.of(mimeMessage, new MessagingException("SMTP unavailable")));
+
+        Instant before = Instant.now();
+        dispatcher.dispatchDue();
+
+        ArgumentCaptor<Instant> nextAttempt = ArgumentCaptor.forClass(Instant.class);
+        verify(outboxRepository).reschedule(eq(1L), eq(2), nextAttempt.capture(), eq("SMTP unavailable"));
+        assertFalse(nextAttempt.getValue().isBefore(before.plusSeconds(20)));
+
+        dispatcher.dispatchDue();
+
+        verify(outboxRepository).markFailed(1L, 3, "SMTP unavailable");
+        verify(outboxRepository, never()).delete(any());
+        assertEquals(1, meterRegistry.counter("outbox.failed", "channel", "email").count());
+    }
+
+    @Test
+    void partiallyDeliveredPushKeepsOnlyTheFailedTokens() throws Exception {
+        OutboxService.PushPayload payload = new OutboxService.PushPayload(List.of("token-1", "token-2", "token-3"), NotificationType.FIRE, "Fogo Detectado!", "corpo", Map.of("teamId", "1"));
+        when(outboxRepository.claimDue(any(), any(), anyInt())).thenReturn(List.of(new OutboxMessage(1L, OutboxChannel.PUSH, objectMapper.writeValueAsString(payload), 0)));
+        when(notificationService.sendNow(anyCollection(), any(Notification.class))).thenReturn(List.of("token-2"));
+
+        dispatcher.dispatchDue();
+
+        ArgumentCaptor<String> rewritten = ArgumentCaptor.forClass(String.class);
+        verify(outboxRepository).updatePayload(eq(1L), rewritten.capture());
+        assertEquals(payload.withTokens(List.of("token-2")), objectMapper.readValue(rewritten.getValue(), OutboxService.PushPayload.class));
+        verify(outboxRepository).reschedule(eq(1L), eq(1), any(), anyString());
+        verify(outboxRepository, never()).delete(any());
+    }
+
+    @Test
+    void unreachableFcmKeepsThePushUnchanged() throws Exception {
+        OutboxService.PushPayload payload = new OutboxService.PushPayload(List.of("token-1"), NotificationType.FIRE, "Fogo Detectado!", "corpo", Map.of("teamId", "1"));
+        when(outboxRepository.claimDue(any(), any(), anyInt())).thenReturn(List.of(new OutboxMessage(1L, OutboxChannel.PUSH, objectMapper.writeValueAsString(payload), 0)));
+        when(notificationService.sendNow(anyCollection(), any(Notification.class))).thenReturn(List.of("token-1"));
+
+        dispatcher.dispatchDue();
+
+        verify(outboxRepository, never()).updatePayload(any(), any());
+        verify(outboxRepository).reschedule(eq(1L), eq(1), any(), anyString());
+        assertEquals(1, meterRegistry.counter("outbox.retried", "channel", "push").count());
+    }
+
+    @Test
+    void unreadablePayloadFailsImmediately() {
+        when(outboxRepository.claimDue(any(), any(), anyInt())).thenReturn(List.of(new OutboxMessage(1L, OutboxChannel.PUSH, "{not json", 0)));
+
+        dispatcher.dispatchDue();
+
+        verify(outboxRepository).markFailed(eq(1L), eq(1), anyString());
+        verifyNoInteractions(notificationService);
+    }
+}
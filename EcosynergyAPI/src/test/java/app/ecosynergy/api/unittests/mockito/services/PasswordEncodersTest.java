@@ -0,0 +1,65 @@
+package app.ecosynergy.api.unittests.mockito.services;
+
+import app.ecosynergy.api.security.PasswordEncoders;
+import app.ecosynergy.api.security.PasswordHashingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordEncodersTest {
+    private String legacyHash;
+
+    @BeforeEach
+    void setup() {
+        legacyHash = PasswordEncoders.create(new PasswordHashingProperties()).encode("secret");
+    }
+
+    @Test
+    void keepsTheLegacyEncodingByDefault() {
+        PasswordEncoder encoder = PasswordEncoders.create(new PasswordHashingProperties());
+
+        assertTrue(legacyHash.startsWith("{pbkdf2}"));
+        assertTrue(encoder.matches("secret", legacyHash));
+        assertTrue(encoder.matches("secret", legacyHash.substring("{pbkdf2}".length())));
+        assertFalse(encoder.upgradeEncoding(legacyHash));
+    }
+
+    @Test
+    void upgradesHashesMadeWithAnOlderEncoding() {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setPbkdf2Iterations(Map.of("pbkdf2-1000", 1000));
+        properties.setEncodingId("pbkdf2-1000");
+        PasswordEncoder encoder = PasswordEncoders.create(properties);
+
+        assertTrue(encoder.matches("secret", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+
+        String rehashed = encoder.encode("secret");
+        assertTrue(rehashed.startsWith("{pbkdf2-1000}"));
+        assertTrue(encoder.matches("secret", rehashed));
+        assertFalse(encoder.upgradeEncoding(rehashed));
+    }
+
+    @Test
+    void upgradesToBcrypt() {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setEncodingId(PasswordEncoders.BCRYPT_ID);
+        properties.setBcryptStrength(4);
+        PasswordEncoder encoder = PasswordEncoders.create(properties);
+
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+        assertTrue(encoder.encode("secret").startsWith("{bcrypt}"));
+    }
+
+    @Test
+    void refusesToRedefineAReservedEncoding() {
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setPbkdf2Iterations(Map.of(PasswordEncoders.LEGACY_PBKDF2_ID, 1000));
+
+        assertThrows(IllegalArgumentException.class, () -> PasswordEncoders.create(properties));
+    }
+}
@@ -0,0 +1,98 @@
+package app.ecosynergy.api.unittests.mockito.services;
+
+import app.ecosynergy.api.data.projection.FireReadingRow;
+import app.ecosynergy.api.data.projection.ReadingRow;
+import app.ecosynergy.api.data.projection.TeamReference;
+import app.ecosynergy.api.exceptions.ResourceNotFoundException;
+import app.ecosynergy.api.models.SensorType;
+import app.ecosynergy.api.repositories.FireReadingRepository;
+import app.ecosynergy.api.repositories.MQ135ReadingRepository;
+import app.ecosynergy.api.repositories.MQ7ReadingRepository;
+import app.ecosynergy.api.services.TeamReferenceCache;
+import app.ecosynergy.api.services.export.ExportFormat;
+import app.ecosynergy.api.services.export.ReadingExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReadingExportServiceTest {
+    @InjectMocks
+    private ReadingExportService service;
+
+    @Mock
+    private MQ135ReadingRepository mq135ReadingRepository;
+
+    @Mock
+    private MQ7ReadingRepository mq7ReadingRepository;
+
+    @Mock
+    private FireReadingRepository fireReadingRepository;
+
+    @Mock
+    private TeamReferenceCache teamReferenceCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ZonedDateTime timestamp = ZonedDateTime.parse("2024-05-01T12:00:00Z");
+
+    @BeforeEach
+    void setupMocks() {
+        MockitoAnnotations.openMocks(this);
+        when(teamReferenceCache.get("ecosynergyofc")).thenReturn(new TeamReference(1L, "ecosynergyofc", ZoneId.of("America/Sao_Paulo")));
+    }
+
+    @Test
+    void exportCsv() throws Exception {
+        when(mq135ReadingRepository.streamByTeamHandle(eq("ecosynergyofc"), any(), any()))
+                .thenReturn(Stream.of(new ReadingRow(1L, timestamp, 12.5), new ReadingRow(2L, timestamp.plusSeconds(1), 13.0)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(SensorType.MQ135, "ecosynergyofc", ExportFormat.CSV, null, null).writeTo(out);
+
+        assertEquals("""
+                id,teamHandle,timestamp,value
+                1,ecosynergyofc,2024-05-01T09:00:00-03:00,12.5
+                2,ecosynergyofc,2024-05-01T09:00:01-03:00,13.0
+                """, out.toString(StandardCharsets.UTF_8));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void exportNdjson() throws Exception {
+        when(fireReadingRepository.streamByTeamHandle(eq("ecosynergyofc"), any(), any()))
+                .thenReturn(Stream.of(new FireReadingRow(7L, timestamp, true)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.export(SensorType.FIRE, "ecosynergyofc", ExportFormat.NDJSON, null, null).writeTo(out);
+
+        assertEquals("{\"id\":7,\"teamHandle\":\"ecosynergyofc\",\"timestamp\":\"2024-05-01T09:00:00-03:00\",\"fire\":true}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void exportWithUnknownTeam() {
+        when(teamReferenceCache.get("unknown")).thenThrow(new ResourceNotFoundException("Team not found with the given Handle: unknown"));
+
+        assertThrows(ResourceNotFoundException.class, () -> service.export(SensorType.MQ7, "unknown", ExportFormat.CSV, null, null));
+        verifyNoInteractions(mq7ReadingRepository);
+    }
+
+    @Test
+    void exportWithInvalidRange() {
+        assertThrows(IllegalArgumentException.class, () -> service.export(SensorType.MQ7, "ecosynergyofc", ExportFormat.CSV, timestamp, timestamp));
+    }
+}
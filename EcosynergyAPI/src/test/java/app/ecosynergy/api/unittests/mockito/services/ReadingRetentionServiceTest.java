@@ -0,0 +1,68 @@
+package app.ecosynergy.api.unittests.mockito.services;
+
+import app.ecosynergy.api.models.SensorType;
+import app.ecosynergy.api.repositories.ReadingRetentionRepository;
+import app.ecosynergy.api.services.retention.ReadingRetentionProperties;
+import app.ecosynergy.api.services.retention.ReadingRetentionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReadingRetentionServiceTest {
+    @InjectMocks
+    private ReadingRetentionService service;
+
+    @Mock
+    private ReadingRetentionRepository retentionRepository;
+
+    @Spy
+    private ReadingRetentionProperties properties = new ReadingRetentionProperties();
+
+    @BeforeEach
+    void setupMocks() {
+        MockitoAnnotations.openMocks(this);
+
+        properties.setChunkSize(100);
+        properties.setPause(Duration.ZERO);
+        properties.getMaxAge().put(SensorType.MQ135, Duration.ofDays(30));
+    }
+
+    @Test
+    void purgeDeletesInChunksUntilDone() {
+        Instant cutoff = Instant.parse("2024-01-01T00:00:00Z");
+        when(retentionRepository.deleteOlderThan(SensorType.MQ7, cutoff, 100)).thenReturn(100, 100, 42);
+
+        assertEquals(242, service.purge(SensorType.MQ7, cutoff));
+        verify(retentionRepository, times(3)).deleteOlderThan(SensorType.MQ7, cutoff, 100);
+    }
+
+    @Test
+    void purgeOnlyConfiguredSensorTypes() {
+        properties.setEnabled(true);
+        when(retentionRepository.deleteOlderThan(eq(SensorType.MQ135), any(), eq(100))).thenReturn(7);
+
+        service.purgeExpiredReadings();
+
+        verify(retentionRepository).deleteOlderThan(eq(SensorType.MQ135), any(), eq(100));
+        verify(retentionRepository, never()).deleteOlderThan(eq(SensorType.MQ7), any(), anyInt());
+        verify(retentionRepository, never()).deleteOlderThan(eq(SensorType.FIRE), any(), anyInt());
+    }
+
+    @Test
+    void purgeIsSkippedWhenDisabled() {
+
+        service.purgeExpiredReadings();
+
+        verifyNoInteractions(retentionRepository);
+    }
+}
@@ -0,0 +1,82 @@
+package app.ecosynergy.api.unittests.mockito.services;
+
+import app.ecosynergy.api.data.projection.ReadingRollup;
+import app.ecosynergy.api.data.projection.ReadingSample;
+import app.ecosynergy.api.models.RollupGranularity;
+import app.ecosynergy.api.models.SensorType;
+import app.ecosynergy.api.repositories.ReadingRollupRepository;
+import app.ecosynergy.api.services.ingestion.ReadingsPersistedEvent;
+import app.ecosynergy.api.services.rollup.ReadingRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ReadingRollupServiceTest {
+    @InjectMocks
+    private ReadingRollupService service;
+
+    @Mock
+    private ReadingRollupRepository rollupRepository;
+
+    @BeforeEach
+    void setupMocks() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void applyFoldsReadingsIntoBuckets() {
+        service.apply(SensorType.MQ135, List.of(
+                sample(1L, "2024-05-02T01:00:10Z", 10.0),
+                sample(2L, "2024-05-02T01:00:50Z", 30.0),
+                sample(3L, "2024-05-02T02:15:00Z", 20.0)
+        ));
+
+        ArgumentCaptor<List<ReadingRollup>> captor = ArgumentCaptor.forClass(List.class);
+        verify(rollupRepository).merge(captor.capture());
+        List<ReadingRollup> rollups = captor.getValue();
+
+        // two minute buckets and two hour buckets; days are folded from hours when read
+        assertEquals(4, rollups.size());
+
+        ReadingRollup minute = find(rollups, RollupGranularity.MINUTE, "2024-05-02T01:00:00Z");
+        assertEquals(2, minute.count());
+        assertEquals(40.0, minute.sum());
+        assertEquals(10.0, minute.min());
+        assertEquals(30.0, minute.max());
+        assertEquals(20.0, minute.average());
+
+        ReadingRollup hour = find(rollups, RollupGranularity.HOUR, "2024-05-02T01:00:00Z");
+        assertEquals(2, hour.count());
+        assertEquals(40.0, hour.sum());
+    }
+
+    @Test
+    void fireReadingsAreNotRolledUp() {
+        service.onReadingsPersisted(new ReadingsPersistedEvent(SensorType.FIRE, List.of(sample(1L, "2024-05-02T01:00:10Z", 1.0))));
+
+        verify(rollupRepository, never()).merge(anyList());
+    }
+
+    private ReadingSample sample(Long id, String timestamp, Double value) {
+        return new ReadingSample(id, "ecosynergyofc", ZonedDateTime.parse(timestamp), value);
+    }
+
+    private ReadingRollup find(List<ReadingRollup> rollups, RollupGranularity granularity, String bucketStart) {
+        return rollups.stream()
+                .filter(r -> r.granularity() == granularity && r.bucketStart().equals(Instant.parse(bucketStart)))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,135 @@
+package app.ecosynergy.api.unittests.mockito.services;
+
+import app.ecosynergy.api.data.projection.ReadingRollup;
+import app.ecosynergy.api.data.projection.TeamReference;
+import app.ecosynergy.api.data.vo.v1.ReadingStatsVO;
+import app.ecosynergy.api.data.vo.v1.StatsBucketVO;
+import app.ecosynergy.api.models.RollupGranularity;
+import app.ecosynergy.api.models.SensorType;
+import app.ecosynergy.api.models.StatsBucket;
+import app.ecosynergy.api.repositories.FireReadingRepository;
+import app.ecosynergy.api.repositories.ReadingRollupRepository;
+import app.ecosynergy.api.services.ReadingStatsService;
+import app.ecosynergy.api.services.TeamReferenceCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class ReadingStatsServiceTest {
+    @InjectMocks
+    private ReadingStatsService service;
+
+    @Mock
+    private ReadingRollupRepository rollupRepository;
+
+    @Mock
+    private FireReadingRepository fireReadingRepository;
+
+    @Mock
+    private TeamReferenceCache teamReferenceCache;
+
+    private final ZoneId saoPaulo = ZoneId.of("America/Sao_Paulo");
+
+    @BeforeEach
+    void setupMocks() {
+        MockitoAnnotations.openMocks(this);
+        when(teamReferenceCache.get("ecosynergyofc")).thenReturn(new TeamReference(1L, "ecosynergyofc", saoPaulo));
+    }
+
+    @Test
+    void fiveMinuteBucketsMergeMinuteRollups() {
+        when(rollupRepository.findRollups(eq(SensorType.MQ135), eq("ecosynergyofc"), eq(RollupGranularity.MINUTE), any(), any())).thenReturn(List.of(
+                rollup(RollupGranularity.MINUTE, "2024-05-01T12:00:00Z", 2, 20.0, 5.0, 15.0),
+                rollup(RollupGranularity.MINUTE, "2024-05-01T12:04:00Z", 2, 40.0, 10.0, 30.0),
+                rollup(RollupGranularity.MINUTE, "2024-05-01T12:05:00Z", 1, 7.0, 7.0, 7.0)
+        ));
+
+        ReadingStatsVO stats = service.getStats(SensorType.MQ135, "ecosynergyofc",
+                ZonedDateTime.parse("2024-05-01T12:00:00Z"), ZonedDateTime.parse("2024-05-01T13:00:00Z"), StatsBucket.FIVE_MINUTES);
+
+        assertEquals(2, stats.getBuckets().size());
+
+        StatsBucketVO first = stats.getBuckets().getFirst();
+        assertEquals(ZonedDateTime.parse("2024-05-01T09:00:00-03:00[America/Sao_Paulo]"), first.getStart());
+        assertEquals(4L, first.getCount());
+        assertEquals(15.0, first.getAverage());
+        assertEquals(5.0, first.getMin());
+        assertEquals(30.0, first.getMax());
+    }
+
+    @Test
+    void hourBucketsUseMinuteRollupsForHalfHourOffsets() {
+        when(teamReferenceCache.get("ecosynergyofc")).thenReturn(new TeamReference(1L, "ecosynergyofc", ZoneId.of("Asia/Kolkata")));
+
+        service.getStats(SensorType.MQ7, "ecosynergyofc",
+                ZonedDateTime.parse("2024-05-01T00:00:00Z"), ZonedDateTime.parse("2024-05-02T00:00:00Z"), StatsBucket.ONE_HOUR);
+
+        verify(rollupRepository).findRollups(eq(SensorType.MQ7), eq("ecosynergyofc"), eq(RollupGranularity.MINUTE), any(), any());
+    }
+
+    @Test
+    void dayBucketsFoldHourRollupsInTheCurrentTimeZone() {
+        when(rollupRepository.findRollups(eq(SensorType.MQ135), eq("ecosynergyofc"), eq(RollupGranularity.HOUR), any(), any())).thenReturn(List.of(
+                rollup(RollupGranularity.HOUR, "2024-05-01T03:00:00Z", 2, 20.0, 5.0, 15.0),
+                rollup(RollupGranularity.HOUR, "2024-05-02T02:00:00Z", 1, 30.0, 30.0, 30.0),
+                rollup(RollupGranularity.HOUR, "2024-05-02T03:00:00Z", 1, 7.0, 7.0, 7.0)
+        ));
+
+        ReadingStatsVO stats = service.getStats(SensorType.MQ135, "ecosynergyofc",
+                ZonedDateTime.parse("2024-05-01T03:00:00Z"), ZonedDateTime.parse("2024-05-03T03:00:00Z"), StatsBucket.ONE_DAY);
+
+        // 02:00Z on May 2nd is still May 1st in Sao Paulo
+        assertEquals(2, stats.getBuckets().size());
+
+        StatsBucketVO first = stats.getBuckets().getFirst();
+        assertEquals(ZonedDateTime.parse("2024-05-01T00:00:00-03:00[America/Sao_Paulo]"), first.getStart());
+        assertEquals(3L, first.getCount());
+        assertEquals(5.0, first.getMin());
+        assertEquals(30.0, first.getMax());
+        assertEquals(1L, stats.getBuckets().get(1).getCount());
+    }
+
+    @Test
+    void fireStatsCountEvents() {
+        when(fireReadingRepository.findFireTimestampsByTeamHandle(eq("ecosynergyofc"), any(), any())).thenReturn(List.of(
+                ZonedDateTime.parse("2024-05-01T12:10:00Z"),
+                ZonedDateTime.parse("2024-05-01T12:50:00Z"),
+                ZonedDateTime.parse("2024-05-01T14:00:00Z")
+        ));
+
+        ReadingStatsVO stats = service.getStats(SensorType.FIRE, "ecosynergyofc",
+                ZonedDateTime.parse("2024-05-01T00:00:00Z"), ZonedDateTime.parse("2024-05-02T00:00:00Z"), StatsBucket.ONE_HOUR);
+
+        assertEquals(2, stats.getBuckets().size());
+        assertEquals(2L, stats.getBuckets().getFirst().getCount());
+        assertNull(stats.getBuckets().getFirst().getAverage());
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void rangeWithTooManyBuckets() {
+        assertThrows(IllegalArgumentException.class, () -> service.getStats(SensorType.MQ135, "ecosynergyofc",
+                ZonedDateTime.parse("2020-01-01T00:00:00Z"), ZonedDateTime.parse("2024-01-01T00:00:00Z"), StatsBucket.FIVE_MINUTES));
+    }
+
+    @Test
+    void unsupportedBucket() {
+        assertThrows(IllegalArgumentException.class, () -> StatsBucket.fromValue("2w"));
+    }
+
+    private ReadingRollup rollup(RollupGranularity granularity, String bucketStart, long count, double sum, double min, double max) {
+        return new ReadingRollup(SensorType.MQ135, "ecosynergyofc", granularity, Instant.parse(bucketStart), count, sum, min, max);
+    }
+}
@@ -0,0 +1,84 @@
+package app.ecosynergy.api.unittests.mockito.services;
+
+import app.ecosynergy.api.data.projection.ReadingSample;
+import app.ecosynergy.api.data.projection.TeamReference;
+import app.ecosynergy.api.exceptions.ResourceNotFoundException;
+import app.ecosynergy.api.exceptions.ServiceUnavailableException;
+import app.ecosynergy.api.models.SensorType;
+import app.ecosynergy.api.services.TeamReferenceCache;
+import app.ecosynergy.api.services.ingestion.ReadingsPersistedEvent;
+import app.ecosynergy.api.services.stream.ReadingStreamProperties;
+import app.ecosynergy.api.services.stream.ReadingStreamService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReadingStreamServiceTest {
+    @Mock
+    private TeamReferenceCache teamReferenceCache;
+
+    private ReadingStreamProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReadingStreamService service;
+
+    @BeforeEach
+    void setupMocks() {
+        MockitoAnnotations.openMocks(this);
+
+        properties = new ReadingStreamProperties();
+        properties.setMaxSubscribers(2);
+
+        meterRegistry = new SimpleMeterRegistry();
+        service = new ReadingStreamService(properties, teamReferenceCache, meterRegistry);
+
+        when(teamReferenceCache.get("ecosynergyofc"))
+                .thenReturn(new TeamReference(1L, "ecosynergyofc", ZoneId.of("America/Sao_Paulo")));
+    }
+
+    @AfterEach
+    void closeStreams() {
+        service.closeAll();
+    }
+
+    @Test
+    void subscribeIsLimited() {
+        assertNotNull(service.subscribe("ecosynergyofc"));
+        assertNotNull(service.subscribe("ecosynergyofc"));
+
+        assertThrows(ServiceUnavailableException.class, () -> service.subscribe("ecosynergyofc"));
+        assertEquals(2, service.getSubscriberCount());
+        assertEquals(2, meterRegistry.get("reading.stream.subscribers").gauge().value());
+    }
+
+    @Test
+    void subscribeWithUnknownTeam() {
+        when(teamReferenceCache.get("unknown")).thenThrow(new ResourceNotFoundException("No records found for this Handle!"));
+
+        assertThrows(ResourceNotFoundException.class, () -> service.subscribe("unknown"));
+        assertEquals(0, service.getSubscriberCount());
+    }
+
+    @Test
+    void readingsOfTeamsWithoutSubscribersAreSkipped() {
+        ZonedDateTime timestamp = ZonedDateTime.now(ZoneOffset.UTC);
+        service.onReadingsPersisted(new ReadingsPersistedEvent(SensorType.MQ135,
+                List.of(new ReadingSample(1L, "ecosynergyofc", timestamp, 42.0))));
+
+        verify(teamReferenceCache, never()).find(anyString());
+        assertEquals(0, meterRegistry.counter("reading.stream.dropped").count());
+    }
+}
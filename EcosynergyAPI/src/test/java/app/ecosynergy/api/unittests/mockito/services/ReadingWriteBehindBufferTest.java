@@ -0,0 +1,120 @@
+package app.ecosynergy.api.unittests.mockito.services;
+
+import app.ecosynergy.api.models.FireReading;
+import app.ecosynergy.api.models.MQ135Reading;
+import app.ecosynergy.api.repositories.ReadingBatchRepository;
+import app.ecosynergy.api.services.ingestion.IngestionProperties;
+import app.ecosynergy.api.services.ingestion.ReadingWriteBehindBuffer;
+import app.ecosynergy.api.unittests.mapper.mocks.MockMQ135Reading;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ReadingWriteBehindBufferTest {
+    MockMQ135Reading input;
+
+    @Mock
+    private ReadingBatchRepository batchRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private IngestionProperties properties;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReadingWriteBehindBuffer buffer;
+
+    @BeforeEach
+    void setupMocks() {
+        input = new MockMQ135Reading();
+        MockitoAnnotations.openMocks(this);
+
+        properties = new IngestionProperties();
+        properties.setEnabled(true);
+        properties.setCapacity(100);
+        properties.setBatchSize(10);
+        properties.setFlushInterval(Duration.ofMillis(20));
+
+        meterRegistry = new SimpleMeterRegistry();
+        buffer = new ReadingWriteBehindBuffer(properties, batchRepository, new TransactionTemplate(transactionManager), eventPublisher, meterRegistry);
+    }
+
+    @Test
+    void stopDrainsPendingReadings() {
+        List<MQ135Reading> persisted = new ArrayList<>();
+        doAnswer(invocation -> persisted.addAll(invocation.getArgument(0))).when(batchRepository).insertMQ135Readings(anyList());
+
+        buffer.start();
+        for (int i = 0; i < 25; i++) {
+            assertTrue(buffer.offer(input.mockEntity(i)));
+        }
+        buffer.stop();
+
+        assertFalse(buffer.isRunning());
+        assertEquals(0, buffer.size());
+        assertEquals(25, persisted.size());
+        assertEquals(25, meterRegistry.counter("ingestion.buffer.flushed").count());
+    }
+
+    @Test
+    void offerIsRejectedWhenNotRunning() {
+        assertFalse(buffer.offer(input.mockEntity(1)));
+        assertEquals(0, buffer.size());
+        assertEquals(1, meterRegistry.counter("ingestion.buffer.dropped", "reason", "full").count());
+    }
+
+    @Test
+    void failedFlushIsRetriedThenCounted() {
+        doThrow(new RuntimeException("database unavailable")).when(batchRepository).insertFireReadings(anyList());
+
+        buffer.start();
+        FireReading reading = new FireReading();
+        reading.setTeam(input.mockEntity(1).getTeam());
+        reading.setFire(true);
+        assertTrue(buffer.offer(reading));
+        buffer.stop();
+
+        verify(batchRepository, times(2)).insertFireReadings(anyList());
+        assertEquals(1, meterRegistry.counter("ingestion.buffer.dropped", "reason", "flush_error").count());
+    }
+
+    @Test
+    void failingReadingIsDroppedWithoutItsBatch() {
+        List<MQ135Reading> persisted = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<MQ135Reading> readings = invocation.getArgument(0);
+            if (readings.stream().anyMatch(r -> r.getValue() == null)) throw new NullPointerException("value");
+            return persisted.addAll(readings);
+        }).when(batchRepository).insertMQ135Readings(anyList());
+
+        buffer.start();
+        for (int i = 0; i < 7; i++) {
+            MQ135Reading reading = input.mockEntity(i);
+            if (i == 4) reading.setValue(null);
+            assertTrue(buffer.offer(reading));
+        }
+        buffer.stop();
+
+        assertEquals(6, persisted.size());
+        assertTrue(persisted.stream().allMatch(r -> r.getValue() != null));
+        assertEquals(6, meterRegistry.counter("ingestion.buffer.flushed").count());
+        assertEquals(1, meterRegistry.counter("ingestion.buffer.dropped", "reason", "flush_error").count());
+    }
+}
@@ -0,0 +1,99 @@
+package app.ecosynergy.api.unittests.mockito.services;
+
+import app.ecosynergy.api.services.email.SmtpMailSender;
+import app.ecosynergy.api.services.email.SmtpTransportProperties;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SmtpMailSenderTest {
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SmtpMailSender sender;
+
+    @BeforeEach
+    void setup() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+
+        SmtpTransportProperties properties = new SmtpTransportProperties();
+        properties.setPoolSize(1);
+        properties.setBatchSize(3);
+
+        meterRegistry = new SimpleMeterRegistry();
+        sender = new SmtpMailSender(mailSender, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void close() {
+        sender.close();
+    }
+
+    @Test
+    void batchesReuseOneConnection() throws Exception {
+        List<MimeMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 7; i++) messages.add(email("user" + i + "@ecosynergy.com"));
+
+        assertTrue(sender.sendAll(messages).isEmpty());
+        sender.send(email("late@ecosynergy.com"));
+
+        assertEquals(8, greenMail.getReceivedMessages().length);
+        assertEquals(1, meterRegistry.counter("mail.transport.connects").count());
+        assertEquals(8, meterRegistry.counter("mail.sent").count());
+    }
+
+    @Test
+    void reconnectsAfterTheServerDropsTheConnection() throws Exception {
+        sender.send(email("first@ecosynergy.com"));
+
+        greenMail.stop();
+        greenMail.start();
+
+        sender.send(email("second@ecosynergy.com"));
+
+        assertEquals(1, greenMail.getReceivedMessages().length);
+        assertEquals("second@ecosynergy.com", greenMail.getReceivedMessages()[0].getAllRecipients()[0].toString());
+        assertEquals(2, meterRegistry.counter("mail.transport.connects").count());
+    }
+
+    @Test
+    void unreachableServerFailsTheWholeBatch() throws Exception {
+        greenMail.stop();
+
+        List<MimeMessage> messages = List.of(email("a@ecosynergy.com"), email("b@ecosynergy.com"));
+        Map<MimeMessage, MessagingException> failures = sender.sendAll(messages);
+
+        assertEquals(2, failures.size());
+        assertEquals(2, meterRegistry.counter("mail.failed").count());
+
+        greenMail.start();
+    }
+
+    private MimeMessage email(String to) throws MessagingException {
+        MimeMessage message = sender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "utf-8");
+        helper.setText("<p>Olá</p>", true);
+        helper.setTo(to);
+        helper.setSubject("Teste");
+        helper.setFrom("noreply@ecosynergybr.com");
+        return message;
+    }
+}
@@ -0,0 +1,63 @@
+package app.ecosynergy.api.unittests.mockito.services;
+
+import app.ecosynergy.api.data.projection.TeamReference;
+import app.ecosynergy.api.exceptions.ResourceNotFoundException;
+import app.ecosynergy.api.repositories.TeamRepository;
+import app.ecosynergy.api.services.TeamReferenceCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.ZoneId;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TeamReferenceCacheTest {
+    @InjectMocks
+    private TeamReferenceCache cache;
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    @BeforeEach
+    void setupMocks() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void getLoadsOnceAndIgnoresCase() {
+        TeamReference reference = new TeamReference(1L, "ecosynergyofc", ZoneId.of("America/Sao_Paulo"));
+        when(teamRepository.findReferenceByHandle("ecosynergyofc")).thenReturn(Optional.of(reference));
+
+        assertEquals(reference, cache.get("EcosynergyOfc"));
+        assertEquals(reference, cache.get("ecosynergyofc"));
+
+        verify(teamRepository, times(1)).findReferenceByHandle("ecosynergyofc");
+    }
+
+    @Test
+    void evictForcesReload() {
+        when(teamRepository.findReferenceByHandle("ecosynergyofc"))
+                .thenReturn(Optional.of(new TeamReference(1L, "ecosynergyofc", ZoneId.of("UTC"))))
+                .thenReturn(Optional.of(new TeamReference(1L, "ecosynergyofc", ZoneId.of("Europe/Lisbon"))));
+
+        assertEquals(ZoneId.of("UTC"), cache.get("ecosynergyofc").timeZone());
+
+        cache.evict("ecosynergyofc");
+
+        assertEquals(ZoneId.of("Europe/Lisbon"), cache.get("ecosynergyofc").timeZone());
+    }
+
+    @Test
+    void getWithUnknownHandle() {
+        when(teamRepository.findReferenceByHandle("unknown")).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> cache.get("unknown"));
+        assertTrue(cache.find("unknown").isEmpty());
+        verify(teamRepository, times(2)).findReferenceByHandle("unknown");
+    }
+}
@@ -7,6 +7,8 @@ import app.ecosynergy.api.models.User;
 import app.ecosynergy.api.repositories.NotificationPreferenceRepository;
 import app.ecosynergy.api.repositories.UserRepository;
 import app.ecosynergy.api.services.UserService;
+import app.ecosynergy.api.services.UserSnapshotCache;
+import app.ecosynergy.api.services.notification.NotificationRecipientIndex;
 import app.ecosynergy.api.unittests.mapper.mocks.MockUser;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +20,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class UserServiceTest {
@@ -32,6 +36,12 @@ class UserServiceTest {
     @Mock
     UserRepository repository;
 
+    @Mock
+    private NotificationRecipientIndex recipientIndex;
+
+    @Mock
+    private UserSnapshotCache userSnapshotCache;
+
     @BeforeEach
     void setUpMocks() {
         input = new MockUser();
@@ -196,4 +206,23 @@ class UserServiceTest {
         service.delete(entity.getId());
         assertTrue(true);
     }
+
+    @Test
+    void revokeTokens() {
+        service.revokeTokens(3L);
+
+        verify(repository).incrementTokenVersion(3L);
+        verify(userSnapshotCache).evict(3L);
+    }
+
+    @Test
+    void updatePasswordKeepsTokens() {
+        User entity = input.mockEntity(1);
+
+        assertSame(entity, service.updatePassword(entity, "{bcrypt}rehashed"));
+
+        verify(repository).updatePassword("user1", "{bcrypt}rehashed");
+        verify(repository, never()).incrementTokenVersion(any());
+        assertEquals("{bcrypt}rehashed", entity.getPassword());
+    }
 }
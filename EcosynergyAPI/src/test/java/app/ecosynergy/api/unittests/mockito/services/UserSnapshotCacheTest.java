@@ -0,0 +1,85 @@
+package app.ecosynergy.api.unittests.mockito.services;
+
+import app.ecosynergy.api.data.projection.UserSnapshot;
+import app.ecosynergy.api.repositories.TokenVersionRepository;
+import app.ecosynergy.api.repositories.UserRepository;
+import app.ecosynergy.api.security.SecurityProperties;
+import app.ecosynergy.api.services.UserSnapshotCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UserSnapshotCacheTest {
+    @InjectMocks
+    private UserSnapshotCache cache;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TokenVersionRepository tokenVersionRepository;
+
+    @Spy
+    private SecurityProperties securityProperties = new SecurityProperties();
+
+    private final UserSnapshot user = new UserSnapshot(1L, "andinho", "Anderson", "andinho@ecosynergy.com", 0);
+
+    @BeforeEach
+    void setupMocks() {
+        MockitoAnnotations.openMocks(this);
+        when(tokenVersionRepository.now()).thenReturn(Instant.parse("2024-05-01T12:00:00Z"));
+    }
+
+    @Test
+    void findLoadsOnce() {
+        when(userRepository.findSnapshotById(1L)).thenReturn(Optional.of(user));
+
+        assertEquals(user, cache.find(1L).orElseThrow());
+        assertEquals(user, cache.find(1L).orElseThrow());
+
+        verify(userRepository, times(1)).findSnapshotById(1L);
+    }
+
+    @Test
+    void versionBumpedOnAnotherInstanceReloadsTheSnapshot() {
+        when(userRepository.findSnapshotById(1L)).thenReturn(Optional.of(user), Optional.of(user.withTokenVersion(1)));
+        cache.find(1L);
+
+        when(tokenVersionRepository.findChangedSince(any())).thenReturn(Map.of(1L, 1));
+        cache.pollTokenVersions();
+
+        assertEquals(1, cache.find(1L).orElseThrow().tokenVersion());
+        verify(userRepository, times(2)).findSnapshotById(1L);
+    }
+
+    @Test
+    void staleReadIsRaisedToTheKnownVersion() {
+        when(tokenVersionRepository.findChangedSince(any())).thenReturn(Map.of(1L, 2));
+        cache.pollTokenVersions();
+
+        // The reload raced the bump and still returned the previous version
+        when(userRepository.findSnapshotById(1L)).thenReturn(Optional.of(user.withTokenVersion(1)));
+
+        assertEquals(2, cache.find(1L).orElseThrow().tokenVersion());
+    }
+
+    @Test
+    void pollsOverlapThePreviousWindow() {
+        cache.pollTokenVersions();
+        when(tokenVersionRepository.now()).thenReturn(Instant.parse("2024-05-01T12:00:01Z"));
+        cache.pollTokenVersions();
+
+        verify(tokenVersionRepository, times(2)).findChangedSince(Instant.parse("2024-05-01T11:59:50Z"));
+    }
+}